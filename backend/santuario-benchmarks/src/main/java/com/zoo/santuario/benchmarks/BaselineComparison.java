@@ -0,0 +1,84 @@
+package com.zoo.santuario.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, typically the committed baseline and a new run:
+ * `java -cp target/benchmarks.jar com.zoo.santuario.benchmarks.BaselineComparison baseline/jmh-baseline.json target/jmh-result.json`
+ *
+ * For every benchmark and parameter combination found in both files it prints the score and the bytes
+ * allocated per operation before and after, with the change in percent. A score change is only marked
+ * as faster or slower when the two error intervals do not overlap; anything else is noise.
+ */
+public class BaselineComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private record Result(double score, double error, String unit, double allocated) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: BaselineComparison <baseline.json> <current.json>");
+        }
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %8s %-8s %12s %12s %8s%n",
+                "Benchmark", "Baseline", "Current", "Change", "", "B/op before", "B/op after", "Change");
+        current.forEach((name, after) -> {
+            Result before = baseline.get(name);
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s %-8s %12s %12.0f%n", name, "-", after.score(), "", "new", "-", after.allocated());
+                return;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %-8s %12.0f %12.0f %+7.1f%%%n",
+                    name, before.score(), after.score(), change(before.score(), after.score()), verdict(before, after),
+                    before.allocated(), after.allocated(), change(before.allocated(), after.allocated()));
+        });
+        System.out.println("Scores in " + current.values().stream().map(Result::unit).distinct().toList() + "; lower is better.");
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asText().replace("com.zoo.santuario.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            JsonNode primary = run.get("primaryMetric");
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+            results.put(name.toString(), new Result(primary.get("score").asDouble(), primary.get("scoreError").asDouble(Double.NaN),
+                    primary.get("scoreUnit").asText(), allocation.path("score").asDouble(Double.NaN)));
+        }
+        return results;
+    }
+
+    private static double change(double before, double after) {
+        return (after - before) / before * 100;
+    }
+
+    private static String verdict(Result before, Result after) {
+        if (Double.isNaN(before.error()) || Double.isNaN(after.error())) {
+            return "";
+        }
+        if (after.score() + after.error() < before.score() - before.error()) {
+            return "faster";
+        }
+        if (after.score() - after.error() > before.score() + before.error()) {
+            return "slower";
+        }
+        return "~";
+    }
+}
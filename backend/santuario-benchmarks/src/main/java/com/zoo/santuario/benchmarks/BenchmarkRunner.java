@@ -0,0 +1,48 @@
+package com.zoo.santuario.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of `benchmarks.jar`: JMH's own command line, with allocation profiling always on.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Takes the usual JMH options (`java -jar target/benchmarks.jar -h`), e.g. a regex selecting the
+ * benchmarks to run or `-p size=1000` to fix a parameter.
+ *
+ * 2.  Adds JMH's GC profiler, so every result also reports `gc.alloc.rate.norm`: the bytes allocated per
+ * operation, which unlike the time does not depend on the machine the benchmark ran on.
+ *
+ * 3.  Unless `-rf` is given, the results are written as JSON to `target/jmh-result.json`, ready to be
+ * compared against the committed `baseline/jmh-baseline.json` with {@link BaselineComparison}.
+ */
+public class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        boolean gcProfilerRequested = commandLine.getProfilers().stream()
+                .anyMatch(profiler -> profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcProfilerRequested) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result(commandLine.getResult().orElse(DEFAULT_RESULT));
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,58 @@
+package com.zoo.santuario.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.dto.ErrorResponseDTO;
+import com.zoo.santuario.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 404 from `GlobalExceptionHandler`: throwing the exception (its stack trace is filled in here, a few
+ * frames deep; in the application it is several dozen), building the error response, and writing it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorResponseBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/animals/42"));
+    private final ResourceNotFoundException exception = new ResourceNotFoundException("Animal not found with ID: 42");
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDTO> errorResponse() {
+        return handler.handleResourceNotFoundException(exception, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponseDTO> exceptionAndErrorResponse() {
+        return handler.handleResourceNotFoundException(new ResourceNotFoundException("Animal not found with ID: 42"), request);
+    }
+
+    @Benchmark
+    public void exceptionAndWrittenErrorResponse() throws IOException {
+        ResponseEntity<ErrorResponseDTO> response = handler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Animal not found with ID: 42"), request);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+    }
+}
@@ -0,0 +1,59 @@
+package com.zoo.santuario.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a `GET /api/animals` response: a list of `size` animals serialized by an ObjectMapper
+ * configured like Spring Boot's, straight to the output stream as the message converter does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<AnimalResponseDTO> animals;
+
+    @Setup(Level.Trial)
+    public void createAnimals() {
+        String[] species = {"Leão", "Girafa", "Elefante", "Zebra", "Arara-azul"};
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        animals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            animals.add(new AnimalResponseDTO((long) i, "Animal " + i, species[i % species.length], i % 30,
+                    i % 2 == 0 ? "Macho" : "Fêmea", "2020-01-01", "Saudável", "https://example.com/animais/" + i + ".jpg",
+                    (long) (i % 100), (long) (i % 30), (long) (i % 50), (long) (i % 40), 0L, updatedAt));
+        }
+    }
+
+    @Benchmark
+    public void animalList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), animals);
+    }
+}
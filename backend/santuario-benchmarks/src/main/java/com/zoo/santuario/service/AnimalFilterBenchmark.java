@@ -0,0 +1,103 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.model.Animal;
+import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.model.Veterinario;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.MySQLDialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Building the criteria query of `getFilteredAnimals` from its Specification: the SQL fallback filters
+ * (species, name and age), and the primary-key lookup used once the search index has resolved the name
+ * and species to `matchingIds` ids.
+ *
+ * The session factory is built from the real entity mappings, without a database: building criteria
+ * queries never needs a connection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnimalFilterBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    @State(Scope.Benchmark)
+    public static class MatchingIds {
+
+        @Param({"10", "1000"})
+        private int matchingIds;
+
+        private Set<Long> ids;
+
+        @Setup(Level.Trial)
+        public void createIds() {
+            ids = LongStream.rangeClosed(1, matchingIds).boxed().collect(Collectors.toSet());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void buildSessionFactory() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Animal.class)
+                .addAnnotatedClass(Habitat.class)
+                .addAnnotatedClass(Cuidador.class)
+                .addAnnotatedClass(Veterinario.class)
+                .addAnnotatedClass(Alimentacao.class)
+                .setProperty(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .setProperty(AvailableSettings.ALLOW_METADATA_ON_BOOT, "false")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSessionFactory() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Animal> sqlFilters() {
+        return query(AnimalService.filterSpecification(null, "Leão", "sim", 2, 10));
+    }
+
+    @Benchmark
+    public CriteriaQuery<Animal> indexedIds(MatchingIds matching) {
+        return query(AnimalService.filterSpecification(matching.ids, "Leão", "sim", 2, 10));
+    }
+
+    private CriteriaQuery<Animal> query(Specification<Animal> specification) {
+        CriteriaQuery<Animal> query = criteriaBuilder.createQuery(Animal.class);
+        Root<Animal> root = query.from(Animal.class);
+        return query.where(specification.toPredicate(root, query, criteriaBuilder));
+    }
+}
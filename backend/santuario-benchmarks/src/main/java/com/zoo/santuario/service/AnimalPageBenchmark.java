@@ -0,0 +1,128 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.model.Animal;
+import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.model.Veterinario;
+import com.zoo.santuario.repository.AnimalRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading one page of animals as `GET /api/animals` does, from an in-memory H2 database migrated with the
+ * application's Flyway scripts and seeded with {@value #ANIMALS} animals: through AnimalRepository.DTO,
+ * which selects the columns straight into DTOs, against loading the entities and mapping them with
+ * convertToDto, as the services did before. Both include the query itself and a fresh session per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnimalPageBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:animal-page;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int ANIMALS = 5000;
+    private static final int RELATED = 20;
+
+    // The default and the largest page of GET /api/animals
+    @Param({"100", "500"})
+    private int limit;
+
+    private final AnimalService animalService = new AnimalService();
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void seedDatabase() {
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        for (int i = 1; i <= RELATED; i++) {
+            jdbcTemplate.update("insert into habitat (name, type, capacity, status) values (?, 'Terrestre', 500, 'Operacional')", "Habitat " + i);
+            jdbcTemplate.update("insert into cuidador (name, contact, specialty, status, work_shift) values (?, ?, 'Mamíferos', 'Ativo', 'Manhã')",
+                    "Cuidador " + i, "cuidador" + i + "@zoo.com");
+            jdbcTemplate.update("insert into veterinario (name, crmv, specialty, status) values (?, ?, 'Felinos', 'Ativo')",
+                    "Veterinário " + i, "CRMV-SP " + i);
+            jdbcTemplate.update("insert into alimentacao (plan_name, food_type, quantity, frequency) values (?, 'Carne', '5kg', 'Diária')",
+                    "Plano " + i);
+        }
+        List<Object[]> animals = new ArrayList<>(ANIMALS);
+        for (int i = 1; i <= ANIMALS; i++) {
+            long related = i % RELATED + 1;
+            animals.add(new Object[]{(long) i, "Animal " + i, "Espécie " + i % 50, i % 30, "2020-01-" + (10 + i % 20),
+                    related, related, related, related});
+        }
+        jdbcTemplate.batchUpdate("insert into animal (id, name, species, age, sex, arrival_date, status, keeper_id, vet_id, habitat_id, feeding_plan_id) "
+                + "values (?, ?, ?, ?, 'Macho', ?, 'Saudável', ?, ?, ?, ?)", animals);
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Animal.class)
+                .addAnnotatedClass(Habitat.class)
+                .addAnnotatedClass(Cuidador.class)
+                .addAnnotatedClass(Veterinario.class)
+                .addAnnotatedClass(Alimentacao.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                // Spring Boot's column naming, which the Flyway scripts follow
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeSessionFactory() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<AnimalResponseDTO> dtoProjection() {
+        try (Session session = sessionFactory.openSession()) {
+            return AnimalRepository.DTO.findAll(session, null, Sort.by("id"), limit);
+        }
+    }
+
+    @Benchmark
+    public List<AnimalResponseDTO> entitiesAndConvertToDto() {
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<Animal> query = criteriaBuilder.createQuery(Animal.class);
+            Root<Animal> root = query.from(Animal.class);
+            query.orderBy(criteriaBuilder.asc(root.get("id")));
+            return session.createQuery(query).setMaxResults(limit).getResultList().stream()
+                    .map(animalService::convertToDto)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AlimentacaoResponseDTO;
+import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.dto.CuidadorResponseDTO;
+import com.zoo.santuario.dto.HabitatResponseDTO;
+import com.zoo.santuario.dto.VeterinarioResponseDTO;
+import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.model.Animal;
+import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.model.Veterinario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The entity-to-DTO mappers the services use for their write responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final AnimalService animalService = new AnimalService();
+    private final HabitatService habitatService = new HabitatService();
+    private final CuidadorService cuidadorService = new CuidadorService();
+    private final VeterinarioService veterinarioService = new VeterinarioService();
+    private final AlimentacaoService alimentacaoService = new AlimentacaoService();
+
+    private final Habitat habitat = new Habitat(7L, "Savana Africana", "Terrestre", 40, "Operacional", 12, null);
+    private final Cuidador keeper = new Cuidador(3L, "João Silva", "joao.silva@zoo.com", "Mamíferos", "Ativo", "Manhã", null);
+    private final Veterinario vet = new Veterinario(5L, "Dra. Ana Costa", "CRMV-SP 12345", "Felinos", "Ativo", null);
+    private final Alimentacao feedingPlan = new Alimentacao(9L, "Carnívoros grandes", "Carne bovina", "5kg", "Diária", null);
+    private final Animal animal = new Animal(42L, "Simba", "Leão", 5, "Macho", "2020-01-01", "Saudável",
+            "https://example.com/simba.jpg", keeper, vet, habitat, feedingPlan);
+
+    @Benchmark
+    public AnimalResponseDTO animal() {
+        return animalService.convertToDto(animal);
+    }
+
+    @Benchmark
+    public HabitatResponseDTO habitat() {
+        return habitatService.convertToDto(habitat);
+    }
+
+    @Benchmark
+    public CuidadorResponseDTO cuidador() {
+        return cuidadorService.convertToDto(keeper);
+    }
+
+    @Benchmark
+    public VeterinarioResponseDTO veterinario() {
+        return veterinarioService.convertToDto(vet);
+    }
+
+    @Benchmark
+    public AlimentacaoResponseDTO alimentacao() {
+        return alimentacaoService.convertToDto(feedingPlan);
+    }
+}
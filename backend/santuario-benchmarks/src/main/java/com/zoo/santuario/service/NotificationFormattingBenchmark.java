@@ -0,0 +1,79 @@
+package com.zoo.santuario.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.model.Animal;
+import com.zoo.santuario.model.NotificationOutbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The text work behind a keeper notification: the body `AnimalService` queues, the digest emails the
+ * `NotificationDispatcher` builds from one claimed batch, and the SendGrid request `EmailService` sends
+ * for them, serialized as the RestTemplate would.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationFormattingBenchmark {
+
+    // One claimed outbox batch (notifications.outbox.batch-size) spread over a handful of keepers
+    private static final int BATCH_SIZE = 50;
+    private static final int KEEPERS = 10;
+
+    private final Animal animal = new Animal(42L, "Simba", "Leão", 5, "Macho", "2020-01-01", "Saudável", null, null, null, null, null);
+    private final EmailService emailService = new EmailService();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<NotificationOutbox> batch;
+    private List<EmailService.Message> messages;
+
+    @Setup(Level.Trial)
+    public void createBatch() {
+        ReflectionTestUtils.setField(emailService, "fromEmail", "zoo@example.com");
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int keeper = i % KEEPERS;
+            batch.add(new NotificationOutbox((long) i, "keeper" + keeper + "@zoo.com", "Cuidador " + keeper,
+                    "Novo Animal Atribuído: Animal " + i,
+                    AnimalService.formatNotificationBody(AnimalService.NEW_ASSIGNMENT_BODY, animal),
+                    NotificationOutbox.Status.PENDING, 0, LocalDateTime.now(), LocalDateTime.now(), null, null));
+        }
+        messages = NotificationDispatcher.digest(batch).stream().map(NotificationDispatcher.Digest::message).toList();
+    }
+
+    @Benchmark
+    public String notificationBody() {
+        return AnimalService.formatNotificationBody(AnimalService.NEW_ASSIGNMENT_BODY, animal);
+    }
+
+    @Benchmark
+    public List<NotificationDispatcher.Digest> digestBatch() {
+        return NotificationDispatcher.digest(batch);
+    }
+
+    @Benchmark
+    public void sendGridRequest() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), emailService.buildRequest(messages));
+    }
+}
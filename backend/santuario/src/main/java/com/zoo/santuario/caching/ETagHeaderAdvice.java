@@ -0,0 +1,40 @@
+package com.zoo.santuario.caching;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the ETag and Cache-Control headers chosen by {@link ConditionalGetInterceptor} to a successful
+ * response, just before its body is written. Error responses of the same requests go out without them,
+ * so a 404 is never revalidated as if it were the resource.
+ */
+@ControllerAdvice
+public class ETagHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest && response instanceof ServletServerHttpResponse servletResponse) {
+            Object etag = servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+            if (etag != null && servletResponse.getServletResponse().getStatus() == 200) {
+                response.getHeaders().setETag((String) etag);
+                response.getHeaders().setCacheControl((String) servletRequest.getServletRequest()
+                        .getAttribute(ConditionalGetInterceptor.CACHE_CONTROL_ATTRIBUTE));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,105 @@
+package com.zoo.santuario.caching;
+
+import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.model.Veterinario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A modification counter per API table (the table_version table), from which ConditionalGetInterceptor
+ * builds the ETags of the read endpoints.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Just before a transaction that changed rows commits, ChangeLog raises the counters of the tables it
+ *     touched with one update. The counters therefore commit together with the rows, on the primary,
+ *     and every instance reads the same values.
+ *
+ * 2.  The update is the last statement of the transaction, so the row locks it takes are held only for
+ *     the commit itself. Concurrent writers to the same table queue there; an `in` list locks the rows in
+ *     key order, so writers to several tables cannot deadlock on them.
+ *
+ * 3.  Reading counters is one primary-key lookup, in a read-only transaction so that it is routed like
+ *     the read it stands for (see ReadWriteRoutingDataSource). It runs before that read, so a response can
+ *     only be newer than its version, never older.
+ *
+ * 4.  A read that joins several tables (an animal with its `?expand=` relations) is tagged with the sum of
+ *     their counters, which rises whenever any one of them does.
+ *
+ * 5.  The second-level and query caches are local to each instance and are only invalidated by that
+ *     instance's own writes, while the counters are shared. Whenever a counter is found higher than this
+ *     instance last saw it, the table is invalidated in the local caches before the read runs, so a body
+ *     cached before another instance's write is never sent under the newer ETag (where browsers would keep
+ *     revalidating it with 304s until the next write).
+ */
+@Component
+public class TableVersions {
+
+    // The tables whose entities are kept in the second-level cache.
+    private static final Map<String, Class<?>> CACHED_ENTITIES = Map.of(
+            "habitat", Habitat.class, "cuidador", Cuidador.class, "veterinario", Veterinario.class, "alimentacao", Alimentacao.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // The highest counter this instance has read per table.
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+
+    public void increment(Collection<String> tables) {
+        // Declared so that Hibernate only invalidates cached queries on table_version, i.e. none
+        entityManager.createNativeQuery("update table_version set version = version + 1 where entity in (:tables)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("table_version")
+                .setParameter("tables", tables)
+                .executeUpdate();
+    }
+
+    @Transactional(readOnly = true)
+    public long current(Collection<String> tables) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("select entity, version from table_version where entity in (:tables)")
+                .setParameter("tables", tables)
+                .getResultList();
+        long sum = 0;
+        List<String> changed = new ArrayList<>();
+        for (Object[] row : rows) {
+            String table = (String) row[0];
+            long version = ((Number) row[1]).longValue();
+            sum += version;
+            Long previous = seen.get(table);
+            if (previous == null || version > previous) {
+                seen.merge(table, version, Math::max);
+                changed.add(table);
+            }
+        }
+        if (!changed.isEmpty()) {
+            invalidateLocalCaches(changed);
+        }
+        return sum;
+    }
+
+    // Cached query results older than now are discarded for these tables, and their cached entities evicted.
+    private void invalidateLocalCaches(List<String> tables) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        CacheImplementor cache = session.getFactory().getCache();
+        // There is no timestamps cache when the query cache is switched off.
+        if (cache.getTimestampsCache() != null) {
+            cache.getTimestampsCache().invalidate(tables.toArray(String[]::new), session);
+        }
+        tables.stream().map(CACHED_ENTITIES::get).filter(Objects::nonNull).forEach(cache::evictEntityData);
+    }
+}
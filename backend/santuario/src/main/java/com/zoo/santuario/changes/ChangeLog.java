@@ -0,0 +1,160 @@
+package com.zoo.santuario.changes;
+
+import com.zoo.santuario.caching.TableVersions;
+import com.zoo.santuario.event.ChangesCommittedEvent;
+import com.zoo.santuario.event.EntityChangedEvent;
+import com.zoo.santuario.model.ChangeLogEntry;
+import com.zoo.santuario.repository.ChangeLogRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Records every create, update and delete of the five API tables in the change_log table, which
+ * GET /api/changes (see ChangeFeedService) reads.
+ *
+ * --- How It Works ---
+ *
+ * 1.  The services publish an {@link EntityChangedEvent} for every write inside their transaction. This
+ *     listener collects them per transaction, keeping one entry per row (its last change). Every service
+ *     write method is therefore @Transactional, even a single save, so that its entry commits with the row.
+ *
+ * 2.  Just before the transaction commits, the entries are inserted with one multi-row statement (per
+ *     {@value #ROWS_PER_STATEMENT} rows), so the log commits or rolls back together with the rows and a bulk
+ *     import adds one statement rather than one per animal. Taking the sequence numbers at the very end
+ *     of the transaction also keeps the time between taking a number and committing it short, which
+ *     ChangeFeedService relies on.
+ *
+ * 3.  Deletes are recorded as tombstones (deleted = true), so clients learn about rows that no longer exist.
+ *
+ * 4.  The same step raises the version of each table the transaction changed (see TableVersions), which
+ *     the ETags of the read endpoints are built from.
+ *
+ * 5.  Once the transaction has committed, its changes are published as one {@link ChangesCommittedEvent}
+ *     for the live stream (see ChangeStream) and the in-memory statistics (see StatisticsEngine).
+ *
+ * 6.  Entries older than `changes.retention` are pruned every `changes.prune-interval`; the newest entry
+ *     is always kept, so the feed can tell a token that is too old from one that is simply up to date.
+ */
+@Component
+public class ChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+
+    static final int ROWS_PER_STATEMENT = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private TableVersions tableVersions;
+
+    @Value("${changes.retention:P7D}")
+    private Duration retention;
+
+    private record Row(String entity, Long id) {
+    }
+
+    // Changes of the current transaction, bound to it as a resource until it completes.
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<Row, EntityChangedEvent> changeByRow = new LinkedHashMap<>();
+        private LocalDateTime changedAt;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            changedAt = LocalDateTime.now();
+            write(changeByRow.values(), changedAt);
+            tableVersions.increment(changeByRow.keySet().stream().map(Row::entity).collect(Collectors.toCollection(TreeSet::new)));
+        }
+
+        @Override
+        public void afterCommit() {
+            eventPublisher.publishEvent(new ChangesCommittedEvent(List.copyOf(changeByRow.values()), changedAt));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+        }
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            logger.warn("{} {} was changed outside a transaction and is missing from the change log", event.entity(), event.id());
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        Row row = new Row(event.entity(), event.id());
+        // Re-inserted so that the rows stay in the order of their last change
+        pending.changeByRow.remove(row);
+        pending.changeByRow.put(row, event);
+    }
+
+    private void write(Collection<EntityChangedEvent> changes, LocalDateTime now) {
+        List<EntityChangedEvent> entries = new ArrayList<>(changes);
+        for (int from = 0; from < entries.size(); from += ROWS_PER_STATEMENT) {
+            List<EntityChangedEvent> chunk = entries.subList(from, Math.min(entries.size(), from + ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder("insert into change_log (entity, entity_id, deleted, changed_at) values ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            }
+            // Without a declared table Hibernate would evict the whole second-level cache after a native update
+            NativeQuery<?> insert = entityManager.createNativeQuery(sql.toString())
+                    .unwrap(NativeQuery.class)
+                    .addSynchronizedEntityClass(ChangeLogEntry.class);
+            int position = 1;
+            for (EntityChangedEvent change : chunk) {
+                insert.setParameter(position++, change.entity());
+                insert.setParameter(position++, change.id());
+                insert.setParameter(position++, change.isDeleted());
+                insert.setParameter(position++, now);
+            }
+            insert.executeUpdate();
+        }
+        logger.debug("Recorded {} change(s) in the change log", entries.size());
+    }
+
+    @Scheduled(fixedDelayString = "${changes.prune-interval:PT1H}", initialDelayString = "${changes.prune-interval:PT1H}")
+    @Transactional
+    public void prune() {
+        Long newest = changeLogRepository.findNewestSeq();
+        if (newest == null) {
+            return;
+        }
+        int pruned = changeLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention), newest);
+        if (pruned > 0) {
+            logger.info("Pruned {} change log entries older than {}", pruned, retention);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.zoo.santuario.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.dto.ChangeDTO;
+import com.zoo.santuario.dto.LiveUpdateDTO;
+import com.zoo.santuario.event.ChangesCommittedEvent;
+import com.zoo.santuario.event.EntityChangedEvent;
+import com.zoo.santuario.exception.StreamCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed changes to open dashboards over Server-Sent Events (GET /api/changes/stream), so
+ * they can refresh the rows that changed instead of reloading all five lists.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Every transaction that changed rows ends with one {@link ChangesCommittedEvent} from ChangeLog.
+ *     It becomes one `changes` event (a LiveUpdateDTO: entity, id and deleted flag per row, without the
+ *     row itself), serialized once however many clients are subscribed. A transaction that changed more
+ *     than `changes.stream.max-changes-per-event` rows, such as a bulk import, only names the entities
+ *     to reload.
+ *
+ * 2.  Each subscriber has a queue of at most `changes.stream.buffer-size` events. Queuing never blocks
+ *     the request that committed; a small pool (`changes.stream.sender-threads`) writes the events out,
+ *     one subscriber at a time per thread.
+ *
+ * 3.  A subscriber whose queue is full cannot keep up. It is disconnected instead of being buffered
+ *     without limit; the browser's EventSource reconnects by itself and the client catches up through
+ *     GET /api/changes.
+ *
+ * 4.  A comment line goes out every `changes.stream.heartbeat-interval`. It keeps proxies from closing
+ *     idle streams, and writing it to a client that has gone away fails, which removes the subscriber.
+ *     Heartbeats have a scheduler thread of their own, so they are never held up behind the blocking
+ *     jobs (outbox dispatch, index rebuild, statistics reconcile) on the shared `@Scheduled` pool.
+ *     Streams are also closed after `changes.stream.timeout`, and the client reconnects.
+ *
+ * 5.  An open stream holds no thread and runs no query: it is an async request, an emitter and a queue
+ *     that is empty most of the time. At most `changes.stream.max-subscribers` are accepted; beyond that
+ *     the request gets 503.
+ *
+ * 6.  `changes.stream.subscribers` is the number of open streams and `changes.stream.evictions` counts
+ *     the subscribers disconnected for falling behind.
+ */
+@Component
+public class ChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStream.class);
+
+    static final String EVENT_NAME = "changes";
+    private static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private Environment environment;
+
+    @Value("${changes.stream.buffer-size:64}")
+    private int bufferSize;
+    @Value("${changes.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+    @Value("${changes.stream.max-changes-per-event:100}")
+    private int maxChangesPerEvent;
+    @Value("${changes.stream.sender-threads:4}")
+    private int senderThreads;
+    @Value("${changes.stream.timeout:PT30M}")
+    private Duration timeout;
+    @Value("${changes.stream.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+    @Value("${changes.stream.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private Counter evictions;
+    // Not a bean: any Executor bean would replace Spring Boot's default applicationTaskExecutor.
+    private final ThreadPoolTaskExecutor senderExecutor = new ThreadPoolTaskExecutor();
+    // Not a bean either: a TaskScheduler bean would replace the one that runs the @Scheduled methods.
+    private final ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+
+    @PostConstruct
+    void start() {
+        senderExecutor.setThreadNamePrefix("change-stream-");
+        senderExecutor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        senderExecutor.setCorePoolSize(senderThreads);
+        senderExecutor.setMaxPoolSize(senderThreads);
+        // Each subscriber has at most one send queued or running
+        senderExecutor.setQueueCapacity(maxSubscribers);
+        senderExecutor.initialize();
+        heartbeatScheduler.setThreadNamePrefix("change-stream-heartbeat-");
+        heartbeatScheduler.initialize();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, Instant.now().plus(heartbeatInterval), heartbeatInterval);
+        Gauge.builder("changes.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        evictions = Counter.builder("changes.stream.evictions").register(meterRegistry);
+    }
+
+    // Sent before the web server's graceful shutdown, which would otherwise wait for the open streams.
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        subscribers.forEach(Subscriber::evict);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeatScheduler.shutdown();
+        senderExecutor.shutdown();
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new StreamCapacityExceededException("The live change stream is at its limit of " + maxSubscribers + " subscribers; try again later.");
+        }
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        subscriber.offer(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected").build());
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onChangesCommitted(ChangesCommittedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> message;
+        try {
+            message = SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(objectMapper.writeValueAsString(toDto(event)), TEXT_UTF8)
+                    .build();
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize {} change(s) for the live stream", event.changes().size(), e);
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.offer(message));
+    }
+
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> subscriber.offer(message));
+    }
+
+    private LiveUpdateDTO toDto(ChangesCommittedEvent event) {
+        if (event.changes().size() > maxChangesPerEvent) {
+            List<String> entities = event.changes().stream().map(EntityChangedEvent::entity).distinct().toList();
+            return new LiveUpdateDTO(new ArrayList<>(), entities);
+        }
+        List<ChangeDTO> changes = event.changes().stream()
+                .map(change -> new ChangeDTO(change.entity(), change.id(), change.isDeleted(), event.changedAt(), null))
+                .toList();
+        return new LiveUpdateDTO(changes, new ArrayList<>());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new LinkedBlockingQueue<>(bufferSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // closed: nothing more is sent; evicted: closed by us, so the emitter still has to be completed
+        private volatile boolean closed;
+        private volatile boolean evicted;
+        private volatile boolean completed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> message) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                logger.info("Disconnecting a live stream subscriber that fell {} events behind", bufferSize);
+                evictions.increment();
+                evict();
+                return;
+            }
+            schedule();
+        }
+
+        void evict() {
+            evicted = true;
+            close();
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+        }
+
+        private void schedule() {
+            if (!sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senderExecutor.execute(this::send);
+            } catch (TaskRejectedException e) {
+                // Retried with the next event or heartbeat
+                sending.set(false);
+            }
+        }
+
+        private void send() {
+            try {
+                Set<DataWithMediaType> message;
+                while (!closed && (message = queue.poll()) != null) {
+                    emitter.send(message);
+                }
+                if (evicted && !completed) {
+                    completed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away; Spring completes the emitter with the error.
+                logger.debug("Live stream subscriber disconnected: {}", e.getMessage());
+                close();
+            } finally {
+                sending.set(false);
+            }
+            // An event or an eviction may have arrived after the loop but before the flag was cleared
+            if (evicted ? !completed : !closed && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
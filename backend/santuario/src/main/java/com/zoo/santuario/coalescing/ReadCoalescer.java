@@ -0,0 +1,96 @@
+package com.zoo.santuario.coalescing;
+
+import com.zoo.santuario.caching.ConditionalGetInterceptor;
+import com.zoo.santuario.event.EntityChangedEvent;
+import com.zoo.santuario.routing.ReadYourWrites;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lets identical concurrent list requests share one database query.
+ *
+ * --- How It Works ---
+ *
+ * 1.  The controllers pass each read through {@link #read}, naming the endpoint and every parameter
+ * that shapes the result (filters, sort, limit, cursor). Requests with the same endpoint and
+ * parameters arriving while a query for them is running wait for it and return its result, so a
+ * burst of dashboards loading at once costs one query per distinct request instead of one per caller.
+ *
+ * 2.  This happens in the controller, before the service opens its transaction, so the waiting
+ * requests do not hold a database connection.
+ *
+ * 3.  Every committed change (any {@link EntityChangedEvent}) moves a generation counter that is part
+ * of the key. A request that starts after a write therefore never joins a query that started before
+ * it, and always sees the write.
+ *
+ * 4.  Requests that must read from the primary ({@link ReadYourWrites}) never share a query with
+ * requests that may be served by the replica.
+ *
+ * 5.  `reads.coalescing.result-ttl` optionally keeps each result for a short time after the query
+ * finishes, so requests arriving just after it are also served without a query. It is off (0) by
+ * default. `reads.coalescing.enabled=false` turns the whole mechanism off.
+ *
+ * 6.  A request tagged with an ETag (see ConditionalGetInterceptor) only shares queries with requests
+ * tagged with the same table version; the query it would join may have started before that version
+ * committed, on this instance or any other.
+ *
+ * 7.  `reads.coalescing.requests{result=executed|shared}` counts the requests that ran a query and
+ * those that reused another request's result.
+ */
+@Component
+public class ReadCoalescer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reads.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reads.coalescing.result-ttl:PT0S}")
+    private Duration resultTtl;
+
+    private final AtomicLong generation = new AtomicLong();
+    private SingleFlight<List<Object>, Object> singleFlight;
+
+    @PostConstruct
+    void start() {
+        singleFlight = new SingleFlight<>(resultTtl);
+        FunctionCounter.builder("reads.coalescing.requests", singleFlight, SingleFlight::getExecuted)
+                .tag("result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("reads.coalescing.requests", singleFlight, SingleFlight::getShared)
+                .tag("result", "shared")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T read(String endpoint, Supplier<T> query, Object... parameters) {
+        if (!enabled) {
+            return query.get();
+        }
+        List<Object> key = new ArrayList<>(parameters.length + 4);
+        key.add(endpoint);
+        key.add(generation.get());
+        key.add(ReadYourWrites.isActive());
+        key.add(ConditionalGetInterceptor.currentETag());
+        Collections.addAll(key, parameters);
+        return (T) singleFlight.execute(key, query::get);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        generation.incrementAndGet();
+    }
+}
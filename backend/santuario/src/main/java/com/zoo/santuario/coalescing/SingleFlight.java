@@ -0,0 +1,89 @@
+package com.zoo.santuario.coalescing;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a computation at most once at a time per key; callers asking for the same key while it is
+ * running wait for that run and receive its result instead of starting their own.
+ *
+ * --- How It Works ---
+ *
+ * 1.  The first caller for a key puts a pending future into a {@link ConcurrentHashMap} and runs the
+ * loader on its own thread. Callers that find a future already there simply wait for it.
+ *
+ * 2.  When the loader returns, the future is completed and removed from the map, so the next caller
+ * starts a fresh run. With a result TTL the completed future stays in the map for that long and
+ * serves its result to every caller in the meantime.
+ *
+ * 3.  When the loader throws, every waiting caller gets the same exception and the key is removed at
+ * once; failures are never kept.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Duration resultTtl;
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public SingleFlight(Duration resultTtl) {
+        this.resultTtl = resultTtl;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            shared.increment();
+            return await(inFlight);
+        }
+
+        executed.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        if (resultTtl.isZero() || resultTtl.isNegative()) {
+            flights.remove(key, mine);
+            mine.complete(value);
+        } else {
+            mine.complete(value);
+            CompletableFuture.delayedExecutor(resultTtl.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> flights.remove(key, mine));
+        }
+        return value;
+    }
+
+    /** Number of calls that ran the loader. */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /** Number of calls that received the result of another call's run. */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
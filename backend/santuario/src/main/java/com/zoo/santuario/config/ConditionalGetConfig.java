@@ -0,0 +1,69 @@
+package com.zoo.santuario.config;
+
+import com.zoo.santuario.caching.ConditionalGetInterceptor;
+import com.zoo.santuario.caching.TableVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ETags and 304 Not Modified for the list, by-id and /{id}/animals endpoints of the five resources (see
+ * ConditionalGetInterceptor). The exports stream whole tables and are left alone.
+ */
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    // The table each resource is read from
+    private static final Map<String, String> TABLES = Map.of(
+            "animals", "animal",
+            "habitats", "habitat",
+            "cuidadores", "cuidador",
+            "veterinarios", "veterinario",
+            "alimentacoes", "alimentacao");
+    // The tables behind the relations each resource can expand (see AnimalController)
+    private static final Map<String, Map<String, String>> EXPANDABLE_TABLES = Map.of(
+            "animals", Map.of("keeper", "cuidador", "vet", "veterinario", "habitat", "habitat", "feedingPlan", "alimentacao"));
+
+    @Autowired
+    private TableVersions tableVersions;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private Environment environment;
+
+    @Value("${http.cache-control.default:private, no-cache}")
+    private String defaultCacheControl;
+
+    // Part of every ETag, so that a new release does not answer 304 to a body of the old one. Without a
+    // configured value it is the start time: each restart then costs the clients one full reload.
+    @Value("${http.etag.revision:}")
+    private String revision;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        String etagRevision = revision.isBlank() ? Long.toString(System.currentTimeMillis(), 36) : revision;
+        Counter notModified = Counter.builder("reads.conditional.requests").tag("result", "not-modified").register(meterRegistry);
+        Counter sent = Counter.builder("reads.conditional.requests").tag("result", "sent").register(meterRegistry);
+        TABLES.forEach((resource, table) -> {
+            String cacheControl = environment.getProperty("http.cache-control." + resource, defaultCacheControl);
+            registry.addInterceptor(new ConditionalGetInterceptor(tableVersions, Set.of(table), EXPANDABLE_TABLES.getOrDefault(resource, Map.of()),
+                            cacheControl, etagRevision, notModified, sent))
+                    .addPathPatterns("/api/" + resource, "/api/" + resource + "/{id}")
+                    .excludePathPatterns("/api/" + resource + "/export", "/api/" + resource + "/batch");
+            // The residents of a keeper, vet, habitat or feeding plan; the parent's table decides between 200 and 404
+            if (!table.equals("animal")) {
+                registry.addInterceptor(new ConditionalGetInterceptor(tableVersions, Set.of("animal", table), Map.of(),
+                                cacheControl, etagRevision, notModified, sent))
+                        .addPathPatterns("/api/" + resource + "/{id}/animals");
+            }
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package com.zoo.santuario.config;
 
+import com.zoo.santuario.pagination.KeysetPage;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,6 +17,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("https://zoo-front-production.up.railway.app") // Restrict to specific frontend origin
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(KeysetPage.NEXT_CURSOR_HEADER, HttpHeaders.ETAG) // Let the frontend read the pagination cursor and the ETag
                 .allowCredentials(true);
     }
 }
@@ -0,0 +1,95 @@
+package com.zoo.santuario.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zoo.santuario.routing.ReadWriteRoutingDataSource;
+import com.zoo.santuario.routing.ReadWriteRoutingDataSource.Route;
+import com.zoo.santuario.routing.ReadYourWritesFilter;
+import com.zoo.santuario.routing.ReplicaCacheModeListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Splits database traffic between the primary and a read replica. Only active when
+ * `spring.datasource.replica.url` is set; otherwise Spring Boot's single datasource is used as before.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Two Hikari pools are built: `primary` from the usual `spring.datasource.*` properties, and
+ * `replica` from `spring.datasource.replica.url`, `.username` and `.password` (defaulting to the
+ * primary's credentials) with its pool settings under `spring.datasource.replica.hikari.*`. Replica
+ * connections are read-only, so a write routed there by mistake fails instead of diverging.
+ *
+ * 2.  The datasource handed to JPA and Flyway is a {@link ReadWriteRoutingDataSource} behind a
+ * `LazyConnectionDataSourceProxy`. The proxy delays borrowing a connection until the first statement,
+ * so the routing can see whether the surrounding transaction is read-only.
+ *
+ * 3.  {@link ReadYourWritesFilter} keeps a client's reads on the primary for
+ * `spring.datasource.replica.read-your-writes-window` (default 5 seconds) after each of its writes.
+ * The window should be longer than the replica lag normally is.
+ *
+ * 4.  Transactions routed to the replica bypass Hibernate's second-level and query caches
+ * ({@link ReplicaCacheModeListener}), so the caches only hold what the primary returned.
+ *
+ * 5.  Both pools publish their own `hikaricp.connections.*` metrics, tagged with the pool name.
+ */
+@Configuration
+@ConditionalOnProperty("spring.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${spring.datasource.replica.url}") String url,
+                                              @Value("${spring.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${spring.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaCacheModeListener replicaCacheModeListener(EntityManagerFactory entityManagerFactory) {
+        return new ReplicaCacheModeListener(entityManagerFactory);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${spring.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesFilter(window, Clock.systemUTC());
+    }
+}
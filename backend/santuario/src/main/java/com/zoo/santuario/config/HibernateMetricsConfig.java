@@ -0,0 +1,28 @@
+package com.zoo.santuario.config;
+
+import com.zoo.santuario.metrics.RequestQueryStatistics;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hooks {@link RequestQueryStatistics} into Hibernate, so that the statements, statement time and entity
+ * loads of each request can be counted. The session-factory-wide statistics (`hibernate.*` metrics) come from
+ * `hibernate.generate_statistics` and hibernate-micrometer.
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestQueryStatistics.SessionListener.class.getName());
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(RequestQueryStatistics.INTEGRATOR));
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.zoo.santuario.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * The outbound HTTP client used by EmailService to call SendGrid.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Connections come from a small keep-alive pool, so consecutive requests reuse the same TLS
+ * connection instead of opening a new one each time. Idle and expired connections are evicted in
+ * the background.
+ *
+ * 2.  Every phase of a call is bounded: waiting for a pooled connection, connecting, and waiting
+ * for the response. A stalled SendGrid turns into an error after `sendgrid.http.response-timeout`
+ * instead of holding the calling thread indefinitely.
+ *
+ * 3.  A bulkhead caps the number of calls in flight. Callers beyond the cap are turned away after
+ * `sendgrid.bulkhead.max-wait` rather than queueing up behind a slow provider.
+ *
+ * 4.  A circuit breaker watches the outcome of the calls. When too many of them fail or are slow,
+ * it opens and further calls fail immediately, without touching the network, until
+ * `sendgrid.circuit-breaker.wait-in-open-state` has passed and a few trial calls succeed. Requests
+ * SendGrid rejects as invalid (4xx other than 408 and 429) say nothing about its health and are
+ * not counted.
+ *
+ * 5.  The pool, the bulkhead and the circuit breaker publish their state as Micrometer metrics
+ * (`httpcomponents.httpclient.pool.*`, `resilience4j.bulkhead.*`, `resilience4j.circuitbreaker.*`
+ * tagged with name=sendgrid), available under /actuator/metrics. Each call is timed as
+ * `http.client.requests` (tagged with the status or exception).
+ */
+@Configuration
+public class SendGridClientConfig {
+
+    public static final String NAME = "sendgrid";
+
+    @Bean
+    public PoolingHttpClientConnectionManager sendGridConnectionManager(
+            @Value("${sendgrid.http.max-connections:10}") int maxConnections,
+            @Value("${sendgrid.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${sendgrid.http.response-timeout:PT10S}") Duration responseTimeout,
+            @Value("${sendgrid.http.connection-ttl:PT5M}") Duration connectionTtl) {
+        // All calls go to the same host, so the per-route limit is the pool size.
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient sendGridHttpClient(
+            PoolingHttpClientConnectionManager sendGridConnectionManager,
+            @Value("${sendgrid.http.connection-request-timeout:PT2S}") Duration connectionRequestTimeout,
+            @Value("${sendgrid.http.response-timeout:PT10S}") Duration responseTimeout,
+            @Value("${sendgrid.http.idle-timeout:PT30S}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(sendGridConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                // The outbox decides when to try again; a retry here would only hide the failure from it.
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate sendGridRestTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient sendGridHttpClient) {
+        // Built through Spring Boot's builder so that every call is also recorded as an http.client.requests timer.
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(sendGridHttpClient))
+                .build();
+    }
+
+    @Bean
+    public CircuitBreaker sendGridCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${sendgrid.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${sendgrid.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${sendgrid.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${sendgrid.circuit-breaker.slow-call-duration-threshold:PT5S}") Duration slowCallDurationThreshold,
+            @Value("${sendgrid.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${sendgrid.circuit-breaker.wait-in-open-state:PT30S}") Duration waitInOpenState,
+            @Value("${sendgrid.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                // Moves to half-open on its own, so callers that check the state before calling see it recover.
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(SendGridClientConfig::isProviderFailure)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(NAME);
+    }
+
+    @Bean
+    public Bulkhead sendGridBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${sendgrid.bulkhead.max-concurrent-calls:8}") int maxConcurrentCalls,
+            @Value("${sendgrid.bulkhead.max-wait:PT0.5S}") Duration maxWait) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(NAME);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManagerMetricsBinder sendGridConnectionPoolMetrics(
+            PoolingHttpClientConnectionManager sendGridConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(sendGridConnectionManager, NAME);
+    }
+
+    // Invalid requests are answered promptly by a healthy SendGrid; everything else counts against it.
+    static boolean isProviderFailure(Throwable e) {
+        if (e instanceof HttpStatusCodeException statusException && statusException.getStatusCode().is4xxClientError()) {
+            int status = statusException.getStatusCode().value();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.REQUEST_TIMEOUT.value();
+        }
+        return true;
+    }
+}
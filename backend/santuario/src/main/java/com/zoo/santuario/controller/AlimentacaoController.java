@@ -1,29 +1,74 @@
 package com.zoo.santuario.controller;
 
+import com.zoo.santuario.coalescing.ReadCoalescer;
+import com.zoo.santuario.dto.AnimalResponseDTO;
 import com.zoo.santuario.dto.AlimentacaoRequestDTO;
 import com.zoo.santuario.dto.AlimentacaoResponseDTO;
 import com.zoo.santuario.exception.ResourceNotFoundException;
+import com.zoo.santuario.export.ExportFormat;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
 import com.zoo.santuario.service.AlimentacaoService;
+import com.zoo.santuario.service.AnimalService;
+import com.zoo.santuario.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/alimentacoes")
 public class AlimentacaoController {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "planName");
+
     @Autowired
     private AlimentacaoService alimentacaoService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private ReadCoalescer readCoalescer;
 
     @GetMapping
     public ResponseEntity<List<AlimentacaoResponseDTO>> getAlimentacoes(
             @RequestParam(required = false) String foodType,
-            @RequestParam(required = false) Long animalId) {
-        List<AlimentacaoResponseDTO> alimentacoes = alimentacaoService.getFilteredAlimentacoes(foodType, animalId);
-        return new ResponseEntity<>(alimentacoes, HttpStatus.OK);
+            @RequestParam(required = false) Long animalId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, SORT_KEYS);
+        KeysetPage<AlimentacaoResponseDTO> alimentacoes = readCoalescer.read("alimentacoes", () -> alimentacaoService.getFilteredAlimentacoes(foodType, animalId, page),
+                foodType, animalId, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return alimentacoes.toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public void exportAlimentacoes(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        exportFormat.prepare(response, "alimentacoes");
+        exportService.exportAlimentacoes(exportFormat, response.getOutputStream());
+    }
+
+    // The animals of this feeding plan, paginated like GET /api/animals; 404 if the feeding plan does not exist.
+    @GetMapping("/{id}/animals")
+    public ResponseEntity<List<AnimalResponseDTO>> getAnimals(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, AnimalController.SORT_KEYS);
+        KeysetPage<AnimalResponseDTO> animals = readCoalescer.read("alimentacoes/animals", () -> animalService.getAnimalsByFeedingPlan(id, page),
+                id, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return animals.toResponseEntity();
     }
 
     @GetMapping("/{id}")
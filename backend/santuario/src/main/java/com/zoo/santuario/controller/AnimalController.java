@@ -1,16 +1,29 @@
 package com.zoo.santuario.controller;
 
+import com.zoo.santuario.coalescing.ReadCoalescer;
+import com.zoo.santuario.dto.AnimalBatchResultDTO;
 import com.zoo.santuario.dto.AnimalRequestDTO;
 import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.export.ExportFormat;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.repository.FetchPlan;
+import com.zoo.santuario.service.AnimalImportService;
 import com.zoo.santuario.service.AnimalService;
+import com.zoo.santuario.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/animals")
@@ -18,25 +31,52 @@ public class AnimalController {
 
     private static final Logger logger = LoggerFactory.getLogger(AnimalController.class);
 
+    // Stable sort keys clients may page by; id is always appended as the tie-breaker. Also used by the
+    // /api/{cuidadores,veterinarios,habitats,alimentacoes}/{id}/animals endpoints.
+    static final Set<String> SORT_KEYS = Set.of("id", "name", "age", "arrivalDate");
+    // Relations ?expand= may name; each comes back as a summary object next to its id.
+    private static final Set<String> EXPANSIONS = Set.of("keeper", "vet", "habitat", "feedingPlan");
+
     @Autowired
     private AnimalService animalService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ReadCoalescer readCoalescer;
+    @Autowired
+    private AnimalImportService animalImportService;
 
     @GetMapping
     public ResponseEntity<List<AnimalResponseDTO>> getAnimals(
             @RequestParam(required = false) String species,
             @RequestParam(required = false) Integer ageMin,
             @RequestParam(required = false) Integer ageMax,
-            @RequestParam(required = false) String name) {
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String expand) {
         logger.debug("Received request to get animals with species: {}, ageMin: {}, ageMax: {}, name: {}", species, ageMin, ageMax, name);
-        List<AnimalResponseDTO> animals = animalService.getFilteredAnimals(species, ageMin, ageMax, name);
-        logger.debug("Returning {} animals", animals.size());
-        return new ResponseEntity<>(animals, HttpStatus.OK);
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, SORT_KEYS);
+        Set<String> expansions = FetchPlan.parse(expand, EXPANSIONS);
+        KeysetPage<AnimalResponseDTO> animals = readCoalescer.read("animals", () -> animalService.getFilteredAnimals(species, ageMin, ageMax, name, page, expansions),
+                species, ageMin, ageMax, name, page.getSortKey(), page.getDirection(), page.getLimit(), cursor, expansions);
+        logger.debug("Returning {} animals", animals.getItems().size());
+        return animals.toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public void exportAnimals(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        exportFormat.prepare(response, "animals");
+        exportService.exportAnimals(exportFormat, response.getOutputStream());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AnimalResponseDTO> getAnimalById(@PathVariable Long id) {
+    public ResponseEntity<AnimalResponseDTO> getAnimalById(@PathVariable Long id, @RequestParam(required = false) String expand) {
         logger.debug("Received request to get animal by ID: {}", id);
-        AnimalResponseDTO animal = animalService.getAnimalById(id);
+        AnimalResponseDTO animal = animalService.getAnimalById(id, FetchPlan.parse(expand, EXPANSIONS));
         logger.debug("Returning animal with ID: {}", id);
         return new ResponseEntity<>(animal, HttpStatus.OK);
     }
@@ -49,6 +89,21 @@ public class AnimalController {
         return new ResponseEntity<>(createdAnimal, HttpStatus.CREATED);
     }
 
+    // Rows that fail validation are reported in the result; the valid ones are imported regardless.
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AnimalBatchResultDTO> importAnimals(@RequestBody List<AnimalRequestDTO> animals) {
+        logger.debug("Received request to import {} animals", animals.size());
+        AnimalBatchResultDTO result = animalImportService.importAnimals(animals);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/batch", consumes = "text/csv")
+    public ResponseEntity<AnimalBatchResultDTO> importAnimalsCsv(Reader csv) {
+        logger.debug("Received request to import animals from CSV");
+        AnimalBatchResultDTO result = animalImportService.importAnimalsCsv(csv);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AnimalResponseDTO> updateAnimal(@PathVariable Long id, @RequestBody AnimalRequestDTO animalRequestDTO) {
         logger.debug("Received request to update animal with ID: {}", id);
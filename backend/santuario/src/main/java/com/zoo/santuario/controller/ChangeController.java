@@ -0,0 +1,38 @@
+package com.zoo.santuario.controller;
+
+import com.zoo.santuario.changes.ChangeStream;
+import com.zoo.santuario.dto.ChangeFeedDTO;
+import com.zoo.santuario.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+    @Autowired
+    private ChangeStream changeStream;
+
+    // Rows of all five tables changed since the token (see ChangeFeedService); without a token, just the
+    // current one. 410 when the token is older than the change log.
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+
+    // Live `changes` events as transactions commit (see ChangeStream); 503 when the stream is full.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return changeStream.subscribe();
+    }
+}
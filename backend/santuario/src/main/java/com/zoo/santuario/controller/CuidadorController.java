@@ -1,29 +1,74 @@
 package com.zoo.santuario.controller;
 
+import com.zoo.santuario.coalescing.ReadCoalescer;
+import com.zoo.santuario.dto.AnimalResponseDTO;
 import com.zoo.santuario.dto.CuidadorRequestDTO;
 import com.zoo.santuario.dto.CuidadorResponseDTO;
 import com.zoo.santuario.exception.ResourceNotFoundException;
+import com.zoo.santuario.export.ExportFormat;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
 import com.zoo.santuario.service.CuidadorService;
+import com.zoo.santuario.service.AnimalService;
+import com.zoo.santuario.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/cuidadores")
 public class CuidadorController {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "name");
+
     @Autowired
     private CuidadorService cuidadorService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private ReadCoalescer readCoalescer;
 
     // This method is correct.
     @GetMapping
     public ResponseEntity<List<CuidadorResponseDTO>> getCuidadores(
-            @RequestParam(required = false) String specialty) {
-        List<CuidadorResponseDTO> cuidadores = cuidadorService.getFilteredCuidadores(specialty);
-        return new ResponseEntity<>(cuidadores, HttpStatus.OK);
+            @RequestParam(required = false) String specialty,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, SORT_KEYS);
+        KeysetPage<CuidadorResponseDTO> cuidadores = readCoalescer.read("cuidadores", () -> cuidadorService.getFilteredCuidadores(specialty, page),
+                specialty, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return cuidadores.toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public void exportCuidadores(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        exportFormat.prepare(response, "cuidadores");
+        exportService.exportCuidadores(exportFormat, response.getOutputStream());
+    }
+
+    // The animals of this keeper, paginated like GET /api/animals; 404 if the keeper does not exist.
+    @GetMapping("/{id}/animals")
+    public ResponseEntity<List<AnimalResponseDTO>> getAnimals(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, AnimalController.SORT_KEYS);
+        KeysetPage<AnimalResponseDTO> animals = readCoalescer.read("cuidadores/animals", () -> animalService.getAnimalsByKeeper(id, page),
+                id, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return animals.toResponseEntity();
     }
 
     // This method is correct.
@@ -0,0 +1,38 @@
+package com.zoo.santuario.controller;
+
+import com.zoo.santuario.coalescing.ReadCoalescer;
+import com.zoo.santuario.dto.DashboardSummaryDTO;
+import com.zoo.santuario.service.DashboardService;
+import com.zoo.santuario.stats.ZooStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
+    // Counts and occupancy for the dashboard home page, in place of the five full lists. Every open
+    // dashboard asks for the same summary, so concurrent requests share one computation.
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDTO> getSummary() {
+        return ResponseEntity.ok(readCoalescer.read("dashboard-summary", dashboardService::getSummary));
+    }
+
+    // Detailed counts from the in-memory statistics; 503 while they are still being built after startup.
+    @GetMapping("/statistics")
+    public ResponseEntity<ZooStatistics> getStatistics() {
+        ZooStatistics statistics = dashboardService.getStatistics();
+        return statistics != null
+                ? ResponseEntity.ok(statistics)
+                : new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -1,28 +1,73 @@
 package com.zoo.santuario.controller;
 
+import com.zoo.santuario.coalescing.ReadCoalescer;
+import com.zoo.santuario.dto.AnimalResponseDTO;
 import com.zoo.santuario.dto.HabitatRequestDTO;
 import com.zoo.santuario.dto.HabitatResponseDTO;
+import com.zoo.santuario.export.ExportFormat;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
 import com.zoo.santuario.service.HabitatService;
+import com.zoo.santuario.service.AnimalService;
+import com.zoo.santuario.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/habitats")
 public class HabitatController {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "name", "capacity");
+
     @Autowired
     private HabitatService habitatService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private ReadCoalescer readCoalescer;
 
     // This method is correct.
     @GetMapping
     public ResponseEntity<List<HabitatResponseDTO>> getHabitats(
-            @RequestParam(required = false) String type) {
-        List<HabitatResponseDTO> habitats = habitatService.getFilteredHabitats(type);
-        return new ResponseEntity<>(habitats, HttpStatus.OK);
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, SORT_KEYS);
+        KeysetPage<HabitatResponseDTO> habitats = readCoalescer.read("habitats", () -> habitatService.getFilteredHabitats(type, page),
+                type, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return habitats.toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public void exportHabitats(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        exportFormat.prepare(response, "habitats");
+        exportService.exportHabitats(exportFormat, response.getOutputStream());
+    }
+
+    // The animals of this habitat, paginated like GET /api/animals; 404 if the habitat does not exist.
+    @GetMapping("/{id}/animals")
+    public ResponseEntity<List<AnimalResponseDTO>> getAnimals(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, AnimalController.SORT_KEYS);
+        KeysetPage<AnimalResponseDTO> animals = readCoalescer.read("habitats/animals", () -> animalService.getAnimalsByHabitat(id, page),
+                id, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return animals.toResponseEntity();
     }
 
     // This method is correct.
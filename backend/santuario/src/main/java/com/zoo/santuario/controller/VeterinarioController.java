@@ -1,27 +1,72 @@
 package com.zoo.santuario.controller;
 
+import com.zoo.santuario.coalescing.ReadCoalescer;
+import com.zoo.santuario.dto.AnimalResponseDTO;
 import com.zoo.santuario.dto.VeterinarioRequestDTO;
 import com.zoo.santuario.dto.VeterinarioResponseDTO;
+import com.zoo.santuario.export.ExportFormat;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
 import com.zoo.santuario.service.VeterinarioService;
+import com.zoo.santuario.service.AnimalService;
+import com.zoo.santuario.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/veterinarios")
 public class VeterinarioController {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "name");
+
     @Autowired
     private VeterinarioService veterinarioService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private ReadCoalescer readCoalescer;
 
     @GetMapping
     public ResponseEntity<List<VeterinarioResponseDTO>> getVeterinarios(
-            @RequestParam(required = false) String specialty) {
-        List<VeterinarioResponseDTO> veterinarios = veterinarioService.getFilteredVeterinarios(specialty);
-        return new ResponseEntity<>(veterinarios, HttpStatus.OK);
+            @RequestParam(required = false) String specialty,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, SORT_KEYS);
+        KeysetPage<VeterinarioResponseDTO> veterinarios = readCoalescer.read("veterinarios", () -> veterinarioService.getFilteredVeterinarios(specialty, page),
+                specialty, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return veterinarios.toResponseEntity();
+    }
+
+    @GetMapping("/export")
+    public void exportVeterinarios(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        exportFormat.prepare(response, "veterinarios");
+        exportService.exportVeterinarios(exportFormat, response.getOutputStream());
+    }
+
+    // The animals of this vet, paginated like GET /api/animals; 404 if the vet does not exist.
+    @GetMapping("/{id}/animals")
+    public ResponseEntity<List<AnimalResponseDTO>> getAnimals(
+            @PathVariable Long id,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        KeysetPageRequest page = KeysetPageRequest.of(sort, direction, limit, cursor, AnimalController.SORT_KEYS);
+        KeysetPage<AnimalResponseDTO> animals = readCoalescer.read("veterinarios/animals", () -> animalService.getAnimalsByVet(id, page),
+                id, page.getSortKey(), page.getDirection(), page.getLimit(), cursor);
+        return animals.toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,4 +15,9 @@ public class AlimentacaoResponseDTO {
     private String foodType;
     private String quantity;
     private String frequency;
-}
\ No newline at end of file
+
+    // Row version and time of the last change (see VersionedEntity)
+    private Long version;
+    private LocalDateTime updatedAt;
+
+}
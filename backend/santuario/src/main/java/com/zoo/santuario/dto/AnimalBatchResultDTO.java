@@ -0,0 +1,27 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalBatchResultDTO {
+
+    private int received;
+    private int imported;
+    private List<Long> createdIds = new ArrayList<>(); // In the order of the imported rows
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row; // 1-based position in the batch, not counting the CSV header
+        private String message;
+    }
+}
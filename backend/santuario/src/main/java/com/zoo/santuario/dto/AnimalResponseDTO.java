@@ -1,12 +1,13 @@
 package com.zoo.santuario.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class AnimalResponseDTO {
 
     private Long id;
@@ -24,4 +25,38 @@ public class AnimalResponseDTO {
     private Long habitatId;
     private Long feedingPlanId;
 
-}
\ No newline at end of file
+    // Row version and time of the last change (see VersionedEntity)
+    private Long version;
+    private LocalDateTime updatedAt;
+
+    // The related rows named in ?expand= (see AnimalController); left out of the JSON when not expanded
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private StaffSummaryDTO keeper;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private StaffSummaryDTO vet;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private HabitatSummaryDTO habitat;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private FeedingPlanSummaryDTO feedingPlan;
+
+    // The columns of AnimalRepository.DTO, in order
+    public AnimalResponseDTO(Long id, String name, String species, int age, String sex, String arrivalDate, String status,
+                             String image, Long keeperId, Long vetId, Long habitatId, Long feedingPlanId,
+                             Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.species = species;
+        this.age = age;
+        this.sex = sex;
+        this.arrivalDate = arrivalDate;
+        this.status = status;
+        this.image = image;
+        this.keeperId = keeperId;
+        this.vetId = vetId;
+        this.habitatId = habitatId;
+        this.feedingPlanId = feedingPlanId;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDTO {
+
+    private String entity; // animal, cuidador, veterinario, habitat or alimentacao
+    private Long id;
+    private boolean deleted; // Tombstone: the row no longer exists
+    private LocalDateTime changedAt;
+    private Object data; // The row's current response DTO; null for a tombstone
+
+}
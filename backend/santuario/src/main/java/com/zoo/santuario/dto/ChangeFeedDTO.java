@@ -0,0 +1,19 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDTO {
+
+    private List<ChangeDTO> changes = new ArrayList<>(); // One per row, in the order of their last change
+    private String nextToken; // Pass as ?since= on the next call
+    private boolean hasMore; // More changes are waiting; ask again right away
+
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +18,8 @@ public class CuidadorResponseDTO {
     private String status;
     private String workShift;
 
-}
\ No newline at end of file
+    // Row version and time of the last change (see VersionedEntity)
+    private Long version;
+    private LocalDateTime updatedAt;
+
+}
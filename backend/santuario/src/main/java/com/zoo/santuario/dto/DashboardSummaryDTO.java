@@ -0,0 +1,43 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryDTO {
+
+    private StatusCounts animals = new StatusCounts();
+    private StatusCounts cuidadores = new StatusCounts();
+    private StatusCounts veterinarios = new StatusCounts();
+    private StatusCounts habitats = new StatusCounts();
+    private long alimentacoes; // Feeding plans have no status, only a total
+    private List<HabitatOccupancy> habitatOccupancy = new ArrayList<>(); // Every habitat, ordered by id
+    private List<AnimalResponseDTO> recentArrivals = new ArrayList<>(); // Newest arrivalDate first
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusCounts {
+        private long total;
+        private Map<String, Long> byStatus = new LinkedHashMap<>(); // Statuses without any rows are absent
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HabitatOccupancy {
+        private Long habitatId;
+        private String name;
+        private String status;
+        private int capacity;
+        private long residents;
+    }
+}
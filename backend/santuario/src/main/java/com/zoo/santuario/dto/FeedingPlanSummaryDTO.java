@@ -0,0 +1,18 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedingPlanSummaryDTO {
+
+    private Long id;
+    private String planName;
+    private String foodType;
+    private String quantity;
+    private String frequency;
+
+}
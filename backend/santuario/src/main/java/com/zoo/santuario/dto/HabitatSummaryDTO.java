@@ -0,0 +1,17 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HabitatSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String type;
+    private String status;
+
+}
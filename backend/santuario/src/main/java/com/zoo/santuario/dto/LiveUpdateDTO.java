@@ -0,0 +1,18 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveUpdateDTO {
+
+    private List<ChangeDTO> changes = new ArrayList<>(); // The rows one transaction changed; data is never sent, fetch the row by id
+    private List<String> reload = new ArrayList<>(); // Entities changed too much at once to list; reload them instead
+
+}
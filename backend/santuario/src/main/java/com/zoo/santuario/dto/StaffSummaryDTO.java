@@ -0,0 +1,16 @@
+package com.zoo.santuario.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffSummaryDTO {
+
+    private Long id;
+    private String name;
+    private String specialty;
+
+}
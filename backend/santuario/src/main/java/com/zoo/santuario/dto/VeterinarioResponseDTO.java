@@ -4,6 +4,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +17,8 @@ public class VeterinarioResponseDTO {
     private String specialty;
     private String status;
 
-}
\ No newline at end of file
+    // Row version and time of the last change (see VersionedEntity)
+    private Long version;
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,25 @@
+package com.zoo.santuario.event;
+
+/**
+ * Published by AlimentacaoService whenever a feeding plan is created, updated or deleted.
+ */
+public record AlimentacaoChangedEvent(Long id, boolean deleted) implements EntityChangedEvent {
+
+    public static AlimentacaoChangedEvent saved(Long id) {
+        return new AlimentacaoChangedEvent(id, false);
+    }
+
+    public static AlimentacaoChangedEvent deleted(Long id) {
+        return new AlimentacaoChangedEvent(id, true);
+    }
+
+    @Override
+    public String entity() {
+        return "alimentacao";
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,38 @@
+package com.zoo.santuario.event;
+
+import com.zoo.santuario.model.Animal;
+
+/**
+ * Published by the services whenever an animal is created, updated or deleted.
+ *
+ * Listeners receive it after the transaction commits (see AnimalSearchIndex and StatisticsEngine).
+ * It carries the state after the change only, so applying the same event twice has no further
+ * effect; {@code animal} is null when the animal was deleted.
+ */
+public record AnimalChangedEvent(Long id, Facts animal) implements EntityChangedEvent {
+
+    // The columns the in-memory read models use. Ids of related rows are read from the foreign keys.
+    public record Facts(String name, String species, String status, String sex, Long habitatId, Long keeperId, Long vetId) {
+    }
+
+    public static AnimalChangedEvent saved(Animal animal) {
+        return new AnimalChangedEvent(animal.getId(), new Facts(animal.getName(), animal.getSpecies(), animal.getStatus(), animal.getSex(),
+                animal.getHabitat() != null ? animal.getHabitat().getId() : null,
+                animal.getKeeper() != null ? animal.getKeeper().getId() : null,
+                animal.getVet() != null ? animal.getVet().getId() : null));
+    }
+
+    public static AnimalChangedEvent deleted(Long id) {
+        return new AnimalChangedEvent(id, null);
+    }
+
+    @Override
+    public String entity() {
+        return "animal";
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return animal == null;
+    }
+}
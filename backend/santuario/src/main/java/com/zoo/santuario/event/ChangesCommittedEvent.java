@@ -0,0 +1,13 @@
+package com.zoo.santuario.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by ChangeLog once a transaction that changed rows has committed: the last change of each
+ * row, in the order they were made, and the time they were recorded in the change log. Listeners that
+ * push changes to clients (see ChangeStream) or publish derived state (see StatisticsEngine) get a whole
+ * transaction at once, so a bulk import is one event rather than one per animal.
+ */
+public record ChangesCommittedEvent(List<EntityChangedEvent> changes, LocalDateTime changedAt) {
+}
@@ -0,0 +1,22 @@
+package com.zoo.santuario.event;
+
+/**
+ * Published by CuidadorService whenever a keeper is created, updated or deleted. {@code status} is
+ * the status after the change, or null for a delete.
+ */
+public record CuidadorChangedEvent(Long id, String status) implements EntityChangedEvent {
+
+    public static CuidadorChangedEvent deleted(Long id) {
+        return new CuidadorChangedEvent(id, null);
+    }
+
+    @Override
+    public String entity() {
+        return "cuidador";
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return status == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.zoo.santuario.event;
+
+/**
+ * Common type of the change events the services publish, for listeners that only need to know
+ * that something was written (see ReadCoalescer and ChangeLog) rather than what changed.
+ */
+public interface EntityChangedEvent {
+
+    Long id();
+
+    /**
+     * Table of the changed row, e.g. {@code animal}; the name it is recorded under in the change log.
+     */
+    String entity();
+
+    boolean isDeleted();
+}
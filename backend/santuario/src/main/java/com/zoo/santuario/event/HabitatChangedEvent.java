@@ -0,0 +1,31 @@
+package com.zoo.santuario.event;
+
+import com.zoo.santuario.model.Habitat;
+
+/**
+ * Published by HabitatService whenever a habitat is created, updated or deleted. Like
+ * AnimalChangedEvent it carries the state after the change, and {@code habitat} is null for a delete.
+ */
+public record HabitatChangedEvent(Long id, Facts habitat) implements EntityChangedEvent {
+
+    public record Facts(String name, String status, int capacity) {
+    }
+
+    public static HabitatChangedEvent saved(Habitat habitat) {
+        return new HabitatChangedEvent(habitat.getId(), new Facts(habitat.getName(), habitat.getStatus(), habitat.getCapacity()));
+    }
+
+    public static HabitatChangedEvent deleted(Long id) {
+        return new HabitatChangedEvent(id, null);
+    }
+
+    @Override
+    public String entity() {
+        return "habitat";
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return habitat == null;
+    }
+}
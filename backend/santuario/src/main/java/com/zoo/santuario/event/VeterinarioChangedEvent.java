@@ -0,0 +1,22 @@
+package com.zoo.santuario.event;
+
+/**
+ * Published by VeterinarioService whenever a vet is created, updated or deleted. {@code status} is
+ * the status after the change, or null for a delete.
+ */
+public record VeterinarioChangedEvent(Long id, String status) implements EntityChangedEvent {
+
+    public static VeterinarioChangedEvent deleted(Long id) {
+        return new VeterinarioChangedEvent(id, null);
+    }
+
+    @Override
+    public String entity() {
+        return "veterinario";
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return status == null;
+    }
+}
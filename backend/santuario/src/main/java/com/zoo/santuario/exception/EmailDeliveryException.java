@@ -0,0 +1,24 @@
+package com.zoo.santuario.exception;
+
+/**
+ * Thrown by {@code EmailService} when the provider did not accept a message. Permanent failures
+ * (a rejected request rather than an unavailable provider) are not worth retrying.
+ */
+public class EmailDeliveryException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public EmailDeliveryException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryable = true;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,13 @@
+package com.zoo.santuario.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The live change stream already has as many subscribers as it accepts; the client should retry later.
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StreamCapacityExceededException extends RuntimeException {
+
+    public StreamCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.zoo.santuario.export;
+
+import java.util.function.Function;
+
+/**
+ * One exported field: the name used as CSV header / JSON key, and how to read it from a row.
+ */
+public final class ExportColumn<E> {
+
+    private final String name;
+    private final Function<E, Object> extractor;
+
+    private ExportColumn(String name, Function<E, Object> extractor) {
+        this.name = name;
+        this.extractor = extractor;
+    }
+
+    public static <E> ExportColumn<E> of(String name, Function<E, Object> extractor) {
+        return new ExportColumn<>(name, extractor);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Object valueOf(E row) {
+        return extractor.apply(row);
+    }
+}
@@ -0,0 +1,108 @@
+package com.zoo.santuario.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes rows one at a time in the requested format. Nothing is buffered beyond the underlying
+ * {@link Writer}, so memory use does not depend on how many rows are exported.
+ */
+public abstract class ExportWriter<E> {
+
+    protected final List<ExportColumn<E>> columns;
+    protected final Writer out;
+
+    protected ExportWriter(List<ExportColumn<E>> columns, Writer out) {
+        this.columns = columns;
+        this.out = out;
+    }
+
+    public static <E> ExportWriter<E> create(ExportFormat format, List<ExportColumn<E>> columns, Writer out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter<>(columns, out, objectMapper);
+            case CSV -> new CsvWriter<>(columns, out);
+        };
+    }
+
+    public void writeHeader() throws IOException {
+    }
+
+    public abstract void writeRow(E row) throws IOException;
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private static final class NdjsonWriter<E> extends ExportWriter<E> {
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(List<ExportColumn<E>> columns, Writer out, ObjectMapper objectMapper) throws IOException {
+            super(columns, out);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Each object ends with its own newline, so no separator between root values.
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void writeRow(E row) throws IOException {
+            generator.writeStartObject();
+            for (ExportColumn<E> column : columns) {
+                generator.writeFieldName(column.getName());
+                generator.writeObject(column.valueOf(row));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvWriter<E> extends ExportWriter<E> {
+
+        private CsvWriter(List<ExportColumn<E>> columns, Writer out) {
+            super(columns, out);
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(columns.get(i).getName()));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(E row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object value = columns.get(i).valueOf(row);
+                if (value != null) {
+                    out.write(escape(value.toString()));
+                }
+            }
+            out.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks and double inner quotes.
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
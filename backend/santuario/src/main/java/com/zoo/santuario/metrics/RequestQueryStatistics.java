@@ -0,0 +1,119 @@
+package com.zoo.santuario.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements Hibernate executes, the time they take and the entities it loads while one
+ * HTTP request is handled on the current thread.
+ *
+ * --- How It Works ---
+ *
+ * 1.  {@link RequestQueryStatisticsFilter} calls {@link #start()} when a request comes in and
+ * {@link #stop()} when it leaves, records the counts as metrics and checks them against the SQL budget.
+ *
+ * 2.  Hibernate reports to it through {@link SessionListener}, which every session gets
+ * (`hibernate.session.events.auto`) and which is told when each statement or JDBC batch starts and
+ * finishes executing, and through {@link #INTEGRATOR}, which adds a post-load listener called once per
+ * entity instance loaded from a result set. A JDBC batch counts as one statement: it is one round trip.
+ *
+ * 3.  Work outside a request (scheduled jobs, the outbox dispatcher) is not counted.
+ */
+public final class RequestQueryStatistics {
+
+    /** Request attribute holding the final {@link Counts} once the request has been handled. */
+    public static final String REQUEST_ATTRIBUTE = RequestQueryStatistics.class.getName();
+
+    public record Counts(long statements, Duration statementTime, long entitiesLoaded) {
+    }
+
+    private static final class Tally {
+        long statements;
+        long statementNanos;
+        long entitiesLoaded;
+    }
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Created by Hibernate for every session; a session is only used by one thread at a time.
+     */
+    public static class SessionListener extends BaseSessionEventListener {
+
+        private long executionStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed();
+        }
+
+        private void executed() {
+            Tally tally = CURRENT.get();
+            if (tally != null) {
+                tally.statements++;
+                tally.statementNanos += System.nanoTime() - executionStart;
+            }
+        }
+    }
+
+    public static final Integrator INTEGRATOR = new Integrator() {
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                    .appendListeners(EventType.POST_LOAD, event -> {
+                        Tally tally = CURRENT.get();
+                        if (tally != null) {
+                            tally.entitiesLoaded++;
+                        }
+                    });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    };
+
+    private RequestQueryStatistics() {
+    }
+
+    /**
+     * The counts so far for the request on the current thread, or null outside a request.
+     */
+    public static Counts current() {
+        Tally tally = CURRENT.get();
+        return tally == null ? null : new Counts(tally.statements, Duration.ofNanos(tally.statementNanos), tally.entitiesLoaded);
+    }
+
+    static void start() {
+        CURRENT.set(new Tally());
+    }
+
+    static Counts stop() {
+        Counts counts = current();
+        CURRENT.remove();
+        return counts == null ? new Counts(0, Duration.ZERO, 0) : counts;
+    }
+}
@@ -0,0 +1,79 @@
+package com.zoo.santuario.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, as the distribution
+ * summaries `hibernate.request.statements` and `hibernate.request.entities.loaded`, and how long its
+ * statements took to execute, as the timer `hibernate.request.statement.time`; all tagged with the
+ * HTTP method and the URI pattern (e.g. `/api/animals/{id}`). A list endpoint whose statement count
+ * grows with its page size is running one query per row.
+ *
+ * Requests that go over the {@link SqlBudget} are logged as a warning, and the final counts are left in
+ * the request attribute {@link RequestQueryStatistics#REQUEST_ATTRIBUTE} for tests to assert on.
+ */
+@Component
+public class RequestQueryStatisticsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestQueryStatisticsFilter.class);
+
+    // Bucket bounds for the Prometheus histograms: a handful of statements is normal, hundreds is not.
+    private static final double[] BUCKETS = {1, 2, 5, 10, 25, 50, 100, 250, 1000};
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlBudget sqlBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStatistics.Counts counts = RequestQueryStatistics.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            request.setAttribute(RequestQueryStatistics.REQUEST_ATTRIBUTE, counts);
+            summary("hibernate.request.statements", "SQL statements executed per HTTP request", request.getMethod(), uri)
+                    .record(counts.statements());
+            summary("hibernate.request.entities.loaded", "Entities loaded per HTTP request", request.getMethod(), uri)
+                    .record(counts.entitiesLoaded());
+            Timer.builder("hibernate.request.statement.time")
+                    .description("Time spent executing SQL statements per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(counts.statementTime());
+            if (sqlBudget.isExceeded(counts)) {
+                logger.warn("{} {} went over the SQL budget: {}", request.getMethod(), uri, sqlBudget.describe(counts));
+            }
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.zoo.santuario.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * How much SQL one request may run before it is reported: `requests.sql-budget.statements` statements
+ * or `requests.sql-budget.time` spent executing them, whichever is reached first. A request over budget
+ * is logged as a warning by {@link RequestQueryStatisticsFilter} and answered with an
+ * `X-SQL-Budget-Exceeded` header by {@link SqlBudgetHeaderAdvice}.
+ */
+@Component
+public class SqlBudget {
+
+    public static final String HEADER = "X-SQL-Budget-Exceeded";
+
+    @Value("${requests.sql-budget.statements:50}")
+    private long maxStatements;
+
+    @Value("${requests.sql-budget.time:PT1S}")
+    private Duration maxStatementTime;
+
+    public boolean isExceeded(RequestQueryStatistics.Counts counts) {
+        return counts.statements() > maxStatements || counts.statementTime().compareTo(maxStatementTime) > 0;
+    }
+
+    public String describe(RequestQueryStatistics.Counts counts) {
+        return String.format("%d statements in %d ms (budget %d statements, %d ms)",
+                counts.statements(), counts.statementTime().toMillis(), maxStatements, maxStatementTime.toMillis());
+    }
+}
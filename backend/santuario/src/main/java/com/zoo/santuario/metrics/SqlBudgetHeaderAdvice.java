@@ -0,0 +1,39 @@
+package com.zoo.santuario.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the `X-SQL-Budget-Exceeded` header to a response whose request went over the {@link SqlBudget}.
+ * The header has to be set before the response is written, which is the last point Spring MVC calls out
+ * to the application; the service transaction has committed by then, so the counts are complete. The
+ * CSV/NDJSON exports write straight to the response and only get the log line.
+ */
+@ControllerAdvice
+public class SqlBudgetHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private SqlBudget sqlBudget;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStatistics.Counts counts = RequestQueryStatistics.current();
+        if (counts != null && sqlBudget.isExceeded(counts)) {
+            response.getHeaders().set(SqlBudget.HEADER, sqlBudget.describe(counts));
+        }
+        return body;
+    }
+}
@@ -4,15 +4,21 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 
 @Entity
 @Data
 @NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
-public class Animal {
+public class Animal extends VersionedEntity {
 
+    // CHANGED: Ids come from a pooled table generator (50 per round trip) instead of IDENTITY, which
+    // needs the INSERT to run before the id is known and therefore stops Hibernate from batching inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "animal_id")
+    @TableGenerator(name = "animal_id", table = "id_generator", pkColumnName = "entity", valueColumnName = "next_val",
+            pkColumnValue = "animal", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String name;
@@ -0,0 +1,31 @@
+package com.zoo.santuario.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * One committed change to a row of the five API tables. Rows are written by {@code ChangeLog} in the
+ * same transaction as the change and read by {@code ChangeFeedService}; {@code deleted} marks a tombstone.
+ */
+@Entity
+@Table(name = "change_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    // Position in the log; clients pass the last one they have seen as their sync token.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+    @Column(nullable = false, length = 32)
+    private String entity;
+    @Column(nullable = false)
+    private Long entityId;
+    private boolean deleted;
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+}
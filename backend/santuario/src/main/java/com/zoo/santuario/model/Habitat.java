@@ -4,13 +4,21 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
+// The occupancy updates in HabitatRepository are bulk statements, so Hibernate evicts the cached
+// habitats whenever an animal moves in or out; the other reference entities stay cached until they change.
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
-public class Habitat {
+public class Habitat extends VersionedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +30,10 @@ public class Habitat {
     private int capacity;
     @Column(nullable = false)
     private String status;
+    // Number of animals living here. Only changed by the conditional updates in HabitatRepository,
+    // so saving a Habitat never overwrites it with a stale value.
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int occupancy;
 
     @OneToMany(mappedBy = "habitat")
     private List<Animal> animals;
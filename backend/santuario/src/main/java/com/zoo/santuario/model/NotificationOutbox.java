@@ -0,0 +1,50 @@
+package com.zoo.santuario.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting to be sent. Rows are written in the same transaction as the change that caused
+ * them and delivered later by the {@code NotificationDispatcher}.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    public enum Status {
+        PENDING, // Waiting for its first or next attempt
+        SENT,
+        DEAD     // Gave up; kept with its last error for inspection
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private String recipient;
+    private String recipientName; // Used for the greeting; null on rows queued before digests existed
+    @Column(nullable = false)
+    private String subject;
+    // The message itself, without greeting or sign-off, so that several can share one digest email.
+    @Column(nullable = false, columnDefinition = "longtext")
+    private String body;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+    private int attempts;
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    // While PENDING: not before this time. Claiming a row pushes it forward by the lease, so a row
+    // whose dispatcher died mid-send is picked up again once the lease runs out.
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,28 @@
+package com.zoo.santuario.model;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version and time of the last change of a row, shared by the five entities the API exposes.
+ *
+ * The version is incremented by every update Hibernate makes and checked in its where clause, so two
+ * requests updating the same row from the same state cannot both win; the loser gets a 409. Both values
+ * are returned in the response DTOs, so that clients keeping a copy of the data (see ChangeFeedService)
+ * can tell which of two copies is newer.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class VersionedEntity {
+
+    @Version
+    private Long version;
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
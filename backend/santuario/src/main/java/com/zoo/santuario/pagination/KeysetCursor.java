@@ -0,0 +1,66 @@
+package com.zoo.santuario.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token handed back to clients in the {@code X-Next-Cursor} header.
+ *
+ * It remembers the sort key, the direction and the (sort value, id) pair of the last row
+ * of the previous page, so the next page can be read with a plain "WHERE (key, id) > (last)"
+ * seek instead of an OFFSET that gets slower the deeper the client pages.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final String sortKey;
+    private final Sort.Direction direction;
+    private final long lastId;
+    private final String lastValue;
+
+    public KeysetCursor(String sortKey, Sort.Direction direction, long lastId, String lastValue) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    public String encode() {
+        // The value goes last because it is the only part that may itself contain the separator.
+        String raw = sortKey + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor.");
+            }
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            // Base64, enum and number parsing all fail with IllegalArgumentException subclasses.
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
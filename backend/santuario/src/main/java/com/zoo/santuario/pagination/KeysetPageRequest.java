@@ -0,0 +1,83 @@
+package com.zoo.santuario.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * The paging parameters of a list request after validation: which stable key to sort on,
+ * in which direction, how many rows to return and (optionally) where the previous page ended.
+ */
+public final class KeysetPageRequest {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+    public static final String ID = "id";
+
+    private final String sortKey;
+    private final Sort.Direction direction;
+    private final int limit;
+    private final KeysetCursor cursor;
+
+    private KeysetPageRequest(String sortKey, Sort.Direction direction, int limit, KeysetCursor cursor) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.limit = limit;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Builds a page request from raw query parameters. When a cursor is given it carries the
+     * sort key and direction of the listing it came from; explicit parameters that contradict
+     * it are rejected, since mixing them would silently skip or repeat rows.
+     */
+    public static KeysetPageRequest of(String sort, String direction, Integer limit, String cursor, Set<String> allowedSortKeys) {
+        KeysetCursor decoded = (cursor != null && !cursor.isEmpty()) ? KeysetCursor.decode(cursor) : null;
+
+        String sortKey = sort != null && !sort.isEmpty() ? sort : (decoded != null ? decoded.getSortKey() : ID);
+        if (!allowedSortKeys.contains(sortKey)) {
+            throw new IllegalArgumentException("Unsupported sort key '" + sortKey + "'. Allowed: " + allowedSortKeys);
+        }
+
+        Sort.Direction sortDirection;
+        if (direction != null && !direction.isEmpty()) {
+            sortDirection = Sort.Direction.fromOptionalString(direction)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort direction '" + direction + "'. Use 'asc' or 'desc'."));
+        } else {
+            sortDirection = decoded != null ? decoded.getDirection() : Sort.Direction.ASC;
+        }
+
+        if (decoded != null && (!decoded.getSortKey().equals(sortKey) || decoded.getDirection() != sortDirection)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order.");
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+
+        return new KeysetPageRequest(sortKey, sortDirection, pageSize, decoded);
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public KeysetCursor getCursor() {
+        return cursor;
+    }
+
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, sortKey);
+        // id breaks ties so that rows sharing a sort value keep a total, repeatable order.
+        return ID.equals(sortKey) ? sort : sort.and(Sort.by(direction, ID));
+    }
+}
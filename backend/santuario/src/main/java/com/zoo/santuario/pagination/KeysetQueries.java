@@ -0,0 +1,176 @@
+package com.zoo.santuario.pagination;
+
+import com.zoo.santuario.repository.DtoProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Runs a {@link Specification}-filtered query one keyset page at a time.
+ *
+ * The filter from the service is AND-ed with a seek predicate built from the cursor, the rows are
+ * ordered by (sort key, id) and the query is capped at {@code limit + 1} rows; the extra row only
+ * tells us whether another page exists. The database therefore never reads or returns more than
+ * one page, no matter how large the table is or how deep the client has paged. Rows are selected
+ * straight into DTOs through the repository's {@link DtoProjection}, or read through any other
+ * {@link RowQuery} such as a FetchPlan when relations are expanded.
+ *
+ * {@link #fetchAmong} does the same for rows restricted to a set of ids that is too large for one
+ * {@code IN (...)} list, e.g. the matches of the search index.
+ */
+public final class KeysetQueries {
+
+    private KeysetQueries() {
+    }
+
+    /**
+     * One page of rows, however they are read: the same (filter, sort, limit) query as a DtoProjection's
+     * findAll, e.g. entities read through a FetchPlan and mapped to DTOs.
+     */
+    @FunctionalInterface
+    public interface RowQuery<E, R> {
+        List<R> findAll(Specification<E> spec, Sort sort, int maxResults);
+    }
+
+    public static <E, R> KeysetPage<R> fetch(EntityManager entityManager, DtoProjection<E, R> projection,
+                                             Specification<E> filter, KeysetPageRequest page) {
+        return fetch((spec, sort, maxResults) -> projection.findAll(entityManager, spec, sort, maxResults), filter, page);
+    }
+
+    public static <E, R> KeysetPage<R> fetch(RowQuery<E, R> rowQuery, Specification<E> filter, KeysetPageRequest page) {
+        Specification<E> seek = seekAfter(page);
+        Specification<E> spec = seek == null ? filter : (filter == null ? seek : filter.and(seek));
+
+        List<R> rows = rowQuery.findAll(spec, page.toSort(), page.getLimit() + 1);
+
+        String nextCursor = null;
+        if (rows.size() > page.getLimit()) {
+            rows = rows.subList(0, page.getLimit());
+            nextCursor = cursorAfter(rows.get(rows.size() - 1), page).encode();
+        }
+        return new KeysetPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Like {@link #fetch(RowQuery, Specification, KeysetPageRequest)}, for rows that must also have one of
+     * {@code ids}, which are sent at most {@code idsPerQuery} at a time.
+     *
+     * Sorted by id, the ids are sliced in memory: only those beyond the cursor are considered, and the
+     * first {@code limit + 1} of them usually fill the page in one query. If the filter rejects some,
+     * the following ids are queried until the page is full. For any other sort key, the order is the
+     * database's (collation included), so each slice only contributes its own first {@code limit + 1}
+     * rows, and those candidates are merged by querying them again until they fit into one query.
+     */
+    public static <E, R> KeysetPage<R> fetchAmong(RowQuery<E, R> rowQuery, Specification<E> filter, Collection<Long> ids,
+                                                  int idsPerQuery, KeysetPageRequest page) {
+        Specification<E> seek = seekAfter(page);
+        Specification<E> spec = seek == null ? filter : (filter == null ? seek : filter.and(seek));
+        int wanted = page.getLimit() + 1;
+        // Merging only converges if a slice holds more ids than the rows it can contribute.
+        int sliceSize = Math.max(idsPerQuery, 2 * wanted);
+
+        List<R> rows;
+        if (KeysetPageRequest.ID.equals(page.getSortKey())) {
+            boolean ascending = page.getDirection() == Sort.Direction.ASC;
+            KeysetCursor cursor = page.getCursor();
+            List<Long> remaining = ids.stream()
+                    .filter(id -> cursor == null || (ascending ? id > cursor.getLastId() : id < cursor.getLastId()))
+                    .sorted(ascending ? Comparator.naturalOrder() : Comparator.reverseOrder())
+                    .toList();
+            rows = new ArrayList<>();
+            int from = 0;
+            int count = wanted;
+            while (rows.size() < wanted && from < remaining.size()) {
+                List<Long> slice = remaining.subList(from, Math.min(from + count, remaining.size()));
+                rows.addAll(rowQuery.findAll(withIdIn(spec, slice), page.toSort(), wanted - rows.size()));
+                from += slice.size();
+                count = sliceSize;
+            }
+        } else {
+            List<Long> candidates = List.copyOf(ids);
+            while (candidates.size() > sliceSize) {
+                List<Long> survivors = new ArrayList<>();
+                for (int from = 0; from < candidates.size(); from += sliceSize) {
+                    List<Long> slice = candidates.subList(from, Math.min(from + sliceSize, candidates.size()));
+                    for (R row : rowQuery.findAll(withIdIn(spec, slice), page.toSort(), wanted)) {
+                        survivors.add((Long) new BeanWrapperImpl(row).getPropertyValue(KeysetPageRequest.ID));
+                    }
+                }
+                candidates = survivors;
+            }
+            rows = candidates.isEmpty() ? List.of() : rowQuery.findAll(withIdIn(spec, candidates), page.toSort(), wanted);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > page.getLimit()) {
+            rows = rows.subList(0, page.getLimit());
+            nextCursor = cursorAfter(rows.get(rows.size() - 1), page).encode();
+        }
+        return new KeysetPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Builds the cursor that continues after {@code lastRow}, which must expose the sort key and the
+     * id as bean properties.
+     */
+    public static KeysetCursor cursorAfter(Object lastRow, KeysetPageRequest page) {
+        BeanWrapperImpl row = new BeanWrapperImpl(lastRow);
+        Long id = (Long) row.getPropertyValue(KeysetPageRequest.ID);
+        Object value = row.getPropertyValue(page.getSortKey());
+        return new KeysetCursor(page.getSortKey(), page.getDirection(), id, String.valueOf(value));
+    }
+
+    private static <E> Specification<E> withIdIn(Specification<E> spec, Collection<Long> ids) {
+        Specification<E> idIn = (root, query, criteriaBuilder) -> root.get(KeysetPageRequest.ID).in(ids);
+        return spec == null ? idIn : spec.and(idIn);
+    }
+
+    // All sort keys we allow are non-null columns, so a plain row-value comparison is enough.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Specification<E> seekAfter(KeysetPageRequest page) {
+        KeysetCursor cursor = page.getCursor();
+        if (cursor == null) {
+            return null;
+        }
+        boolean ascending = page.getDirection() == Sort.Direction.ASC;
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> id = root.get(KeysetPageRequest.ID);
+            Predicate idBeyond = ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.getLastId())
+                    : criteriaBuilder.lessThan(id, cursor.getLastId());
+            if (KeysetPageRequest.ID.equals(page.getSortKey())) {
+                return idBeyond;
+            }
+
+            Path<Comparable> key = root.get(page.getSortKey());
+            Comparable lastValue = parse(cursor.getLastValue(), key.getJavaType());
+            Predicate keyBeyond = ascending
+                    ? criteriaBuilder.greaterThan(key, lastValue)
+                    : criteriaBuilder.lessThan(key, lastValue);
+            return criteriaBuilder.or(keyBeyond, criteriaBuilder.and(criteriaBuilder.equal(key, lastValue), idBeyond));
+        };
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable parse(String value, Class<?> type) {
+        try {
+            if (type == int.class || type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == long.class || type == Long.class) {
+                return Long.valueOf(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor value: " + value, e);
+        }
+        return value;
+    }
+}
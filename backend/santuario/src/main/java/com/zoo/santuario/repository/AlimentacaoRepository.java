@@ -1,14 +1,36 @@
 package com.zoo.santuario.repository;
 
+import com.zoo.santuario.dto.AlimentacaoResponseDTO;
 import com.zoo.santuario.model.Alimentacao;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AlimentacaoRepository extends JpaRepository<Alimentacao, Long> {
+public interface AlimentacaoRepository extends JpaRepository<Alimentacao, Long>, JpaSpecificationExecutor<Alimentacao> {
+    DtoProjection<Alimentacao, AlimentacaoResponseDTO> DTO = DtoProjection.of(Alimentacao.class, AlimentacaoResponseDTO.class, root -> new Selection<?>[]{
+            root.get("id"), root.get("planName"), root.get("foodType"), root.get("quantity"), root.get("frequency"),
+            root.get("version"), root.get("updatedAt")
+    }).cacheable();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Alimentacao> findByFoodType(String foodType);
     List<Alimentacao> findByAnimals_Id(Long animalId); 
     List<Alimentacao> findByFoodTypeAndAnimals_Id(String foodType, Long animalId);
-}
\ No newline at end of file
+
+    @Query("select f from Alimentacao f order by f.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Alimentacao> streamAllForExport();
+}
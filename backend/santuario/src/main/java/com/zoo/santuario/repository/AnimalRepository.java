@@ -1,11 +1,74 @@
 package com.zoo.santuario.repository;
 
+import com.zoo.santuario.dto.AnimalResponseDTO;
 import com.zoo.santuario.model.Animal;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface AnimalRepository extends JpaRepository<Animal, Long>, JpaSpecificationExecutor<Animal> {
+    // AnimalResponseDTO columns in constructor order. Reading the id of a to-one association uses the
+    // foreign key column directly, so none of the related tables are joined.
+    DtoProjection<Animal, AnimalResponseDTO> DTO = DtoProjection.of(Animal.class, AnimalResponseDTO.class, root -> new Selection<?>[]{
+            root.get("id"), root.get("name"), root.get("species"), root.get("age"), root.get("sex"),
+            root.get("arrivalDate"), root.get("status"), root.get("image"),
+            root.get("keeper").get("id"), root.get("vet").get("id"),
+            root.get("habitat").get("id"), root.get("feedingPlan").get("id"),
+            root.get("version"), root.get("updatedAt")
+    });
+
     long countByHabitat_Id(Long habitatId);
-}
\ No newline at end of file
+
+    // Delete checks: one count query instead of loading the whole animals collection.
+    long countByKeeper_Id(Long keeperId);
+
+    long countByVet_Id(Long vetId);
+
+    long countByFeedingPlan_Id(Long feedingPlanId);
+
+    // Dashboard: one row per status.
+    @Query("select a.status as status, count(a) as total from Animal a group by a.status")
+    List<StatusCount> countByStatus();
+
+    // Only the columns the in-memory search index needs, so building it never hydrates entities.
+    @Query("select a.id as id, a.name as name, a.species as species from Animal a")
+    List<SearchFields> findAllSearchFields();
+
+    interface SearchFields {
+        Long getId();
+        String getName();
+        String getSpecies();
+    }
+
+    // The columns the in-memory statistics count by. Related ids come from the foreign keys, without joins.
+    @Query("select a.id as id, a.species as species, a.status as status, a.sex as sex, "
+            + "a.habitat.id as habitatId, a.keeper.id as keeperId, a.vet.id as vetId from Animal a")
+    List<StatisticsFields> findAllStatisticsFields();
+
+    interface StatisticsFields {
+        Long getId();
+        String getSpecies();
+        String getStatus();
+        String getSex();
+        Long getHabitatId();
+        Long getKeeperId();
+        Long getVetId();
+    }
+
+    // Used by the export endpoints: a server-side cursor that hands rows over in fetch-size chunks.
+    @Query("select a from Animal a order by a.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Animal> streamAllForExport();
+}
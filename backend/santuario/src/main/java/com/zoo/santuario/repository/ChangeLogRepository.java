@@ -0,0 +1,29 @@
+package com.zoo.santuario.repository;
+
+import com.zoo.santuario.model.ChangeLogEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findBySeqGreaterThanOrderBySeq(long seq, Limit limit);
+
+    @Query("select max(c.seq) from ChangeLogEntry c")
+    Long findNewestSeq();
+
+    @Query("select min(c.seq) from ChangeLogEntry c")
+    Long findOldestSeq();
+
+    // Pruning; the entry at :keep and later ones stay, so the log never becomes empty again.
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.changedAt < :before and c.seq < :keep")
+    int deleteOlderThan(@Param("before") LocalDateTime before, @Param("keep") long keep);
+}
@@ -1,14 +1,44 @@
 package com.zoo.santuario.repository;
 
+import com.zoo.santuario.dto.CuidadorResponseDTO;
 import com.zoo.santuario.model.Cuidador;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CuidadorRepository extends JpaRepository<Cuidador, Long> {
+public interface CuidadorRepository extends JpaRepository<Cuidador, Long>, JpaSpecificationExecutor<Cuidador> {
+    DtoProjection<Cuidador, CuidadorResponseDTO> DTO = DtoProjection.of(Cuidador.class, CuidadorResponseDTO.class, root -> new Selection<?>[]{
+            root.get("id"), root.get("name"), root.get("contact"), root.get("specialty"), root.get("status"), root.get("workShift"),
+            root.get("version"), root.get("updatedAt")
+    }).cacheable();
+
     Optional<Cuidador> findByContact(String contact);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Cuidador> findBySpecialty(String specialty);
-}
\ No newline at end of file
+
+    // Dashboard: one row per status.
+    @Query("select c.status as status, count(c) as total from Cuidador c group by c.status")
+    List<StatusCount> countByStatus();
+
+    // Statistics: every keeper's status, without hydrating the entities.
+    @Query("select c.id as id, c.status as status from Cuidador c")
+    List<EntityStatus> findAllStatuses();
+
+    @Query("select c from Cuidador c order by c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Cuidador> streamAllForExport();
+}
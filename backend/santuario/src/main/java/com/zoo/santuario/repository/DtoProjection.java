@@ -0,0 +1,88 @@
+package com.zoo.santuario.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Selects rows straight into a response DTO with a constructor expression
+ * ({@code select new XxxResponseDTO(e.id, e.name, ...)}).
+ *
+ * No entity is created, put into the persistence context or snapshotted for dirty checking, and
+ * there is no {@code convertToDto} copy afterwards, which is what the read endpoints used to pay
+ * per row. Each repository declares its projection as a {@code DTO} constant listing the columns
+ * in the DTO constructor's order; the services use it for every read.
+ *
+ * Projections of rarely changing tables can be made {@link #cacheable()}: their results are then kept
+ * in Hibernate's query cache and discarded as soon as the table is written to.
+ */
+public final class DtoProjection<E, R> {
+
+    private final Class<E> entityType;
+    private final Class<R> dtoType;
+    private final Function<Root<E>, Selection<?>[]> columns;
+    private final boolean cacheable;
+
+    private DtoProjection(Class<E> entityType, Class<R> dtoType, Function<Root<E>, Selection<?>[]> columns, boolean cacheable) {
+        this.entityType = entityType;
+        this.dtoType = dtoType;
+        this.columns = columns;
+        this.cacheable = cacheable;
+    }
+
+    public static <E, R> DtoProjection<E, R> of(Class<E> entityType, Class<R> dtoType, Function<Root<E>, Selection<?>[]> columns) {
+        return new DtoProjection<>(entityType, dtoType, columns, false);
+    }
+
+    public DtoProjection<E, R> cacheable() {
+        return new DtoProjection<>(entityType, dtoType, columns, true);
+    }
+
+    /**
+     * @param maxResults row limit, or 0 for no limit
+     */
+    public List<R> findAll(EntityManager entityManager, Specification<E> spec, Sort sort, int maxResults) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = criteriaBuilder.createQuery(dtoType);
+        Root<E> root = query.from(entityType);
+        query.select(criteriaBuilder.construct(dtoType, columns.apply(root)));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        TypedQuery<R> typedQuery = entityManager.createQuery(query)
+                // Nothing read here depends on pending changes, so skip the auto-flush check.
+                .setFlushMode(FlushModeType.COMMIT);
+        if (maxResults > 0) {
+            typedQuery.setMaxResults(maxResults);
+        }
+        if (cacheable) {
+            typedQuery.setHint(HibernateHints.HINT_CACHEABLE, true);
+        }
+        return typedQuery.getResultList();
+    }
+
+    public Optional<R> findById(EntityManager entityManager, Long id) {
+        Specification<E> byId = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+        return findAll(entityManager, byId, Sort.unsorted(), 1).stream().findFirst();
+    }
+}
@@ -0,0 +1,9 @@
+package com.zoo.santuario.repository;
+
+/**
+ * The id and status of one row, for the in-memory statistics of keepers and vets.
+ */
+public interface EntityStatus {
+    Long getId();
+    String getStatus();
+}
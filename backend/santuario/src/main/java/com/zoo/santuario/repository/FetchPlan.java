@@ -0,0 +1,104 @@
+package com.zoo.santuario.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Reads entities together with the to-one associations a client asked for (`?expand=keeper,vet`), through
+ * a dynamic entity graph: Hibernate joins every listed association into the same select, so expanding a
+ * page of rows costs one query however many rows and associations there are.
+ *
+ * It mirrors {@link DtoProjection}, which the reads without expansions keep using: the entities are loaded
+ * read-only (no dirty-checking snapshots) and the query skips the auto-flush. Only to-one associations may
+ * be listed; fetching a collection would make Hibernate apply the row limit in memory.
+ */
+public final class FetchPlan<E> {
+
+    private final Class<E> entityType;
+    private final SortedSet<String> associations;
+
+    private FetchPlan(Class<E> entityType, SortedSet<String> associations) {
+        this.entityType = entityType;
+        this.associations = associations;
+    }
+
+    public static <E> FetchPlan<E> of(Class<E> entityType, Set<String> associations) {
+        return new FetchPlan<>(entityType, Collections.unmodifiableSortedSet(new TreeSet<>(associations)));
+    }
+
+    /**
+     * Parses a comma-separated `expand` parameter. Unknown names are rejected with an
+     * IllegalArgumentException (400); null or blank means no expansion.
+     */
+    public static SortedSet<String> parse(String expand, Set<String> allowed) {
+        SortedSet<String> associations = new TreeSet<>();
+        if (expand == null || expand.isBlank()) {
+            return associations;
+        }
+        for (String name : expand.split(",")) {
+            String association = name.trim();
+            if (!allowed.contains(association)) {
+                throw new IllegalArgumentException("Cannot expand '" + association + "'; expandable relations are " + new TreeSet<>(allowed));
+            }
+            associations.add(association);
+        }
+        return associations;
+    }
+
+    public Set<String> associations() {
+        return associations;
+    }
+
+    /**
+     * @param maxResults row limit, or 0 for no limit
+     */
+    public List<E> findAll(EntityManager entityManager, Specification<E> spec, Sort sort, int maxResults) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = criteriaBuilder.createQuery(entityType);
+        Root<E> root = query.from(entityType);
+        query.select(root);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        EntityGraph<E> graph = entityManager.createEntityGraph(entityType);
+        associations.forEach(graph::addAttributeNodes);
+        TypedQuery<E> typedQuery = entityManager.createQuery(query)
+                .setFlushMode(FlushModeType.COMMIT)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, graph)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (maxResults > 0) {
+            typedQuery.setMaxResults(maxResults);
+        }
+        return typedQuery.getResultList();
+    }
+
+    public Optional<E> findById(EntityManager entityManager, Long id) {
+        Specification<E> byId = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+        return findAll(entityManager, byId, Sort.unsorted(), 1).stream().findFirst();
+    }
+}
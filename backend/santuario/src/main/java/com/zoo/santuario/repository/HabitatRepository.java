@@ -1,12 +1,78 @@
 package com.zoo.santuario.repository;
 
+import com.zoo.santuario.dto.HabitatResponseDTO;
 import com.zoo.santuario.model.Habitat;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface HabitatRepository extends JpaRepository<Habitat, Long> {
+public interface HabitatRepository extends JpaRepository<Habitat, Long>, JpaSpecificationExecutor<Habitat> {
+    DtoProjection<Habitat, HabitatResponseDTO> DTO = DtoProjection.of(Habitat.class, HabitatResponseDTO.class, root -> new Selection<?>[]{
+            root.get("id"), root.get("name"), root.get("type"), root.get("capacity"), root.get("status"),
+            root.get("version"), root.get("updatedAt")
+    }).cacheable();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Habitat> findByType(String type);
-}
\ No newline at end of file
+
+    // Takes a place in the habitat if one is free. The check and the increment are one statement, so
+    // concurrent admissions queue on the row lock and can never overfill it. Returns 0 when the habitat
+    // is full or does not exist.
+    @Modifying
+    @Query("update Habitat h set h.occupancy = h.occupancy + 1 where h.id = :id and h.occupancy < h.capacity")
+    int tryAdmit(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Habitat h set h.occupancy = h.occupancy - 1 where h.id = :id and h.occupancy > 0")
+    int release(@Param("id") Long id);
+
+    // Bulk import: the places were already reserved under the lock taken by findAllByIdForUpdate.
+    @Modifying
+    @Query("update Habitat h set h.occupancy = h.occupancy + :animals where h.id = :id")
+    int addOccupancy(@Param("id") Long id, @Param("animals") int animals);
+
+    // Locked in id order so that two imports touching the same habitats cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from Habitat h where h.id in :ids order by h.id")
+    List<Habitat> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Dashboard: one row per status.
+    @Query("select h.status as status, count(h) as total from Habitat h group by h.status")
+    List<StatusCount> countByStatus();
+
+    // Dashboard: every habitat with its number of residents, read from the occupancy counter rather than
+    // counted from the animal table.
+    @Query("select h.id as id, h.name as name, h.status as status, h.capacity as capacity, h.occupancy as residents "
+            + "from Habitat h order by h.id")
+    List<Occupancy> findOccupancy();
+
+    interface Occupancy {
+        Long getId();
+        String getName();
+        String getStatus();
+        Integer getCapacity();
+        Integer getResidents();
+    }
+
+    @Query("select h from Habitat h order by h.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Habitat> streamAllForExport();
+}
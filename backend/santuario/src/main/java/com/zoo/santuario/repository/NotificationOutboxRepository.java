@@ -0,0 +1,36 @@
+package com.zoo.santuario.repository;
+
+import com.zoo.santuario.model.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): several instances can poll at once and each one
+    // only gets rows nobody else has claimed.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from NotificationOutbox n where n.status = com.zoo.santuario.model.NotificationOutbox.Status.PENDING "
+            + "and n.nextAttemptAt <= :now order by n.nextAttemptAt")
+    List<NotificationOutbox> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // First-attempt notifications of these recipients that are still inside their digest window.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from NotificationOutbox n where n.status = com.zoo.santuario.model.NotificationOutbox.Status.PENDING "
+            + "and n.attempts = 0 and n.recipient in :recipients and n.nextAttemptAt > :now order by n.id")
+    List<NotificationOutbox> findWaitingForRecipientsForUpdate(@Param("recipients") Collection<String> recipients,
+                                                               @Param("now") LocalDateTime now, Pageable pageable);
+}
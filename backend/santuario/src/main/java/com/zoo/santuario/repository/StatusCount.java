@@ -0,0 +1,9 @@
+package com.zoo.santuario.repository;
+
+/**
+ * One row of a `group by status` count, shared by the dashboard queries of every entity with a status.
+ */
+public interface StatusCount {
+    String getStatus();
+    Long getTotal();
+}
@@ -1,12 +1,42 @@
 package com.zoo.santuario.repository;
 
+import com.zoo.santuario.dto.VeterinarioResponseDTO;
 import com.zoo.santuario.model.Veterinario;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface VeterinarioRepository extends JpaRepository<Veterinario, Long> {
+public interface VeterinarioRepository extends JpaRepository<Veterinario, Long>, JpaSpecificationExecutor<Veterinario> {
+    DtoProjection<Veterinario, VeterinarioResponseDTO> DTO = DtoProjection.of(Veterinario.class, VeterinarioResponseDTO.class, root -> new Selection<?>[]{
+            root.get("id"), root.get("name"), root.get("crmv"), root.get("specialty"), root.get("status"),
+            root.get("version"), root.get("updatedAt")
+    }).cacheable();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Veterinario> findBySpecialty(String specialty);
-}
\ No newline at end of file
+
+    // Dashboard: one row per status.
+    @Query("select v.status as status, count(v) as total from Veterinario v group by v.status")
+    List<StatusCount> countByStatus();
+
+    // Statistics: every vet's status, without hydrating the entities.
+    @Query("select v.id as id, v.status as status from Veterinario v")
+    List<EntityStatus> findAllStatuses();
+
+    @Query("select v from Veterinario v order by v.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Veterinario> streamAllForExport();
+}
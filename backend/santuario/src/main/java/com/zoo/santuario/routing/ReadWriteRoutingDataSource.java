@@ -0,0 +1,44 @@
+package com.zoo.santuario.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * --- How It Works ---
+ *
+ * 1.  The target is chosen when a connection is actually needed. Wrapped in a
+ * `LazyConnectionDataSourceProxy` (see `DataSourceRoutingConfig`), that is the first statement of the
+ * transaction, by which time Spring has recorded whether the transaction is read-only.
+ *
+ * 2.  `@Transactional(readOnly = true)` work (every `get*` service method and the exports) goes to
+ * the replica, unless the request comes from a client inside its read-your-writes window
+ * ({@link ReadYourWrites}).
+ *
+ * 3.  Read-write transactions, and work outside any transaction (Flyway, the search index rebuild),
+ * always go to the primary.
+ *
+ * 4.  Replica-routed transactions bypass Hibernate's second-level and query caches
+ * ({@link ReplicaCacheModeListener}), so a lagging replica cannot leave stale rows there.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    /**
+     * Where the current transaction's statements go; also used by {@link ReplicaCacheModeListener}.
+     */
+    public static Route currentRoute() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadYourWrites.isActive()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+}
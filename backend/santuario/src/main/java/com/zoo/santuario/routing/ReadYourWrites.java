@@ -0,0 +1,27 @@
+package com.zoo.santuario.routing;
+
+/**
+ * Marks the request being handled on this thread as coming from a client that wrote recently, so
+ * that its reads go to the primary even inside read-only transactions.
+ *
+ * Set and cleared by {@link ReadYourWritesFilter}; read by {@link ReadWriteRoutingDataSource}.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    static void activate() {
+        ACTIVE.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        ACTIVE.remove();
+    }
+}
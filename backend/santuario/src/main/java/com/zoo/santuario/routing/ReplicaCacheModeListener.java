@@ -0,0 +1,65 @@
+package com.zoo.santuario.routing;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Keeps what a lagging replica returns out of Hibernate's second-level and query caches.
+ *
+ * The query cache stamps a result with the time its transaction started. A replica read that starts just
+ * after a commit on the primary, but still sees the data from before it, would be cached as up to date and
+ * served, for up to the region's TTL, even to the requests {@link ReadYourWrites} sends to the primary,
+ * because the cache is consulted before any connection is taken.
+ *
+ * Transactions routed to the replica therefore run with {@link CacheMode#IGNORE}. {@link CacheMode#GET}
+ * is not enough: on a query cache miss Hibernate 6.6 still stores the result under the key it looked up.
+ * The previous modes are restored when the transaction completes, since with open-in-view the session
+ * outlives it.
+ */
+public class ReplicaCacheModeListener implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReplicaCacheModeListener(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || ReadWriteRoutingDataSource.currentRoute() != ReadWriteRoutingDataSource.Route.REPLICA
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null) {
+            return;
+        }
+        // Set as properties rather than Session.setCacheMode: the session copies them into every query it
+        // creates, where they would override its cache mode.
+        Map<String, Object> properties = entityManager.getProperties();
+        Object previousRetrieveMode = properties.getOrDefault(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.USE);
+        Object previousStoreMode = properties.getOrDefault(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.USE);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (entityManager.isOpen()) {
+                    entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, previousRetrieveMode);
+                    entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, previousStoreMode);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,271 @@
+package com.zoo.santuario.search;
+
+import com.zoo.santuario.event.AnimalChangedEvent;
+import com.zoo.santuario.repository.AnimalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over {@code Animal.name} and {@code Animal.species}.
+ *
+ * --- Why ---
+ * A {@code LIKE '%x%'} filter cannot use a B-tree index, so every keystroke in the dashboard
+ * filter used to scan the whole {@code animal} table. It also compared raw strings, so typing
+ * "leao" never found "Leão".
+ *
+ * --- How It Works ---
+ * 1.  Both fields are folded (accents stripped, lower-cased) and split into overlapping
+ *     three-character grams. Each gram points to the set of animal ids containing it.
+ * 2.  A name query is folded the same way; the posting sets of its grams are intersected
+ *     (smallest first) and the survivors are checked against the stored folded text, so the
+ *     result is exact substring matching. Queries shorter than three characters are answered
+ *     by scanning the stored folded names, which is still memory-only.
+ * 3.  A species query keeps its old equality semantics, only accent- and case-insensitive.
+ * 4.  The index is built once the application is ready and is then kept current by the
+ *     {@code AnimalChangedEvent}s the services publish, applied once their transaction has
+ *     committed. A periodic rebuild picks up changes written by other instances of the application.
+ *     It builds a fresh set of maps off to the side and publishes it with one volatile write, so a
+ *     search running meanwhile keeps reading the previous, complete index.
+ *
+ * The caller turns the returned ids into a primary-key {@code IN (...)} predicate.
+ */
+@Component
+public class AnimalSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnimalSearchIndex.class);
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int GRAM = 3;
+
+    private record Document(String name, String species) {
+    }
+
+    // One published generation of the index. Incremental updates mutate its concurrent maps in place;
+    // a rebuild replaces the whole holder.
+    private record Snapshot(Map<Long, Document> documents, Map<String, Set<Long>> nameGrams, Map<String, Set<Long>> speciesGrams) {
+
+        Snapshot() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    private volatile Snapshot snapshot = new Snapshot();
+    // Writers are serialized so that the remove-then-add of an update is never interleaved.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Non-null while a rebuild is reading the table: id -> {name, species}, or null for a delete.
+    private Map<Long, String[]> changedDuringRebuild;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT5M}", initialDelayString = "${search.index.rebuild-interval:PT5M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Snapshot rebuilt = new Snapshot();
+        for (AnimalRepository.SearchFields row : animalRepository.findAllSearchFields()) {
+            add(rebuilt, row.getId(), row.getName(), row.getSpecies());
+        }
+
+        writeLock.lock();
+        try {
+            // Re-apply writes that raced with the read above, they may be newer than the rows read.
+            changedDuringRebuild.forEach((id, fields) -> {
+                removeDocument(rebuilt, id);
+                if (fields != null) {
+                    add(rebuilt, id, fields[0], fields[1]);
+                }
+            });
+            changedDuringRebuild = null;
+            snapshot = rebuilt;
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Animal search index built with {} animals in {} ms", rebuilt.documents().size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * False until the first build has finished; callers fall back to a database filter meanwhile.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimalChanged(AnimalChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.id());
+        } else {
+            index(event.id(), event.animal().name(), event.animal().species());
+        }
+    }
+
+    public void index(Long id, String name, String species) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            removeDocument(current, id);
+            add(current, id, name, species);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, new String[]{name, species});
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        writeLock.lock();
+        try {
+            removeDocument(snapshot, id);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, null);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the animals whose name contains {@code name} and whose species equals
+     * {@code species}, ignoring accents and case. Blank arguments do not restrict the result.
+     */
+    public Set<Long> search(String name, String species) {
+        String foldedName = fold(name);
+        String foldedSpecies = fold(species);
+        Snapshot current = snapshot;
+
+        Set<Long> result = null;
+        if (!foldedSpecies.isEmpty()) {
+            result = filter(current, candidates(current.speciesGrams(), foldedSpecies), doc -> doc.species().equals(foldedSpecies));
+        }
+        if (!foldedName.isEmpty()) {
+            result = filter(current, result != null ? result : candidates(current.nameGrams(), foldedName),
+                    doc -> doc.name().contains(foldedName));
+        }
+        return result != null ? result : Collections.unmodifiableSet(current.documents().keySet());
+    }
+
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static void removeDocument(Snapshot target, Long id) {
+        Document old = target.documents().remove(id);
+        if (old != null) {
+            unpost(target.nameGrams(), id, old.name());
+            unpost(target.speciesGrams(), id, old.species());
+        }
+    }
+
+    private static void add(Snapshot target, Long id, String name, String species) {
+        Document doc = new Document(fold(name), fold(species));
+        post(target.nameGrams(), id, doc.name());
+        post(target.speciesGrams(), id, doc.species());
+        target.documents().put(id, doc);
+    }
+
+    // Returns null when the text is too short to be looked up by gram, meaning "scan everything".
+    private static Set<Long> candidates(Map<String, Set<Long>> postings, String folded) {
+        Set<String> grams = grams(folded);
+        if (grams.isEmpty()) {
+            return null;
+        }
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Set<Long> filter(Snapshot current, Set<Long> candidates, Predicate<Document> matches) {
+        Set<Long> result = new HashSet<>();
+        if (candidates == null) {
+            current.documents().forEach((id, doc) -> {
+                if (matches.test(doc)) {
+                    result.add(id);
+                }
+            });
+            return result;
+        }
+        for (Long id : candidates) {
+            Document doc = current.documents().get(id);
+            if (doc != null && matches.test(doc)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static void post(Map<String, Set<Long>> postings, Long id, String folded) {
+        for (String gram : grams(folded)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void unpost(Map<String, Set<Long>> postings, Long id, String folded) {
+        for (String gram : grams(folded)) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> grams(String folded) {
+        if (folded.length() < GRAM) {
+            return Collections.emptySet();
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
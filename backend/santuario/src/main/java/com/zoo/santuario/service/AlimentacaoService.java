@@ -2,56 +2,77 @@ package com.zoo.santuario.service;
 
 import com.zoo.santuario.dto.AlimentacaoRequestDTO;
 import com.zoo.santuario.dto.AlimentacaoResponseDTO;
+import com.zoo.santuario.event.AlimentacaoChangedEvent;
 import com.zoo.santuario.exception.ResourceNotFoundException;
 import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.pagination.KeysetQueries;
 import com.zoo.santuario.repository.AlimentacaoRepository;
+import com.zoo.santuario.repository.AnimalRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.operations", histogram = true)
 public class AlimentacaoService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
     @Autowired
     private AlimentacaoRepository alimentacaoRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<AlimentacaoResponseDTO> getAllAlimentacoes() {
-        return alimentacaoRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return AlimentacaoRepository.DTO.findAll(entityManager, null, Sort.by("id"), 0);
     }
 
-    // CHANGED: Using the correct repository method names
-    public List<AlimentacaoResponseDTO> getFilteredAlimentacoes(String foodType, Long animalId) {
-        List<Alimentacao> alimentacoes;
-        if (foodType != null && animalId != null) {
-            alimentacoes = alimentacaoRepository.findByFoodTypeAndAnimals_Id(foodType, animalId);
-        } else if (foodType != null) {
-            alimentacoes = alimentacaoRepository.findByFoodType(foodType);
-        } else if (animalId != null) {
-            alimentacoes = alimentacaoRepository.findByAnimals_Id(animalId);
-        } else {
-            alimentacoes = alimentacaoRepository.findAll();
-        }
-        return alimentacoes.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // CHANGED: The filters are now a Specification so they can be combined with keyset pagination.
+    @Transactional(readOnly = true)
+    public KeysetPage<AlimentacaoResponseDTO> getFilteredAlimentacoes(String foodType, Long animalId, KeysetPageRequest page) {
+        Specification<Alimentacao> spec = (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (foodType != null) {
+                predicates.add(criteriaBuilder.equal(root.get("foodType"), foodType));
+            }
+            if (animalId != null) {
+                predicates.add(criteriaBuilder.equal(root.join("animals").get("id"), animalId));
+            }
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+        return KeysetQueries.fetch(entityManager, AlimentacaoRepository.DTO, spec, page);
     }
 
+    @Transactional(readOnly = true)
     public Optional<AlimentacaoResponseDTO> getAlimentacaoById(Long id) {
-        return alimentacaoRepository.findById(id)
-                .map(this::convertToDto);
+        return AlimentacaoRepository.DTO.findById(entityManager, id);
     }
 
+    @Transactional
     public AlimentacaoResponseDTO createAlimentacao(AlimentacaoRequestDTO alimentacaoRequestDTO) {
         Alimentacao alimentacao = convertToEntity(alimentacaoRequestDTO);
         Alimentacao savedAlimentacao = alimentacaoRepository.save(alimentacao);
+        eventPublisher.publishEvent(AlimentacaoChangedEvent.saved(savedAlimentacao.getId()));
         return convertToDto(savedAlimentacao);
     }
 
+    @Transactional
     public Optional<AlimentacaoResponseDTO> updateAlimentacao(Long id, AlimentacaoRequestDTO alimentacaoRequestDTO) {
         return alimentacaoRepository.findById(id)
                 .map(existingAlimentacao -> {
@@ -59,31 +80,38 @@ public class AlimentacaoService {
                     existingAlimentacao.setFoodType(alimentacaoRequestDTO.getFoodType());
                     existingAlimentacao.setQuantity(alimentacaoRequestDTO.getQuantity());
                     existingAlimentacao.setFrequency(alimentacaoRequestDTO.getFrequency());
-                    Alimentacao updatedAlimentacao = alimentacaoRepository.save(existingAlimentacao);
+                    Alimentacao updatedAlimentacao = alimentacaoRepository.saveAndFlush(existingAlimentacao);
+                    eventPublisher.publishEvent(AlimentacaoChangedEvent.saved(updatedAlimentacao.getId()));
                     return convertToDto(updatedAlimentacao);
                 });
     }
     
     // CHANGED: Added safe-deletion check
+    @Transactional
     public void deleteAlimentacao(Long id) {
         Alimentacao alimentacao = alimentacaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Feeding plan not found with ID: " + id));
 
-        if (!alimentacao.getAnimals().isEmpty()) {
-            throw new IllegalStateException("Cannot delete feeding plan because it is still in use by " + alimentacao.getAnimals().size() + " animal(s).");
+        // CHANGED: One count query instead of loading the whole animals collection
+        long animals = animalRepository.countByFeedingPlan_Id(id);
+        if (animals > 0) {
+            throw new IllegalStateException("Cannot delete feeding plan because it is still in use by " + animals + " animal(s).");
         }
         
         alimentacaoRepository.delete(alimentacao);
+        eventPublisher.publishEvent(AlimentacaoChangedEvent.deleted(id));
     }
 
-    private AlimentacaoResponseDTO convertToDto(Alimentacao alimentacao) {
+    AlimentacaoResponseDTO convertToDto(Alimentacao alimentacao) {
         // I have removed the now-unused animalId and animalSpecies from the DTO conversion
         return new AlimentacaoResponseDTO(
                 alimentacao.getId(),
                 alimentacao.getPlanName(),
                 alimentacao.getFoodType(),
                 alimentacao.getQuantity(),
-                alimentacao.getFrequency()
+                alimentacao.getFrequency(),
+                alimentacao.getVersion(),
+                alimentacao.getUpdatedAt()
         );
     }
 
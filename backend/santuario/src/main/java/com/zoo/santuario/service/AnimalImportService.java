@@ -0,0 +1,306 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.bulk.CsvReader;
+import com.zoo.santuario.dto.AnimalBatchResultDTO;
+import com.zoo.santuario.dto.AnimalRequestDTO;
+import com.zoo.santuario.event.AnimalChangedEvent;
+import com.zoo.santuario.model.*;
+import com.zoo.santuario.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a whole collection of animals (e.g. a transfer from a partner sanctuary) in one request.
+ *
+ * --- How It Works ---
+ *
+ * 1.  The rows arrive as a JSON array of `AnimalRequestDTO`s or as CSV with the same columns the
+ * CSV export writes (an `id` column is ignored).
+ *
+ * 2.  Instead of the 5-6 lookups `AnimalService.createAnimal` runs per animal, the keepers, vets,
+ * habitats and feeding plans referenced anywhere in the batch are loaded with one `IN` query each.
+ * The habitats are locked (`SELECT ... FOR UPDATE`) so their `occupancy` cannot change underneath
+ * the import, and each habitat's occupancy is raised once at the end by the number of animals it received.
+ *
+ * 3.  Each row is then checked against those maps. Habitat capacity is checked in aggregate: rows
+ * are admitted in order until a habitat is full, and the rest of that habitat's rows are rejected.
+ *
+ * 4.  Valid rows are persisted and flushed every `BATCH_SIZE` rows, so Hibernate sends them as JDBC
+ * batches (ids come from the pooled generator on `Animal`). Invalid rows are skipped and reported
+ * with their position; they do not stop the rest of the batch.
+ *
+ * 5.  Every keeper gets a single email listing all the animals assigned to them, rather than one
+ * email per animal; it goes through the notification outbox like the other keeper emails. An
+ * `AnimalChangedEvent` per animal updates the search index and the statistics after the commit.
+ */
+@Service
+public class AnimalImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnimalImportService.class);
+
+    static final int MAX_ROWS = 10_000;
+    // Kept equal to spring.jpa.properties.hibernate.jdbc.batch_size.
+    static final int BATCH_SIZE = 50;
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of(
+            "name", "species", "age", "sex", "arrivalDate", "status", "keeperId", "vetId", "habitatId", "feedingPlanId");
+
+    private static final String BATCH_ASSIGNMENT_SUBJECT = "Novos Animais Atribuídos: %d";
+    private static final String BATCH_ASSIGNMENT_BODY = "Os seguintes animais foram atribuídos a você:<br>%s";
+    private static final String BATCH_ASSIGNMENT_LINE = "<b>%s</b> (Espécie: %s)<br>";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private CuidadorRepository cuidadorRepository;
+    @Autowired
+    private HabitatRepository habitatRepository;
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+    @Autowired
+    private AlimentacaoRepository alimentacaoRepository;
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private Validator validator;
+
+    @Transactional
+    public AnimalBatchResultDTO importAnimals(List<AnimalRequestDTO> rows) {
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("A batch may contain at most " + MAX_ROWS + " animals.");
+        }
+        AnimalBatchResultDTO result = new AnimalBatchResultDTO();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) == null) {
+                result.getErrors().add(new AnimalBatchResultDTO.RowError(i + 1, "Row is empty (null)."));
+            }
+        }
+        return importRows(rows, result);
+    }
+
+    @Transactional
+    public AnimalBatchResultDTO importAnimalsCsv(Reader csv) {
+        AnimalBatchResultDTO result = new AnimalBatchResultDTO();
+        List<AnimalRequestDTO> rows;
+        try {
+            rows = parseCsv(new CsvReader(new BufferedReader(csv)), result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the CSV upload", e);
+        }
+        return importRows(rows, result);
+    }
+
+    // Rows that already failed to parse are null; their error is already in the result.
+    private AnimalBatchResultDTO importRows(List<AnimalRequestDTO> rows, AnimalBatchResultDTO result) {
+        logger.info("Starting import of {} animals", rows.size());
+        result.setReceived(rows.size());
+
+        List<AnimalRequestDTO> parsed = rows.stream().filter(Objects::nonNull).toList();
+        Map<Long, Cuidador> keepers = loadById(parsed, AnimalRequestDTO::getKeeperId, cuidadorRepository::findAllById, Cuidador::getId);
+        Map<Long, Habitat> habitats = loadById(parsed, AnimalRequestDTO::getHabitatId, habitatRepository::findAllByIdForUpdate, Habitat::getId);
+        Map<Long, Veterinario> vets = loadById(parsed, AnimalRequestDTO::getVetId, veterinarioRepository::findAllById, Veterinario::getId);
+        Map<Long, Alimentacao> feedingPlans = loadById(parsed, AnimalRequestDTO::getFeedingPlanId, alimentacaoRepository::findAllById, Alimentacao::getId);
+
+        Map<Long, Long> freePlaces = new HashMap<>();
+        habitats.values().forEach(habitat -> freePlaces.put(habitat.getId(), (long) habitat.getCapacity() - habitat.getOccupancy()));
+
+        List<Animal> created = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            AnimalRequestDTO dto = rows.get(i);
+            if (dto == null) {
+                continue;
+            }
+            List<String> problems = validate(dto, keepers, habitats, vets, feedingPlans);
+            Habitat habitat = habitats.get(dto.getHabitatId());
+            if (problems.isEmpty() && freePlaces.get(habitat.getId()) <= 0) {
+                problems.add("Habitat " + habitat.getName() + " (ID: " + habitat.getId() + ") has reached its maximum capacity.");
+            }
+            if (!problems.isEmpty()) {
+                result.getErrors().add(new AnimalBatchResultDTO.RowError(i + 1, String.join("; ", problems)));
+                continue;
+            }
+            freePlaces.merge(habitat.getId(), -1L, Long::sum);
+
+            Animal animal = new Animal();
+            animal.setName(dto.getName());
+            animal.setSpecies(dto.getSpecies());
+            animal.setAge(dto.getAge());
+            animal.setSex(dto.getSex());
+            animal.setArrivalDate(dto.getArrivalDate());
+            animal.setStatus(dto.getStatus());
+            animal.setImage(dto.getImage());
+            animal.setKeeper(keepers.get(dto.getKeeperId()));
+            animal.setHabitat(habitat);
+            animal.setVet(vets.get(dto.getVetId()));
+            animal.setFeedingPlan(feedingPlans.get(dto.getFeedingPlanId()));
+            entityManager.persist(animal);
+            created.add(animal);
+
+            // Send the queued INSERTs as one batch and let go of the entities already written.
+            if (created.size() % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        created.stream()
+                .collect(Collectors.groupingBy(animal -> animal.getHabitat().getId(), Collectors.counting()))
+                .forEach((habitatId, animals) -> habitatRepository.addOccupancy(habitatId, animals.intValue()));
+
+        created.forEach(animal -> result.getCreatedIds().add(animal.getId()));
+        result.setImported(created.size());
+        result.getErrors().sort(Comparator.comparingInt(AnimalBatchResultDTO.RowError::getRow));
+        logger.info("Imported {} of {} animals, {} rows rejected", result.getImported(), result.getReceived(), result.getErrors().size());
+
+        notifyKeepers(created);
+        created.forEach(animal -> eventPublisher.publishEvent(AnimalChangedEvent.saved(animal)));
+        return result;
+    }
+
+    private List<String> validate(AnimalRequestDTO dto, Map<Long, Cuidador> keepers, Map<Long, Habitat> habitats,
+                                  Map<Long, Veterinario> vets, Map<Long, Alimentacao> feedingPlans) {
+        List<String> problems = new ArrayList<>();
+        validator.validate(dto).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .forEach(problems::add);
+
+        if (dto.getKeeperId() == null) {
+            problems.add("Animal must have a caretaker associated.");
+        } else if (!keepers.containsKey(dto.getKeeperId())) {
+            problems.add("Keeper not found with ID: " + dto.getKeeperId());
+        }
+        if (dto.getHabitatId() == null) {
+            problems.add("Habitat is required.");
+        } else if (!habitats.containsKey(dto.getHabitatId())) {
+            problems.add("Habitat not found with ID: " + dto.getHabitatId());
+        }
+        if (dto.getVetId() == null) {
+            problems.add("Vet is required.");
+        } else if (!vets.containsKey(dto.getVetId())) {
+            problems.add("Vet not found with ID: " + dto.getVetId());
+        }
+        if (dto.getFeedingPlanId() == null) {
+            problems.add("Feeding plan is required.");
+        } else if (!feedingPlans.containsKey(dto.getFeedingPlanId())) {
+            problems.add("Feeding plan not found with ID: " + dto.getFeedingPlanId());
+        }
+        return problems;
+    }
+
+    private <E> Map<Long, E> loadById(List<AnimalRequestDTO> rows, Function<AnimalRequestDTO, Long> reference,
+                                      Function<Set<Long>, List<E>> finder, Function<E, Long> idOf) {
+        Set<Long> ids = rows.stream().map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return finder.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private List<AnimalRequestDTO> parseCsv(CsvReader reader, AnimalBatchResultDTO result) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV upload is empty.");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).trim(), i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(column -> !positions.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("The CSV header is missing the column(s): " + String.join(", ", missing));
+        }
+
+        List<AnimalRequestDTO> rows = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (rows.size() == MAX_ROWS) {
+                throw new IllegalArgumentException("A batch may contain at most " + MAX_ROWS + " animals.");
+            }
+            int row = rows.size() + 1;
+            if (record.size() != header.size()) {
+                result.getErrors().add(new AnimalBatchResultDTO.RowError(row,
+                        "Expected " + header.size() + " fields but found " + record.size() + "."));
+                rows.add(null);
+                continue;
+            }
+            try {
+                rows.add(toDto(record, positions));
+            } catch (IllegalArgumentException e) {
+                result.getErrors().add(new AnimalBatchResultDTO.RowError(row, e.getMessage()));
+                rows.add(null);
+            }
+        }
+        return rows;
+    }
+
+    private AnimalRequestDTO toDto(List<String> record, Map<String, Integer> positions) {
+        Function<String, String> field = column -> {
+            Integer position = positions.get(column);
+            String value = position == null ? "" : record.get(position).trim();
+            return value.isEmpty() ? null : value;
+        };
+        AnimalRequestDTO dto = new AnimalRequestDTO();
+        dto.setName(field.apply("name"));
+        dto.setSpecies(field.apply("species"));
+        Long age = parseNumber("age", field.apply("age"));
+        if (age != null && (age < Integer.MIN_VALUE || age > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Column age is out of range: '" + age + "'.");
+        }
+        dto.setAge(age == null ? 0 : age.intValue());
+        dto.setSex(field.apply("sex"));
+        dto.setArrivalDate(field.apply("arrivalDate"));
+        dto.setStatus(field.apply("status"));
+        dto.setImage(field.apply("image"));
+        dto.setKeeperId(parseNumber("keeperId", field.apply("keeperId")));
+        dto.setVetId(parseNumber("vetId", field.apply("vetId")));
+        dto.setHabitatId(parseNumber("habitatId", field.apply("habitatId")));
+        dto.setFeedingPlanId(parseNumber("feedingPlanId", field.apply("feedingPlanId")));
+        return dto;
+    }
+
+    private Long parseNumber(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Column " + column + " is not a whole number: '" + value + "'.");
+        }
+    }
+
+    private void notifyKeepers(List<Animal> created) {
+        Map<Long, List<Animal>> byKeeper = created.stream()
+                .collect(Collectors.groupingBy(animal -> animal.getKeeper().getId(), LinkedHashMap::new, Collectors.toList()));
+        byKeeper.forEach((keeperId, animals) -> {
+            Cuidador keeper = animals.get(0).getKeeper();
+            String lines = animals.stream()
+                    .map(animal -> String.format(BATCH_ASSIGNMENT_LINE, animal.getName(), animal.getSpecies()))
+                    .collect(Collectors.joining());
+            notificationOutboxService.enqueue(keeper.getContact(), keeper.getName(),
+                    String.format(BATCH_ASSIGNMENT_SUBJECT, animals.size()),
+                    String.format(BATCH_ASSIGNMENT_BODY, lines));
+            logger.info("Batch assignment email for {} animals queued for keeper {}", animals.size(), keeper.getName());
+        });
+    }
+}
@@ -2,21 +2,39 @@ package com.zoo.santuario.service;
 
 import com.zoo.santuario.dto.AnimalRequestDTO;
 import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.dto.FeedingPlanSummaryDTO;
+import com.zoo.santuario.dto.HabitatSummaryDTO;
+import com.zoo.santuario.dto.StaffSummaryDTO;
+import com.zoo.santuario.event.AnimalChangedEvent;
 import com.zoo.santuario.exception.CaretakerRequiredException;
 import com.zoo.santuario.exception.HabitatCapacityExceededException;
 import com.zoo.santuario.exception.ResourceNotFoundException;
 import com.zoo.santuario.model.*; // CHANGED: Import all models for type safety
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.pagination.KeysetQueries;
 import com.zoo.santuario.repository.*; // CHANGED: Import all repositories
+import com.zoo.santuario.search.AnimalSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * This service class acts as the brain for all operations involving animals.
@@ -29,10 +47,13 @@ import java.util.stream.Collectors;
  * (e.g., `createAnimal`, `updateAnimal`). These methods manage the entire workflow.
  *
  * 2.  Business Rule Validation:  Before making changes, it enforces key rules using private helper methods. For example,
- * `validateHabitatCapacity` checks if a habitat is full, and other checks ensure an
+ * `moveBetweenHabitats` takes a place in the new habitat with one conditional update of its `occupancy` column and
+ * gives back the place in the old one (so two concurrent creates can never overfill a habitat), and other checks ensure an
  * animal always has a keeper assigned.
  *
  * 3.  Database Operations: It uses the `AnimalRepository` with JPA to save, update, delete, and find animal data in the database.
+ * Every write also publishes an `AnimalChangedEvent`, which keeps the search index and the statistics current once the
+ * transaction commits.
  *
  * 4.  Email Notification Workflow:
  * This is a key feature. After a successful database change (create, update, or delete),
@@ -40,17 +61,21 @@ import java.util.stream.Collectors;
  * - The main method calls a specific helper `handleUpdateNotifications`.
  * - It analyzes the situation, decides who needs an email (the new keeper, the old keeper, or both), and determines what message they should get.
  * - It then calls the generic `sendKeeperNotification` method, providing the correct email template.
- * - Finally, `sendKeeperNotification` finds the keeper's contact info and tells the external `EmailService` to send the actual email.
+ * - Finally, `sendKeeperNotification` writes the email to the notification outbox in the same transaction as the change.
+ *   The `NotificationDispatcher` sends it in the background, so the request never waits for SendGrid.
  */
 @Service
+@Timed(value = "service.operations", histogram = true)
 public class AnimalService {
 
     private static final Logger logger = LoggerFactory.getLogger(AnimalService.class);
 
+    @PersistenceContext
+    private EntityManager entityManager;
     @Autowired
     private AnimalRepository animalRepository;
     @Autowired
-    private EmailService emailService;
+    private NotificationOutboxService notificationOutboxService;
     @Autowired
     private CuidadorRepository cuidadorRepository;
     @Autowired
@@ -59,33 +84,82 @@ public class AnimalService {
     private VeterinarioRepository veterinarioRepository;
     @Autowired
     private AlimentacaoRepository alimentacaoRepository;
+    @Autowired
+    private AnimalSearchIndex animalSearchIndex;
+    // Above this many index matches a single primary-key IN list costs more than it saves (one bind parameter
+    // per id, and MySQL caps a statement at 65,535), so the ids are sliced per page (see KeysetQueries.fetchAmong).
+    @Value("${search.index.max-id-predicate:1000}")
+    private int maxIdPredicate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    // Email templates for sending notifications
-    private static final String EMAIL_GREETING = "Prezado(a) %s,<br><br>";
-    private static final String EMAIL_SIGN_OFF = "<br><br>Atenciosamente,<br>Gerência do Zoológico";
-    private static final String NEW_ASSIGNMENT_BODY = EMAIL_GREETING + "Um novo animal, <b>%s</b> (Espécie: %s), foi atribuído a você." + EMAIL_SIGN_OFF;
-    private static final String UPDATE_DETAILS_BODY = EMAIL_GREETING + "Os detalhes do animal <b>%s</b> (Espécie: %s), atribuído a você, foram atualizados." + EMAIL_SIGN_OFF;
-    private static final String UNASSIGNMENT_BODY = EMAIL_GREETING + "O animal <b>%s</b> (Espécie: %s) foi desatribuído de você." + EMAIL_SIGN_OFF;
-    private static final String DELETED_BODY = EMAIL_GREETING + "O animal <b>%s</b> (Espécie: %s), que estava atribuído a você, foi removido do sistema." + EMAIL_SIGN_OFF;
+    // Email templates for sending notifications. The greeting and sign-off are added by the
+    // NotificationDispatcher, which may combine several of these into one digest email.
+    static final String NEW_ASSIGNMENT_BODY = "Um novo animal, <b>%s</b> (Espécie: %s), foi atribuído a você.";
+    static final String UPDATE_DETAILS_BODY = "Os detalhes do animal <b>%s</b> (Espécie: %s), atribuído a você, foram atualizados.";
+    static final String UNASSIGNMENT_BODY = "O animal <b>%s</b> (Espécie: %s) foi desatribuído de você.";
+    static final String DELETED_BODY = "O animal <b>%s</b> (Espécie: %s), que estava atribuído a você, foi removido do sistema.";
 
+    @Transactional(readOnly = true)
     public List<AnimalResponseDTO> getAllAnimals() {
         logger.debug("Fetching all animals");
-        List<AnimalResponseDTO> animals = animalRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<AnimalResponseDTO> animals = AnimalRepository.DTO.findAll(entityManager, null, Sort.by("id"), 0);
         logger.debug("Found {} animals", animals.size());
         return animals;
     }
 
     //This code uses a criteriaBuilder to create individual filter rules, called Predicates, and adds them to a list only for the search terms that aren't empty
     //Finally, it combines all the rules in the list with AND to build a safe, dynamic database query.
-    public List<AnimalResponseDTO> getFilteredAnimals(String species, Integer ageMin, Integer ageMax, String name) {
-        logger.debug("Fetching filtered animals with species: {}, ageMin: {}, ageMax: {}, name: {}", species, ageMin, ageMax, name);
-        Specification<Animal> spec = (root, query, criteriaBuilder) -> {
+    //The result is read one keyset page at a time (see KeysetQueries), so a single request never loads the whole table.
+    //Expanded relations (see FetchPlan) are joined into the same query.
+    @Transactional(readOnly = true)
+    public KeysetPage<AnimalResponseDTO> getFilteredAnimals(String species, Integer ageMin, Integer ageMax, String name, KeysetPageRequest page,
+                                                            Set<String> expand) {
+        logger.debug("Fetching filtered animals with species: {}, ageMin: {}, ageMax: {}, name: {}, sort: {} {}, limit: {}",
+                species, ageMin, ageMax, name, page.getSortKey(), page.getDirection(), page.getLimit());
+        // Name and species are resolved by the in-memory trigram index (accent- and case-insensitive), so the
+        // database only has to do a primary-key lookup. Until the index is built we fall back to the SQL filters.
+        boolean textFilter = (species != null && !species.isEmpty()) || (name != null && !name.isEmpty());
+        Set<Long> matchingIds = textFilter && animalSearchIndex.isReady() ? animalSearchIndex.search(name, species) : null;
+        if (matchingIds != null && matchingIds.isEmpty()) {
+            logger.debug("Search index found no animals for name: {}, species: {}", name, species);
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        KeysetQueries.RowQuery<Animal, AnimalResponseDTO> rows;
+        if (expand.isEmpty()) {
+            rows = (filter, sort, maxResults) -> AnimalRepository.DTO.findAll(entityManager, filter, sort, maxResults);
+        } else {
+            FetchPlan<Animal> plan = FetchPlan.of(Animal.class, expand);
+            rows = (filter, sort, maxResults) -> plan.findAll(entityManager, filter, sort, maxResults).stream()
+                    .map(animal -> convertToDto(animal, expand))
+                    .toList();
+        }
+        KeysetPage<AnimalResponseDTO> animals;
+        if (matchingIds != null && matchingIds.size() > maxIdPredicate) {
+            logger.debug("Search index matched {} animals, slicing them per page", matchingIds.size());
+            animals = KeysetQueries.fetchAmong(rows, filterSpecification(null, null, null, ageMin, ageMax), matchingIds, maxIdPredicate, page);
+        } else {
+            animals = KeysetQueries.fetch(rows, filterSpecification(matchingIds, species, name, ageMin, ageMax), page);
+        }
+        logger.debug("Found {} filtered animals (more pages: {})", animals.getItems().size(), animals.hasNext());
+        return animals;
+    }
+
+    // The filter of getFilteredAnimals; matchingIds, when not null, replaces the species and name filters.
+    static Specification<Animal> filterSpecification(Set<Long> matchingIds, String species, String name, Integer ageMin, Integer ageMax) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            if (species != null && !species.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("species"), species));
+            if (matchingIds != null) {
+                predicates.add(root.get("id").in(matchingIds));
+            } else {
+                if (species != null && !species.isEmpty()) {
+                    predicates.add(criteriaBuilder.equal(root.get("species"), species));
+                }
+                if (name != null && !name.isEmpty()) {
+                    predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
+                }
             }
             if (ageMin != null) {
                 predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("age"), ageMin));
@@ -93,24 +167,55 @@ public class AnimalService {
             if (ageMax != null) {
                 predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("age"), ageMax));
             }
-            if (name != null && !name.isEmpty()) {
-                predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), "%" + name.toLowerCase() + "%"));
-            }
 
             return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
         };
+    }
 
-        List<Animal> animals = animalRepository.findAll(spec);
-        logger.debug("Found {} filtered animals", animals.size());
-        return animals.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    // The residents of one keeper, vet, habitat or feeding plan, one keyset page at a time. The filter compares the
+    // foreign key column (no join), so in id order the (foreign key, id) indexes serve the page directly.
+    @Transactional(readOnly = true)
+    public KeysetPage<AnimalResponseDTO> getAnimalsByKeeper(Long keeperId, KeysetPageRequest page) {
+        return getAnimalsByRelation("keeper", keeperId, page, cuidadorRepository, "Keeper");
     }
 
-    public AnimalResponseDTO getAnimalById(Long id) {
-        logger.debug("Fetching animal with ID: {}", id);
-        return animalRepository.findById(id)
-                .map(this::convertToDto)
+    @Transactional(readOnly = true)
+    public KeysetPage<AnimalResponseDTO> getAnimalsByVet(Long vetId, KeysetPageRequest page) {
+        return getAnimalsByRelation("vet", vetId, page, veterinarioRepository, "Vet");
+    }
+
+    // Served by idx_animal_habitat_id (V2). Its comment still names countByHabitat_Id, which the occupancy counter has
+    // replaced; today the index serves this listing and the fk_animal_habitat check when a habitat is deleted.
+    @Transactional(readOnly = true)
+    public KeysetPage<AnimalResponseDTO> getAnimalsByHabitat(Long habitatId, KeysetPageRequest page) {
+        return getAnimalsByRelation("habitat", habitatId, page, habitatRepository, "Habitat");
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<AnimalResponseDTO> getAnimalsByFeedingPlan(Long feedingPlanId, KeysetPageRequest page) {
+        return getAnimalsByRelation("feedingPlan", feedingPlanId, page, alimentacaoRepository, "Feeding plan");
+    }
+
+    private KeysetPage<AnimalResponseDTO> getAnimalsByRelation(String relation, Long relatedId, KeysetPageRequest page,
+                                                               JpaRepository<?, Long> relatedRepository, String relatedName) {
+        logger.debug("Fetching animals of {} {} (sort: {} {}, limit: {})", relation, relatedId, page.getSortKey(), page.getDirection(), page.getLimit());
+        Specification<Animal> spec = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get(relation).get("id"), relatedId);
+        KeysetPage<AnimalResponseDTO> animals = KeysetQueries.fetch(entityManager, AnimalRepository.DTO, spec, page);
+        // An empty page may mean the parent does not exist; only then is it looked up.
+        if (animals.getItems().isEmpty() && !relatedRepository.existsById(relatedId)) {
+            logger.warn("{} not found with ID: {}", relatedName, relatedId);
+            throw new ResourceNotFoundException(relatedName + " not found with ID: " + relatedId);
+        }
+        return animals;
+    }
+
+    @Transactional(readOnly = true)
+    public AnimalResponseDTO getAnimalById(Long id, Set<String> expand) {
+        logger.debug("Fetching animal with ID: {} (expand: {})", id, expand);
+        Optional<AnimalResponseDTO> animal = expand.isEmpty()
+                ? AnimalRepository.DTO.findById(entityManager, id)
+                : FetchPlan.of(Animal.class, expand).findById(entityManager, id).map(found -> convertToDto(found, expand));
+        return animal
                 .orElseThrow(() -> {
                     logger.warn("Animal not found with ID: {}", id);
                     return new ResourceNotFoundException("Animal not found with ID: " + id);
@@ -118,6 +223,7 @@ public class AnimalService {
     }
 
     // CHANGED: This method is updated to fetch related objects before saving.
+    @Transactional
     public AnimalResponseDTO createAnimal(AnimalRequestDTO dto) {
         logger.info("Attempting to create new animal: {}", dto.getName());
         if (dto.getKeeperId() == null) {
@@ -125,13 +231,13 @@ public class AnimalService {
             throw new CaretakerRequiredException("Animal must have a caretaker associated.");
         }
 
-        validateHabitatCapacity(dto.getHabitatId(), null);
+        moveBetweenHabitats(null, dto.getHabitatId());
 
         // Fetch related entities using the IDs from the DTO
         Cuidador keeper = cuidadorRepository.findById(dto.getKeeperId())
                 .orElseThrow(() -> new ResourceNotFoundException("Keeper not found with ID: " + dto.getKeeperId()));
-        Habitat habitat = habitatRepository.findById(dto.getHabitatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Habitat not found with ID: " + dto.getHabitatId()));
+        // The admission above proved the habitat exists; only its id is needed.
+        Habitat habitat = habitatRepository.getReferenceById(dto.getHabitatId());
         Veterinario vet = veterinarioRepository.findById(dto.getVetId())
                 .orElseThrow(() -> new ResourceNotFoundException("Vet not found with ID: " + dto.getVetId()));
         Alimentacao feedingPlan = alimentacaoRepository.findById(dto.getFeedingPlanId())
@@ -153,6 +259,7 @@ public class AnimalService {
 
         Animal savedAnimal = animalRepository.save(animal);
         logger.info("Animal created successfully with ID: {}", savedAnimal.getId());
+        eventPublisher.publishEvent(AnimalChangedEvent.saved(savedAnimal));
 
         String subject = "Novo Animal Atribuído: " + savedAnimal.getName();
         sendKeeperNotification(savedAnimal.getKeeper(), savedAnimal, subject, NEW_ASSIGNMENT_BODY);
@@ -161,6 +268,7 @@ public class AnimalService {
     }
 
     // CHANGED: This method is updated to fetch and set full objects instead of just IDs.
+    @Transactional
     public AnimalResponseDTO updateAnimal(Long id, AnimalRequestDTO dto) {
         logger.info("Attempting to update animal with ID: {}", id);
         return animalRepository.findById(id)
@@ -175,13 +283,13 @@ public class AnimalService {
                     // Store the old keeper object for notification logic
                     Cuidador oldKeeper = existingAnimal.getKeeper();
                     
-                    validateHabitatCapacity(dto.getHabitatId(), existingAnimal.getHabitat().getId());
+                    Long oldHabitatId = existingAnimal.getHabitat() != null ? existingAnimal.getHabitat().getId() : null;
+                    moveBetweenHabitats(oldHabitatId, dto.getHabitatId());
 
                     // Fetch the new related objects
                     Cuidador newKeeper = cuidadorRepository.findById(dto.getKeeperId())
                             .orElseThrow(() -> new ResourceNotFoundException("Keeper not found with ID: " + dto.getKeeperId()));
-                    Habitat newHabitat = habitatRepository.findById(dto.getHabitatId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Habitat not found with ID: " + dto.getHabitatId()));
+                    Habitat newHabitat = dto.getHabitatId() != null ? habitatRepository.getReferenceById(dto.getHabitatId()) : null;
                     Veterinario newVet = veterinarioRepository.findById(dto.getVetId())
                             .orElseThrow(() -> new ResourceNotFoundException("Vet not found with ID: " + dto.getVetId()));
                     Alimentacao newFeedingPlan = alimentacaoRepository.findById(dto.getFeedingPlanId())
@@ -200,8 +308,9 @@ public class AnimalService {
                     existingAnimal.setHabitat(newHabitat);
                     existingAnimal.setFeedingPlan(newFeedingPlan);
                     
-                    Animal updatedAnimal = animalRepository.save(existingAnimal);
+                    Animal updatedAnimal = animalRepository.saveAndFlush(existingAnimal);
                     logger.info("Animal with ID {} updated successfully.", updatedAnimal.getId());
+                    eventPublisher.publishEvent(AnimalChangedEvent.saved(updatedAnimal));
 
                     handleUpdateNotifications(updatedAnimal, oldKeeper);
                     
@@ -213,6 +322,7 @@ public class AnimalService {
                 });
     }
 
+    @Transactional
     public void deleteAnimal(Long id) {
         logger.info("Attempting to delete animal with ID: {}", id);
         Animal animalToDelete = animalRepository.findById(id)
@@ -222,7 +332,11 @@ public class AnimalService {
                 });
 
         animalRepository.deleteById(id);
+        if (animalToDelete.getHabitat() != null) {
+            habitatRepository.release(animalToDelete.getHabitat().getId());
+        }
         logger.info("Animal with ID {} deleted successfully.", id);
+        eventPublisher.publishEvent(AnimalChangedEvent.deleted(id));
 
         String subject = "Animal Removido: " + animalToDelete.getName();
         // CHANGED: Pass the full keeper object instead of an ID.
@@ -265,32 +379,41 @@ public class AnimalService {
         }
 
         // No longer need to find the keeper, it's passed in directly.
-        logger.info("Cuidador '{}' found for animal: {}. Attempting to send email to {}", keeper.getName(), animal.getName(), keeper.getContact());
-        String body = String.format(bodyTemplate,
-                keeper.getName().replace("%", "%%"),
-                animal.getName().replace("%", "%%"),
-                animal.getSpecies().replace("%", "%%")
-        );
-        emailService.sendAnimalNotificationEmail(keeper.getContact(), subject, body);
-        logger.info("Email notification sent for animal {} to keeper {}", animal.getName(), keeper.getName());
+        logger.info("Cuidador '{}' found for animal: {}. Queueing email to {}", keeper.getName(), animal.getName(), keeper.getContact());
+        String body = formatNotificationBody(bodyTemplate, animal);
+        notificationOutboxService.enqueue(keeper.getContact(), keeper.getName(), subject, body);
+        logger.info("Email notification queued for animal {} to keeper {}", animal.getName(), keeper.getName());
+    }
+
+    static String formatNotificationBody(String bodyTemplate, Animal animal) {
+        return String.format(bodyTemplate, animal.getName(), animal.getSpecies());
     }
 
-    private void validateHabitatCapacity(Long newHabitatId, Long oldHabitatId) {
-        if (newHabitatId != null && !newHabitatId.equals(oldHabitatId)) {
+    // Takes a place in the new habitat and frees the one in the old habitat. Each is a single conditional update on
+    // the habitat row, which both checks and changes the occupancy, so concurrent requests cannot overfill a habitat.
+    // The rows are touched in id order so that two animals swapping habitats cannot deadlock each other.
+    private void moveBetweenHabitats(Long oldHabitatId, Long newHabitatId) {
+        if (Objects.equals(oldHabitatId, newHabitatId)) {
+            return;
+        }
+        if (oldHabitatId != null && (newHabitatId == null || oldHabitatId < newHabitatId)) {
+            habitatRepository.release(oldHabitatId);
+            oldHabitatId = null;
+        }
+        if (newHabitatId != null && habitatRepository.tryAdmit(newHabitatId) == 0) {
             Habitat habitat = habitatRepository.findById(newHabitatId)
                     .orElseThrow(() -> new ResourceNotFoundException("Habitat not found with ID: " + newHabitatId));
-
-            // CHANGED: Use the correct repository method name with the underscore.
-            long currentAnimalsInHabitat = animalRepository.countByHabitat_Id(newHabitatId);
-            if (currentAnimalsInHabitat >= habitat.getCapacity()) {
-                logger.warn("Habitat capacity exceeded for habitat ID: {} (current: {}, capacity: {})", habitat.getId(), currentAnimalsInHabitat, habitat.getCapacity());
-                throw new HabitatCapacityExceededException("Habitat " + habitat.getName() + " (ID: " + habitat.getId() + ") has reached its maximum capacity.");
-            }
-            logger.debug("Habitat capacity check passed for habitat ID: {}", habitat.getId());
+            logger.warn("Habitat capacity exceeded for habitat ID: {} (current: {}, capacity: {})", habitat.getId(), habitat.getOccupancy(), habitat.getCapacity());
+            throw new HabitatCapacityExceededException("Habitat " + habitat.getName() + " (ID: " + habitat.getId() + ") has reached its maximum capacity.");
         }
+        if (oldHabitatId != null) {
+            habitatRepository.release(oldHabitatId);
+        }
+        logger.debug("Habitat capacity check passed for habitat ID: {}", newHabitatId);
     }
 
-    private AnimalResponseDTO convertToDto(Animal animal) {
+    // The mappers, filter and message formatting are package-private so that santuario-benchmarks can measure them.
+    AnimalResponseDTO convertToDto(Animal animal) {
         return new AnimalResponseDTO(
                 animal.getId(),
                 animal.getName(),
@@ -303,7 +426,32 @@ public class AnimalService {
                 animal.getKeeper() != null ? animal.getKeeper().getId() : null,
                 animal.getVet() != null ? animal.getVet().getId() : null,
                 animal.getHabitat() != null ? animal.getHabitat().getId() : null,
-                animal.getFeedingPlan() != null ? animal.getFeedingPlan().getId() : null
+                animal.getFeedingPlan() != null ? animal.getFeedingPlan().getId() : null,
+                animal.getVersion(),
+                animal.getUpdatedAt()
         );
     }
+
+    // With the summaries of the expanded relations, which the FetchPlan has already loaded
+    AnimalResponseDTO convertToDto(Animal animal, Set<String> expand) {
+        AnimalResponseDTO dto = convertToDto(animal);
+        Cuidador keeper = animal.getKeeper();
+        if (expand.contains("keeper") && keeper != null) {
+            dto.setKeeper(new StaffSummaryDTO(keeper.getId(), keeper.getName(), keeper.getSpecialty()));
+        }
+        Veterinario vet = animal.getVet();
+        if (expand.contains("vet") && vet != null) {
+            dto.setVet(new StaffSummaryDTO(vet.getId(), vet.getName(), vet.getSpecialty()));
+        }
+        Habitat habitat = animal.getHabitat();
+        if (expand.contains("habitat") && habitat != null) {
+            dto.setHabitat(new HabitatSummaryDTO(habitat.getId(), habitat.getName(), habitat.getType(), habitat.getStatus()));
+        }
+        Alimentacao feedingPlan = animal.getFeedingPlan();
+        if (expand.contains("feedingPlan") && feedingPlan != null) {
+            dto.setFeedingPlan(new FeedingPlanSummaryDTO(feedingPlan.getId(), feedingPlan.getPlanName(), feedingPlan.getFoodType(),
+                    feedingPlan.getQuantity(), feedingPlan.getFrequency()));
+        }
+        return dto;
+    }
 }
\ No newline at end of file
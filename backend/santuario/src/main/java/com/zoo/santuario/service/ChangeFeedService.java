@@ -0,0 +1,180 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AlimentacaoResponseDTO;
+import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.dto.ChangeDTO;
+import com.zoo.santuario.dto.ChangeFeedDTO;
+import com.zoo.santuario.dto.CuidadorResponseDTO;
+import com.zoo.santuario.dto.HabitatResponseDTO;
+import com.zoo.santuario.dto.VeterinarioResponseDTO;
+import com.zoo.santuario.exception.ChangeTokenExpiredException;
+import com.zoo.santuario.model.ChangeLogEntry;
+import com.zoo.santuario.repository.AlimentacaoRepository;
+import com.zoo.santuario.repository.AnimalRepository;
+import com.zoo.santuario.repository.ChangeLogRepository;
+import com.zoo.santuario.repository.CuidadorRepository;
+import com.zoo.santuario.repository.DtoProjection;
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers GET /api/changes: the rows created, updated or deleted since a token, so that a client keeping
+ * its own copy of the five lists can catch up without loading them again.
+ *
+ * --- How It Works ---
+ *
+ * 1.  A token is a position in the change log (see ChangeLog). Without one the client gets the current
+ *     position and no changes: it asks for a token first, then loads the lists, then follows the feed
+ *     from that token (changes made in between are sent again, which is harmless).
+ *
+ * 2.  The entries after the token are read in log order, up to the limit. Each changed row appears once,
+ *     with its current state read through the repositories' DTO projections (one query per table), or
+ *     as a tombstone if it has been deleted. So the response grows with the number of changed rows, not
+ *     with the size of the tables.
+ *
+ * 3.  Sequence numbers are taken when a transaction is about to commit, so a transaction can commit a
+ *     number just after a later one. A gap in the log that is younger than `changes.gap-grace` may still
+ *     be filled: the feed stops before it and the next call picks up from there. Older gaps are
+ *     transactions that rolled back.
+ *
+ * 4.  A token older than the oldest entry kept (see `changes.retention`) gets 410 Gone: the client has
+ *     missed changes and must load the lists again.
+ *
+ * 5.  A token beyond the newest entry was usually issued by the primary while this read went to a replica
+ *     that has not caught up yet (see ReadWriteRoutingDataSource). It is answered like an up-to-date token,
+ *     with no changes and the same token back, and the client gets the changes on a later call.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 2000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Value("${changes.gap-grace:PT5S}")
+    private Duration gapGrace;
+
+    private record Row(String entity, Long id) {
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(String since, Integer limit) {
+        int maxChanges = limit != null ? limit : DEFAULT_LIMIT;
+        if (maxChanges < 1 || maxChanges > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        Long newestSeq = changeLogRepository.findNewestSeq();
+        long newest = newestSeq != null ? newestSeq : 0;
+        if (since == null) {
+            return new ChangeFeedDTO(new ArrayList<>(), String.valueOf(newest), false);
+        }
+        long from = parseToken(since);
+        Long oldest = changeLogRepository.findOldestSeq();
+        if (from > newest) {
+            logger.debug("Change token {} is ahead of the newest entry {}, no changes yet", from, newest);
+            return new ChangeFeedDTO(new ArrayList<>(), String.valueOf(from), false);
+        }
+        if (oldest != null && from < oldest - 1) {
+            throw new ChangeTokenExpiredException("The change token " + since + " has expired; load the data again and start over with a new token.");
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findBySeqGreaterThanOrderBySeq(from, Limit.of(maxChanges + 1));
+        boolean hasMore = entries.size() > maxChanges;
+        List<ChangeLogEntry> settled = settled(entries.subList(0, Math.min(entries.size(), maxChanges)), from);
+        hasMore &= settled.size() == maxChanges;
+
+        // The last change of each row decides whether it is an upsert or a tombstone.
+        Map<Row, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : settled) {
+            Row row = new Row(entry.getEntity(), entry.getEntityId());
+            latest.remove(row);
+            latest.put(row, entry);
+        }
+        Map<String, List<Long>> existingIds = latest.values().stream()
+                .filter(entry -> !entry.isDeleted())
+                .collect(Collectors.groupingBy(ChangeLogEntry::getEntity, Collectors.mapping(ChangeLogEntry::getEntityId, Collectors.toList())));
+        Map<String, Map<Long, ?>> rows = new HashMap<>();
+        existingIds.forEach((entity, ids) -> rows.put(entity, load(entity, ids)));
+
+        List<ChangeDTO> changes = new ArrayList<>(latest.size());
+        for (ChangeLogEntry entry : latest.values()) {
+            // Missing rows were deleted after this entry; their tombstone is further on in the log.
+            Object data = entry.isDeleted() ? null : rows.get(entry.getEntity()).get(entry.getEntityId());
+            changes.add(new ChangeDTO(entry.getEntity(), entry.getEntityId(), data == null, entry.getChangedAt(), data));
+        }
+        long next = settled.isEmpty() ? from : settled.get(settled.size() - 1).getSeq();
+        logger.debug("Change feed since {}: {} log entries, {} changed rows, next token {}", from, settled.size(), changes.size(), next);
+        return new ChangeFeedDTO(changes, String.valueOf(next), hasMore);
+    }
+
+    // The entries up to the first gap that a transaction still committing may fill.
+    private List<ChangeLogEntry> settled(List<ChangeLogEntry> entries, long from) {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(gapGrace);
+        long expected = from + 1;
+        for (int i = 0; i < entries.size(); i++) {
+            ChangeLogEntry entry = entries.get(i);
+            if (entry.getSeq() != expected && entry.getChangedAt().isAfter(settledBefore)) {
+                return entries.subList(0, i);
+            }
+            expected = entry.getSeq() + 1;
+        }
+        return entries;
+    }
+
+    private Map<Long, ?> load(String entity, Collection<Long> ids) {
+        return switch (entity) {
+            case "animal" -> byId(AnimalRepository.DTO, ids, AnimalResponseDTO::getId);
+            case "cuidador" -> byId(CuidadorRepository.DTO, ids, CuidadorResponseDTO::getId);
+            case "veterinario" -> byId(VeterinarioRepository.DTO, ids, VeterinarioResponseDTO::getId);
+            case "habitat" -> byId(HabitatRepository.DTO, ids, HabitatResponseDTO::getId);
+            case "alimentacao" -> byId(AlimentacaoRepository.DTO, ids, AlimentacaoResponseDTO::getId);
+            default -> throw new IllegalStateException("Unknown entity in the change log: " + entity);
+        };
+    }
+
+    private <E, R> Map<Long, R> byId(DtoProjection<E, R> projection, Collection<Long> ids, Function<R, Long> id) {
+        Specification<E> spec = (root, query, criteriaBuilder) -> root.get("id").in(ids);
+        return projection.findAll(entityManager, spec, Sort.unsorted(), 0).stream()
+                .collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static long parseToken(String token) {
+        try {
+            long seq = Long.parseLong(token);
+            if (seq >= 0) {
+                return seq;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid change token: " + token);
+    }
+}
@@ -2,54 +2,70 @@ package com.zoo.santuario.service;
 
 import com.zoo.santuario.dto.CuidadorRequestDTO;
 import com.zoo.santuario.dto.CuidadorResponseDTO;
+import com.zoo.santuario.event.CuidadorChangedEvent;
 import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.repository.AnimalRepository;
 import com.zoo.santuario.repository.CuidadorRepository;
 import com.zoo.santuario.exception.ResourceNotFoundException;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.pagination.KeysetQueries;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.operations", histogram = true)
 public class CuidadorService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
     @Autowired
     private CuidadorRepository cuidadorRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<CuidadorResponseDTO> getAllCuidadores() {
-        return cuidadorRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return CuidadorRepository.DTO.findAll(entityManager, null, Sort.by("id"), 0);
     }
 
-    public List<CuidadorResponseDTO> getFilteredCuidadores(String specialty) {
-        List<Cuidador> cuidadores;
-        if (specialty != null) {
-            cuidadores = cuidadorRepository.findBySpecialty(specialty);
-        } else {
-            cuidadores = cuidadorRepository.findAll();
-        }
-        return cuidadores.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<CuidadorResponseDTO> getFilteredCuidadores(String specialty, KeysetPageRequest page) {
+        Specification<Cuidador> spec = (root, query, criteriaBuilder) -> specialty != null
+                ? criteriaBuilder.equal(root.get("specialty"), specialty)
+                : criteriaBuilder.conjunction();
+        return KeysetQueries.fetch(entityManager, CuidadorRepository.DTO, spec, page);
     }
 
+    @Transactional(readOnly = true)
     public Optional<CuidadorResponseDTO> getCuidadorById(Long id) {
-        return cuidadorRepository.findById(id)
-                .map(this::convertToDto);
+        return CuidadorRepository.DTO.findById(entityManager, id);
     }
 
+    @Transactional
     public CuidadorResponseDTO createCuidador(CuidadorRequestDTO cuidadorRequestDTO) {
         if (cuidadorRepository.findByContact(cuidadorRequestDTO.getContact()).isPresent()) {
             throw new IllegalArgumentException("A cuidador with this contact already exists.");
         }
         Cuidador cuidador = convertToEntity(cuidadorRequestDTO);
         Cuidador savedCuidador = cuidadorRepository.save(cuidador);
+        eventPublisher.publishEvent(new CuidadorChangedEvent(savedCuidador.getId(), savedCuidador.getStatus()));
         return convertToDto(savedCuidador);
     }
 
+    @Transactional
     public Optional<CuidadorResponseDTO> updateCuidador(Long id, CuidadorRequestDTO cuidadorRequestDTO) {
         return cuidadorRepository.findById(id)
                 .map(existingCuidador -> {
@@ -64,35 +80,41 @@ public class CuidadorService {
                     existingCuidador.setSpecialty(cuidadorRequestDTO.getSpecialty());
                     existingCuidador.setStatus(cuidadorRequestDTO.getStatus());
                     existingCuidador.setWorkShift(cuidadorRequestDTO.getWorkShift());
-                    Cuidador updatedCuidador = cuidadorRepository.save(existingCuidador);
+                    Cuidador updatedCuidador = cuidadorRepository.saveAndFlush(existingCuidador);
+                    eventPublisher.publishEvent(new CuidadorChangedEvent(updatedCuidador.getId(), updatedCuidador.getStatus()));
                     return convertToDto(updatedCuidador);
                 });
     }
 
+@Transactional
 public boolean deleteCuidador(Long id) {
     // 1. Find the keeper first to check their relationships
     Cuidador cuidador = cuidadorRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Cuidador not found with ID: " + id));
 
-    // 2. Check if the keeper's list of animals is empty
-    if (!cuidador.getAnimals().isEmpty()) {
-        // If the list is NOT empty, throw an error and do not delete
-        throw new IllegalStateException("Cannot delete keeper " + cuidador.getName() + " because they are still assigned to " + cuidador.getAnimals().size() + " animal(s).");
+    // 2. CHANGED: Count the keeper's animals with one query instead of loading the whole collection
+    long animals = animalRepository.countByKeeper_Id(id);
+    if (animals > 0) {
+        // If the keeper still has animals, throw an error and do not delete
+        throw new IllegalStateException("Cannot delete keeper " + cuidador.getName() + " because they are still assigned to " + animals + " animal(s).");
     }
 
-    // 3. If the list is empty, it's safe to delete
+    // 3. If the keeper has no animals, it's safe to delete
     cuidadorRepository.delete(cuidador);
+    eventPublisher.publishEvent(CuidadorChangedEvent.deleted(id));
     return true;
 }
 
-    private CuidadorResponseDTO convertToDto(Cuidador cuidador) {
+    CuidadorResponseDTO convertToDto(Cuidador cuidador) {
         return new CuidadorResponseDTO(
                 cuidador.getId(),
                 cuidador.getName(),
                 cuidador.getContact(),
                 cuidador.getSpecialty(),
                 cuidador.getStatus(),
-                cuidador.getWorkShift()
+                cuidador.getWorkShift(),
+                cuidador.getVersion(),
+                cuidador.getUpdatedAt()
         );
     }
 
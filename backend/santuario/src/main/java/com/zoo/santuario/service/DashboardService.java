@@ -0,0 +1,111 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.dto.DashboardSummaryDTO;
+import com.zoo.santuario.repository.AlimentacaoRepository;
+import com.zoo.santuario.repository.AnimalRepository;
+import com.zoo.santuario.repository.CuidadorRepository;
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.StatusCount;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import com.zoo.santuario.stats.StatisticsEngine;
+import com.zoo.santuario.stats.ZooStatistics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the figures shown on the dashboard home page.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Everything is computed by the database and only the results travel: one `group by status`
+ * count per entity, a plain count of feeding plans, one query returning every habitat with its
+ * number of residents (a left join grouped by habitat), and the five most recent arrivals.
+ *
+ * 2.  That is seven small queries, independent of how many animals there are, instead of the five
+ * full tables the frontend used to download and count in the browser.
+ *
+ * 3.  Once the StatisticsEngine has built its in-memory counts, the status counts and the habitat
+ * occupancy are read from its snapshot instead, and only the two indexed queries (feeding plan count
+ * and recent arrivals) still reach the database.
+ */
+@Service
+public class DashboardService {
+
+    static final int RECENT_ARRIVALS = 5;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private CuidadorRepository cuidadorRepository;
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+    @Autowired
+    private HabitatRepository habitatRepository;
+    @Autowired
+    private AlimentacaoRepository alimentacaoRepository;
+    @Autowired
+    private StatisticsEngine statisticsEngine;
+
+    @Transactional(readOnly = true)
+    public DashboardSummaryDTO getSummary() {
+        DashboardSummaryDTO summary = new DashboardSummaryDTO();
+        ZooStatistics statistics = statisticsEngine.current();
+        if (statistics != null) {
+            summary.setAnimals(toStatusCounts(statistics.animalsByStatus()));
+            summary.setCuidadores(toStatusCounts(statistics.keepersByStatus()));
+            summary.setVeterinarios(toStatusCounts(statistics.vetsByStatus()));
+            summary.setHabitats(toStatusCounts(statistics.habitatsByStatus()));
+            summary.setHabitatOccupancy(statistics.habitats().stream()
+                    .map(habitat -> new DashboardSummaryDTO.HabitatOccupancy(habitat.habitatId(), habitat.name(),
+                            habitat.status(), habitat.capacity(), habitat.residents()))
+                    .toList());
+        } else {
+            // Until the statistics are built right after startup
+            summary.setAnimals(toStatusCounts(animalRepository.countByStatus()));
+            summary.setCuidadores(toStatusCounts(cuidadorRepository.countByStatus()));
+            summary.setVeterinarios(toStatusCounts(veterinarioRepository.countByStatus()));
+            summary.setHabitats(toStatusCounts(habitatRepository.countByStatus()));
+            summary.setHabitatOccupancy(habitatRepository.findOccupancy().stream()
+                    .map(habitat -> new DashboardSummaryDTO.HabitatOccupancy(habitat.getId(), habitat.getName(),
+                            habitat.getStatus(), habitat.getCapacity(), habitat.getResidents()))
+                    .toList());
+        }
+        summary.setAlimentacoes(alimentacaoRepository.count());
+
+        // arrivalDate is stored as YYYY-MM-DD, so its string order is its chronological order.
+        List<AnimalResponseDTO> recent = AnimalRepository.DTO.findAll(entityManager, null,
+                Sort.by(Sort.Order.desc("arrivalDate"), Sort.Order.desc("id")), RECENT_ARRIVALS);
+        summary.setRecentArrivals(recent);
+        return summary;
+    }
+
+    /**
+     * The full in-memory statistics (per species, sex, habitat, keeper and vet), or null until they are built.
+     */
+    public ZooStatistics getStatistics() {
+        return statisticsEngine.current();
+    }
+
+    private static DashboardSummaryDTO.StatusCounts toStatusCounts(List<StatusCount> rows) {
+        return toStatusCounts(rows.stream().collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getTotal)));
+    }
+
+    private static DashboardSummaryDTO.StatusCounts toStatusCounts(Map<String, Long> byStatus) {
+        DashboardSummaryDTO.StatusCounts counts = new DashboardSummaryDTO.StatusCounts();
+        counts.getByStatus().putAll(new TreeMap<>(byStatus));
+        counts.setTotal(byStatus.values().stream().mapToLong(Long::longValue).sum());
+        return counts;
+    }
+}
@@ -1,57 +1,68 @@
 package com.zoo.santuario.service;
 
+import com.zoo.santuario.exception.EmailDeliveryException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
+@Timed(value = "service.operations", histogram = true)
 public class EmailService {
 
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+
+    // CHANGED: Pooled client with timeouts, guarded by a bulkhead and a circuit breaker (see SendGridClientConfig)
     @Autowired
+    @Qualifier("sendGridRestTemplate")
     private RestTemplate restTemplate;
 
+    @Autowired
+    private CircuitBreaker sendGridCircuitBreaker;
+
+    @Autowired
+    private Bulkhead sendGridBulkhead;
+
     @Value("${SENDGRID_API_KEY}")
     private String sendGridApiKey;
 
     @Value("${SENDGRID_FROM_EMAIL}")
     private String fromEmail;
 
-    private static final String SENDGRID_API_URL = "https://api.sendgrid.com/v3/mail/send";
-
-    public void sendAnimalNotificationEmail(String to, String subject, String body) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(sendGridApiKey);
+    @Value("${sendgrid.api-url:https://api.sendgrid.com/v3/mail/send}")
+    private String sendGridApiUrl;
 
-        Map<String, Object> emailRequest = new HashMap<>();
+    // SendGrid limits: personalizations per request, and substitution bytes per personalization.
+    static final int MAX_PERSONALIZATIONS = 1000;
+    static final int MAX_SUBSTITUTION_BYTES = 10_000;
+    // Placeholder in the shared content of a multi-recipient request, replaced per personalization.
+    private static final String BODY_TAG = "-body-";
 
-        // From email
-        Map<String, String> from = new HashMap<>();
-        from.put("email", fromEmail);
-        emailRequest.put("from", from);
-
-        // To email
-        Map<String, String> toEmail = new HashMap<>();
-        toEmail.put("email", to);
-        Map<String, Object> personalizations = new HashMap<>();
-        personalizations.put("to", Collections.singletonList(toEmail));
-        personalizations.put("subject", subject);
-        emailRequest.put("personalizations", Collections.singletonList(personalizations));
-
-        // Content
-        Map<String, String> content = new HashMap<>();
-        content.put("type", "text/html");
-        String emailTemplate = """
+    private static final String EMAIL_TEMPLATE = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -79,24 +90,108 @@ public class EmailService {
             </body>
             </html>
             """;
-        String finalBody = emailTemplate.replace("%s", body.replace("%", "%%"));
-        content.put("value", finalBody);
-        emailRequest.put("content", Collections.singletonList(content));
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(emailRequest, headers);
+    /**
+     * One email: its recipient, subject and the HTML that goes into the content area of the template.
+     */
+    public record Message(String to, String subject, String body) {
+    }
 
+    public void sendAnimalNotificationEmail(String to, String subject, String body) {
+        send(List.of(new Message(to, subject, body)));
+    }
+
+    /**
+     * True if the message can go into a multi-recipient request, where its body travels as a
+     * substitution and therefore counts against SendGrid's substitution size limit.
+     */
+    public static boolean fitsInSharedRequest(Message message) {
+        int bytes = BODY_TAG.getBytes(StandardCharsets.UTF_8).length + message.body().getBytes(StandardCharsets.UTF_8).length;
+        return bytes <= MAX_SUBSTITUTION_BYTES;
+    }
+
+    /**
+     * False while the circuit breaker is open, i.e. while calls would fail without reaching SendGrid.
+     */
+    public boolean isAvailable() {
+        return sendGridCircuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    // CHANGED: Sends any number of emails in a single SendGrid request, one personalization per
+    // message. Failures are thrown as EmailDeliveryException instead of printed, so that the
+    // NotificationDispatcher can retry them. Only the dispatcher calls this method.
+    public void send(List<Message> messages) {
+        if (messages.isEmpty() || messages.size() > MAX_PERSONALIZATIONS) {
+            throw new IllegalArgumentException("A SendGrid request takes 1 to " + MAX_PERSONALIZATIONS + " messages, got " + messages.size());
+        }
+        boolean shared = messages.size() > 1;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(sendGridApiKey);
+
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(buildRequest(messages), headers);
+        String to = shared ? messages.size() + " recipients" : messages.get(0).to();
+
+        // The bulkhead is outside the circuit breaker, so calls it turns away do not count as SendGrid failures.
+        Supplier<ResponseEntity<String>> call = Bulkhead.decorateSupplier(sendGridBulkhead,
+                CircuitBreaker.decorateSupplier(sendGridCircuitBreaker,
+                        () -> restTemplate.exchange(sendGridApiUrl, HttpMethod.POST, request, String.class)));
+
+        ResponseEntity<String> response;
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    SENDGRID_API_URL, HttpMethod.POST, request, String.class);
+            response = call.get();
+        } catch (CallNotPermittedException e) {
+            throw new EmailDeliveryException("SendGrid circuit breaker is open, email to " + to + " not sent", true);
+        } catch (BulkheadFullException e) {
+            throw new EmailDeliveryException("Too many concurrent SendGrid requests, email to " + to + " not sent", true);
+        } catch (HttpStatusCodeException e) {
+            throw new EmailDeliveryException("SendGrid rejected email to " + to + ": " + e.getStatusCode() + " - " + e.getResponseBodyAsString(),
+                    isRetryable(e.getStatusCode().value()));
+        } catch (RestClientException e) {
+            throw new EmailDeliveryException("Error sending email to " + to + ": " + e.getMessage(), e);
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new EmailDeliveryException("Failed to send email to " + to + ": " + response.getStatusCode() + " - " + response.getBody(),
+                    isRetryable(response.getStatusCode().value()));
+        }
+        logger.info("Email sent successfully to: {}", to);
+    }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("Email sent successfully to: " + to);
-            } else {
-                System.err.println("Failed to send email to " + to + ": " + response.getStatusCode() + " - " + response.getBody());
+    // The SendGrid v3 mail/send body for the messages, serialized to JSON by the RestTemplate.
+    Map<String, Object> buildRequest(List<Message> messages) {
+        boolean shared = messages.size() > 1;
+        Map<String, Object> emailRequest = new HashMap<>();
+
+        // From email
+        Map<String, String> from = new HashMap<>();
+        from.put("email", fromEmail);
+        emailRequest.put("from", from);
+
+        // One personalization (recipient + subject) per message
+        List<Map<String, Object>> personalizations = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            Map<String, Object> personalization = new HashMap<>();
+            personalization.put("to", Collections.singletonList(Collections.singletonMap("email", message.to())));
+            personalization.put("subject", message.subject());
+            if (shared) {
+                personalization.put("substitutions", Collections.singletonMap(BODY_TAG, message.body()));
             }
-        } catch (Exception e) {
-            System.err.println("Error sending email to " + to + ": " + e.getMessage());
-            e.printStackTrace();
+            personalizations.add(personalization);
         }
+        emailRequest.put("personalizations", personalizations);
+
+        // Content: the body itself, or a placeholder that each personalization substitutes
+        Map<String, String> content = new HashMap<>();
+        content.put("type", "text/html");
+        content.put("value", EMAIL_TEMPLATE.replace("%s", shared ? BODY_TAG : messages.get(0).body()));
+        emailRequest.put("content", Collections.singletonList(content));
+        return emailRequest;
+    }
+
+    // Throttling, timeouts and server errors may go away; any other 4xx means the request itself is wrong.
+    private static boolean isRetryable(int status) {
+        return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.REQUEST_TIMEOUT.value();
     }
-}
\ No newline at end of file
+}
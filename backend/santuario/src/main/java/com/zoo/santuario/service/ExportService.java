@@ -0,0 +1,168 @@
+package com.zoo.santuario.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.export.ExportColumn;
+import com.zoo.santuario.export.ExportFormat;
+import com.zoo.santuario.export.ExportWriter;
+import com.zoo.santuario.model.*;
+import com.zoo.santuario.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as NDJSON or CSV without ever holding them in memory.
+ *
+ * Each export opens a read-only transaction, reads the table through a fetch-size-bounded
+ * server-side cursor ({@code streamAllForExport} in the repositories) and writes every row
+ * straight to the response. Every {@link #CHUNK_SIZE} rows the output is flushed to the client
+ * and the persistence context is cleared, so the entities already written can be garbage
+ * collected and the heap stays flat even for millions of rows.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Kept equal to the fetch size hint on the repository streams.
+    static final int CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private CuidadorRepository cuidadorRepository;
+    @Autowired
+    private HabitatRepository habitatRepository;
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+    @Autowired
+    private AlimentacaoRepository alimentacaoRepository;
+
+    // Reading the id of a lazy association only touches the foreign key, never the related row.
+    private static final List<ExportColumn<Animal>> ANIMAL_COLUMNS = List.of(
+            ExportColumn.of("id", Animal::getId),
+            ExportColumn.of("name", Animal::getName),
+            ExportColumn.of("species", Animal::getSpecies),
+            ExportColumn.of("age", Animal::getAge),
+            ExportColumn.of("sex", Animal::getSex),
+            ExportColumn.of("arrivalDate", Animal::getArrivalDate),
+            ExportColumn.of("status", Animal::getStatus),
+            ExportColumn.of("image", Animal::getImage),
+            ExportColumn.of("keeperId", animal -> animal.getKeeper() != null ? animal.getKeeper().getId() : null),
+            ExportColumn.of("vetId", animal -> animal.getVet() != null ? animal.getVet().getId() : null),
+            ExportColumn.of("habitatId", animal -> animal.getHabitat() != null ? animal.getHabitat().getId() : null),
+            ExportColumn.of("feedingPlanId", animal -> animal.getFeedingPlan() != null ? animal.getFeedingPlan().getId() : null)
+    );
+
+    private static final List<ExportColumn<Cuidador>> CUIDADOR_COLUMNS = List.of(
+            ExportColumn.of("id", Cuidador::getId),
+            ExportColumn.of("name", Cuidador::getName),
+            ExportColumn.of("contact", Cuidador::getContact),
+            ExportColumn.of("specialty", Cuidador::getSpecialty),
+            ExportColumn.of("status", Cuidador::getStatus),
+            ExportColumn.of("workShift", Cuidador::getWorkShift)
+    );
+
+    private static final List<ExportColumn<Habitat>> HABITAT_COLUMNS = List.of(
+            ExportColumn.of("id", Habitat::getId),
+            ExportColumn.of("name", Habitat::getName),
+            ExportColumn.of("type", Habitat::getType),
+            ExportColumn.of("capacity", Habitat::getCapacity),
+            ExportColumn.of("status", Habitat::getStatus)
+    );
+
+    private static final List<ExportColumn<Veterinario>> VETERINARIO_COLUMNS = List.of(
+            ExportColumn.of("id", Veterinario::getId),
+            ExportColumn.of("name", Veterinario::getName),
+            ExportColumn.of("crmv", Veterinario::getCrmv),
+            ExportColumn.of("specialty", Veterinario::getSpecialty),
+            ExportColumn.of("status", Veterinario::getStatus)
+    );
+
+    private static final List<ExportColumn<Alimentacao>> ALIMENTACAO_COLUMNS = List.of(
+            ExportColumn.of("id", Alimentacao::getId),
+            ExportColumn.of("planName", Alimentacao::getPlanName),
+            ExportColumn.of("foodType", Alimentacao::getFoodType),
+            ExportColumn.of("quantity", Alimentacao::getQuantity),
+            ExportColumn.of("frequency", Alimentacao::getFrequency)
+    );
+
+    @Transactional(readOnly = true)
+    public long exportAnimals(ExportFormat format, OutputStream out) {
+        try (Stream<Animal> rows = animalRepository.streamAllForExport()) {
+            return export("animals", rows, ANIMAL_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCuidadores(ExportFormat format, OutputStream out) {
+        try (Stream<Cuidador> rows = cuidadorRepository.streamAllForExport()) {
+            return export("cuidadores", rows, CUIDADOR_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportHabitats(ExportFormat format, OutputStream out) {
+        try (Stream<Habitat> rows = habitatRepository.streamAllForExport()) {
+            return export("habitats", rows, HABITAT_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportVeterinarios(ExportFormat format, OutputStream out) {
+        try (Stream<Veterinario> rows = veterinarioRepository.streamAllForExport()) {
+            return export("veterinarios", rows, VETERINARIO_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAlimentacoes(ExportFormat format, OutputStream out) {
+        try (Stream<Alimentacao> rows = alimentacaoRepository.streamAllForExport()) {
+            return export("alimentacoes", rows, ALIMENTACAO_COLUMNS, format, out);
+        }
+    }
+
+    private <E> long export(String entityName, Stream<E> rows, List<ExportColumn<E>> columns, ExportFormat format, OutputStream out) {
+        logger.info("Starting {} export of {}", format, entityName);
+        long count = 0;
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            ExportWriter<E> exportWriter = ExportWriter.create(format, columns, writer, objectMapper);
+            exportWriter.writeHeader();
+
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                exportWriter.writeRow(iterator.next());
+                if (++count % CHUNK_SIZE == 0) {
+                    exportWriter.flush();
+                    entityManager.clear();
+                }
+            }
+            exportWriter.flush();
+        } catch (IOException e) {
+            // Usually the client went away mid-download; there is no one left to send an error to.
+            throw new UncheckedIOException("Export of " + entityName + " aborted after " + count + " rows", e);
+        }
+        logger.info("Finished {} export of {}: {} rows", format, entityName, count);
+        return count;
+    }
+}
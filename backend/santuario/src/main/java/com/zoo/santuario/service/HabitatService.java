@@ -2,48 +2,62 @@ package com.zoo.santuario.service;
 
 import com.zoo.santuario.dto.HabitatRequestDTO;
 import com.zoo.santuario.dto.HabitatResponseDTO;
+import com.zoo.santuario.event.HabitatChangedEvent;
 import com.zoo.santuario.exception.ResourceNotFoundException;
 import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.pagination.KeysetQueries;
 import com.zoo.santuario.repository.HabitatRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.operations", histogram = true)
 public class HabitatService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
     @Autowired
     private HabitatRepository habitatRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     // ... (getAllHabitats, getFilteredHabitats, getHabitatById, createHabitat, updateHabitat are all fine) ...
+    @Transactional(readOnly = true)
     public List<HabitatResponseDTO> getAllHabitats() {
-        return habitatRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return HabitatRepository.DTO.findAll(entityManager, null, Sort.by("id"), 0);
     }
-    public List<HabitatResponseDTO> getFilteredHabitats(String type) {
-        List<Habitat> habitats;
-        if (type != null) {
-            habitats = habitatRepository.findByType(type);
-        } else {
-            habitats = habitatRepository.findAll();
-        }
-        return habitats.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<HabitatResponseDTO> getFilteredHabitats(String type, KeysetPageRequest page) {
+        Specification<Habitat> spec = (root, query, criteriaBuilder) -> type != null
+                ? criteriaBuilder.equal(root.get("type"), type)
+                : criteriaBuilder.conjunction();
+        return KeysetQueries.fetch(entityManager, HabitatRepository.DTO, spec, page);
     }
+    @Transactional(readOnly = true)
     public Optional<HabitatResponseDTO> getHabitatById(Long id) {
-        return habitatRepository.findById(id)
-                .map(this::convertToDto);
+        return HabitatRepository.DTO.findById(entityManager, id);
     }
+
+    @Transactional
     public HabitatResponseDTO createHabitat(HabitatRequestDTO habitatRequestDTO) {
         Habitat habitat = convertToEntity(habitatRequestDTO);
         Habitat savedHabitat = habitatRepository.save(habitat);
+        eventPublisher.publishEvent(HabitatChangedEvent.saved(savedHabitat));
         return convertToDto(savedHabitat);
     }
+    @Transactional
     public Optional<HabitatResponseDTO> updateHabitat(Long id, HabitatRequestDTO habitatRequestDTO) {
         return habitatRepository.findById(id)
                 .map(existingHabitat -> {
@@ -51,30 +65,35 @@ public class HabitatService {
                     existingHabitat.setType(habitatRequestDTO.getType());
                     existingHabitat.setCapacity(habitatRequestDTO.getCapacity());
                     existingHabitat.setStatus(habitatRequestDTO.getStatus());
-                    Habitat updatedHabitat = habitatRepository.save(existingHabitat);
+                    Habitat updatedHabitat = habitatRepository.saveAndFlush(existingHabitat);
+                    eventPublisher.publishEvent(HabitatChangedEvent.saved(updatedHabitat));
                     return convertToDto(updatedHabitat);
                 });
     }
 
     // CHANGED: Added safe-deletion check
+    @Transactional
     public void deleteHabitat(Long id) {
         Habitat habitat = habitatRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Habitat not found with ID: " + id));
 
-        if (!habitat.getAnimals().isEmpty()) {
-            throw new IllegalStateException("Cannot delete habitat " + habitat.getName() + " because it still contains " + habitat.getAnimals().size() + " animal(s).");
+        if (habitat.getOccupancy() > 0) {
+            throw new IllegalStateException("Cannot delete habitat " + habitat.getName() + " because it still contains " + habitat.getOccupancy() + " animal(s).");
         }
         
         habitatRepository.delete(habitat);
+        eventPublisher.publishEvent(HabitatChangedEvent.deleted(id));
     }
 
-    private HabitatResponseDTO convertToDto(Habitat habitat) {
+    HabitatResponseDTO convertToDto(Habitat habitat) {
         return new HabitatResponseDTO(
                 habitat.getId(),
                 habitat.getName(),
                 habitat.getType(),
                 habitat.getCapacity(),
-                habitat.getStatus()
+                habitat.getStatus(),
+                habitat.getVersion(),
+                habitat.getUpdatedAt()
         );
     }
 
@@ -85,6 +104,7 @@ public class HabitatService {
                 habitatRequestDTO.getType(),
                 habitatRequestDTO.getCapacity(),
                 habitatRequestDTO.getStatus(),
+                0, // Starts empty; the column default sets it in the database
                 null // The 'animals' list will be managed by the relationship
         );
     }
@@ -0,0 +1,193 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.exception.EmailDeliveryException;
+import com.zoo.santuario.model.NotificationOutbox;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Drains the notification outbox in the background.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Every poll claims the due rows through `NotificationOutboxService.claimDue`, which also
+ * brings along the other notifications still waiting in the digest window for the same recipients.
+ *
+ * 2.  The claimed rows are grouped per recipient (`Cuidador.contact`). A recipient with a single
+ * notification gets it as is; several are combined into one digest email.
+ *
+ * 3.  The emails for different recipients are packed into as few SendGrid requests as possible,
+ * one personalization per recipient (`EmailService.send`). Digests too large for a shared request
+ * go on their own.
+ *
+ * 4.  The requests run in parallel on a small bounded pool of its own. The dispatcher waits for
+ * them before claiming more, so a slow provider can only tie up these threads, never the Tomcat
+ * request threads. Polling continues until nothing is due. In virtual-thread mode
+ * (`spring.threads.virtual.enabled` on Java 21) the pool creates virtual threads, still at most
+ * `notifications.outbox.concurrency` of them.
+ *
+ * 5.  The outcome of a request is recorded for every notification in it. If SendGrid rejects a
+ * shared request outright, its recipients are retried one request each, so that one bad address
+ * cannot dead-letter the others.
+ *
+ * 6.  While the SendGrid circuit breaker is open, nothing is claimed. The notifications stay due
+ * instead of spending their attempts on calls that would fail without leaving the JVM.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String EMAIL_GREETING = "Prezado(a) %s,<br><br>";
+    private static final String EMAIL_SIGN_OFF = "<br><br>Atenciosamente,<br>Gerência do Zoológico";
+    private static final String DIGEST_SUBJECT = "Resumo de Atualizações: %d notificações";
+    private static final String DIGEST_INTRO = "Você tem %d atualizações sobre os animais sob seus cuidados:<br><ul>";
+    private static final String DIGEST_ITEM = "<li><b>%s</b><br>%s</li>";
+
+    // The notifications behind one email, and the email itself.
+    record Digest(List<NotificationOutbox> notifications, EmailService.Message message) {
+    }
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+    @Autowired
+    private EmailService emailService;
+    @Autowired
+    private Environment environment;
+
+    @Value("${notifications.outbox.batch-size:50}")
+    private int batchSize;
+    @Value("${notifications.outbox.concurrency:4}")
+    private int concurrency;
+    @Value("${notifications.digest.max-recipients-per-request:100}")
+    private int maxRecipientsPerRequest;
+
+    // Not a bean: any Executor bean would replace Spring Boot's default applicationTaskExecutor.
+    private final ThreadPoolTaskExecutor notificationExecutor = new ThreadPoolTaskExecutor();
+
+    @PostConstruct
+    void startExecutor() {
+        notificationExecutor.setThreadNamePrefix("notification-");
+        notificationExecutor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        notificationExecutor.setCorePoolSize(concurrency);
+        notificationExecutor.setMaxPoolSize(concurrency);
+        // Room for one claimed batch; the next one is only claimed once this one is done.
+        notificationExecutor.setQueueCapacity(batchSize);
+        notificationExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        notificationExecutor.setAwaitTerminationSeconds(30);
+        notificationExecutor.initialize();
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        notificationExecutor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval:PT2S}")
+    public void dispatch() {
+        List<NotificationOutbox> batch;
+        while (emailService.isAvailable() && !(batch = notificationOutboxService.claimDue(batchSize)).isEmpty()) {
+            List<List<Digest>> requests = pack(digest(batch), maxRecipientsPerRequest);
+            logger.debug("Dispatching {} queued notifications in {} SendGrid request(s)", batch.size(), requests.size());
+
+            List<CompletableFuture<Void>> sends = new ArrayList<>(requests.size());
+            try {
+                for (List<Digest> request : requests) {
+                    sends.add(CompletableFuture.runAsync(() -> deliver(request), notificationExecutor));
+                }
+            } catch (RejectedExecutionException e) {
+                // The rest of the batch stays claimed and is picked up again when its lease runs out.
+                logger.warn("Notification executor is saturated, {} requests postponed", requests.size() - sends.size());
+            }
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+        }
+    }
+
+    private void deliver(List<Digest> request) {
+        List<Long> ids = request.stream()
+                .flatMap(digest -> digest.notifications().stream())
+                .map(NotificationOutbox::getId)
+                .toList();
+        try {
+            emailService.send(request.stream().map(Digest::message).toList());
+            notificationOutboxService.markSent(ids);
+        } catch (EmailDeliveryException e) {
+            if (!e.isRetryable() && request.size() > 1) {
+                logger.warn("SendGrid rejected a request for {} recipients, sending them one by one: {}", request.size(), e.getMessage());
+                request.forEach(digest -> deliver(List.of(digest)));
+                return;
+            }
+            notificationOutboxService.markFailed(ids, e);
+        } catch (RuntimeException e) {
+            notificationOutboxService.markFailed(ids, new EmailDeliveryException(e.getMessage(), e));
+        }
+    }
+
+    /**
+     * One email per recipient, in the order the recipients first appear.
+     */
+    static List<Digest> digest(List<NotificationOutbox> notifications) {
+        Map<String, List<NotificationOutbox>> byRecipient = new LinkedHashMap<>();
+        for (NotificationOutbox notification : notifications) {
+            byRecipient.computeIfAbsent(notification.getRecipient(), recipient -> new ArrayList<>()).add(notification);
+        }
+
+        List<Digest> digests = new ArrayList<>(byRecipient.size());
+        byRecipient.forEach((recipient, group) -> {
+            NotificationOutbox first = group.get(0);
+            String greeting = first.getRecipientName() != null ? String.format(EMAIL_GREETING, first.getRecipientName()) : "";
+            if (group.size() == 1) {
+                digests.add(new Digest(group, new EmailService.Message(recipient, first.getSubject(),
+                        greeting + first.getBody() + EMAIL_SIGN_OFF)));
+                return;
+            }
+            StringBuilder body = new StringBuilder(greeting).append(String.format(DIGEST_INTRO, group.size()));
+            for (NotificationOutbox notification : group) {
+                body.append(String.format(DIGEST_ITEM, notification.getSubject(), notification.getBody()));
+            }
+            body.append("</ul>").append(EMAIL_SIGN_OFF);
+            digests.add(new Digest(group, new EmailService.Message(recipient,
+                    String.format(DIGEST_SUBJECT, group.size()), body.toString())));
+        });
+        return digests;
+    }
+
+    /**
+     * Groups the digests into SendGrid requests of at most {@code maxRecipients} recipients.
+     */
+    static List<List<Digest>> pack(List<Digest> digests, int maxRecipients) {
+        List<List<Digest>> requests = new ArrayList<>();
+        List<Digest> shared = new ArrayList<>();
+        for (Digest digest : digests) {
+            if (!EmailService.fitsInSharedRequest(digest.message())) {
+                requests.add(List.of(digest));
+                continue;
+            }
+            shared.add(digest);
+            if (shared.size() == maxRecipients) {
+                requests.add(shared);
+                shared = new ArrayList<>();
+            }
+        }
+        if (!shared.isEmpty()) {
+            requests.add(shared);
+        }
+        return requests;
+    }
+}
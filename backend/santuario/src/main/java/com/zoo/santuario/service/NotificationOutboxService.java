@@ -0,0 +1,124 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.exception.EmailDeliveryException;
+import com.zoo.santuario.model.NotificationOutbox;
+import com.zoo.santuario.repository.NotificationOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The transactional outbox for keeper emails.
+ *
+ * --- How It Works ---
+ *
+ * 1.  `enqueue` inserts a PENDING row inside the caller's transaction, so an email exists if and
+ * only if the animal change that caused it is committed, and the request never waits for SendGrid.
+ * The row only becomes due after the digest window (`notifications.digest.window`).
+ *
+ * 2.  `claimDue` is called by the `NotificationDispatcher`. It locks due rows with SKIP LOCKED,
+ * counts the attempt and moves `nextAttemptAt` past a lease, then commits. Other dispatchers skip
+ * those rows, and if this one dies mid-send the rows become due again when the lease expires.
+ * Along with the due rows it claims every other notification still waiting in the window for the
+ * same recipients, so that a keeper gets one digest per window instead of one email per change.
+ *
+ * 3.  `markSent` and `markFailed` record the outcome. Failures are retried with exponential
+ * backoff until `max-attempts`; after that, or for errors that retrying cannot fix, the row is
+ * dead-lettered (status DEAD) and keeps its last error.
+ */
+@Service
+public class NotificationOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Value("${notifications.outbox.max-attempts:8}")
+    private int maxAttempts;
+    @Value("${notifications.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+    @Value("${notifications.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+    @Value("${notifications.outbox.lease:PT5M}")
+    private Duration lease;
+    @Value("${notifications.digest.window:PT30S}")
+    private Duration digestWindow;
+
+    @Transactional
+    public void enqueue(String recipient, String recipientName, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setRecipient(recipient);
+        notification.setRecipientName(recipientName);
+        notification.setSubject(subject);
+        notification.setBody(body);
+        notification.setStatus(NotificationOutbox.Status.PENDING);
+        notification.setCreatedAt(now);
+        notification.setNextAttemptAt(now.plus(digestWindow));
+        notificationOutboxRepository.save(notification);
+        logger.debug("Queued email '{}' to {}", subject, recipient);
+    }
+
+    @Transactional
+    public List<NotificationOutbox> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> claimed = new ArrayList<>(notificationOutboxRepository.findDueForUpdate(now, PageRequest.of(0, limit)));
+        Set<String> recipients = claimed.stream().map(NotificationOutbox::getRecipient).collect(Collectors.toSet());
+        if (!recipients.isEmpty()) {
+            claimed.addAll(notificationOutboxRepository.findWaitingForRecipientsForUpdate(recipients, now, PageRequest.of(0, limit)));
+        }
+        for (NotificationOutbox notification : claimed) {
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setNextAttemptAt(now.plus(lease));
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox notification : notificationOutboxRepository.findAllById(ids)) {
+            notification.setStatus(NotificationOutbox.Status.SENT);
+            notification.setSentAt(now);
+            notification.setLastError(null);
+        }
+    }
+
+    @Transactional
+    public void markFailed(Collection<Long> ids, EmailDeliveryException error) {
+        String message = String.valueOf(error.getMessage());
+        for (NotificationOutbox notification : notificationOutboxRepository.findAllById(ids)) {
+            notification.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+            if (!error.isRetryable() || notification.getAttempts() >= maxAttempts) {
+                notification.setStatus(NotificationOutbox.Status.DEAD);
+                logger.error("Giving up on email {} to {} after {} attempt(s): {}", notification.getId(), notification.getRecipient(), notification.getAttempts(), message);
+                continue;
+            }
+            Duration delay = backoff(notification.getAttempts(), initialBackoff, maxBackoff);
+            notification.setNextAttemptAt(LocalDateTime.now().plus(delay));
+            logger.warn("Email {} to {} failed (attempt {}), retrying in {}: {}", notification.getId(), notification.getRecipient(), notification.getAttempts(), delay, message);
+        }
+    }
+
+    // initial, 2 x initial, 4 x initial, ... capped at max.
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = initial.multipliedBy(1L << doublings);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+}
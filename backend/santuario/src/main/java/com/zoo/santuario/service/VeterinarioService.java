@@ -2,48 +2,65 @@ package com.zoo.santuario.service;
 
 import com.zoo.santuario.dto.VeterinarioRequestDTO;
 import com.zoo.santuario.dto.VeterinarioResponseDTO;
+import com.zoo.santuario.event.VeterinarioChangedEvent;
 import com.zoo.santuario.exception.ResourceNotFoundException;
 import com.zoo.santuario.model.Veterinario;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.pagination.KeysetQueries;
+import com.zoo.santuario.repository.AnimalRepository;
 import com.zoo.santuario.repository.VeterinarioRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.operations", histogram = true)
 public class VeterinarioService {
 
+    @PersistenceContext
+    private EntityManager entityManager;
     @Autowired
     private VeterinarioRepository veterinarioRepository;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     // ... (getAllVeterinarios, getFilteredVeterinarios, getVeterinarioById, createVeterinario, updateVeterinario are all fine) ...
+    @Transactional(readOnly = true)
     public List<VeterinarioResponseDTO> getAllVeterinarios() {
-        return veterinarioRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return VeterinarioRepository.DTO.findAll(entityManager, null, Sort.by("id"), 0);
     }
-    public List<VeterinarioResponseDTO> getFilteredVeterinarios(String specialty) {
-        List<Veterinario> veterinarios;
-        if (specialty != null) {
-            veterinarios = veterinarioRepository.findBySpecialty(specialty);
-        } else {
-            veterinarios = veterinarioRepository.findAll();
-        }
-        return veterinarios.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPage<VeterinarioResponseDTO> getFilteredVeterinarios(String specialty, KeysetPageRequest page) {
+        Specification<Veterinario> spec = (root, query, criteriaBuilder) -> specialty != null
+                ? criteriaBuilder.equal(root.get("specialty"), specialty)
+                : criteriaBuilder.conjunction();
+        return KeysetQueries.fetch(entityManager, VeterinarioRepository.DTO, spec, page);
     }
+    @Transactional(readOnly = true)
     public Optional<VeterinarioResponseDTO> getVeterinarioById(Long id) {
-        return veterinarioRepository.findById(id)
-                .map(this::convertToDto);
+        return VeterinarioRepository.DTO.findById(entityManager, id);
     }
+
+    @Transactional
     public VeterinarioResponseDTO createVeterinario(VeterinarioRequestDTO veterinarioRequestDTO) {
         Veterinario veterinario = convertToEntity(veterinarioRequestDTO);
         Veterinario savedVeterinario = veterinarioRepository.save(veterinario);
+        eventPublisher.publishEvent(new VeterinarioChangedEvent(savedVeterinario.getId(), savedVeterinario.getStatus()));
         return convertToDto(savedVeterinario);
     }
+    @Transactional
     public Optional<VeterinarioResponseDTO> updateVeterinario(Long id, VeterinarioRequestDTO veterinarioRequestDTO) {
         return veterinarioRepository.findById(id)
                 .map(existingVeterinario -> {
@@ -51,30 +68,37 @@ public class VeterinarioService {
                     existingVeterinario.setCrmv(veterinarioRequestDTO.getCrmv());
                     existingVeterinario.setSpecialty(veterinarioRequestDTO.getSpecialty());
                     existingVeterinario.setStatus(veterinarioRequestDTO.getStatus());
-                    Veterinario updatedVeterinario = veterinarioRepository.save(existingVeterinario);
+                    Veterinario updatedVeterinario = veterinarioRepository.saveAndFlush(existingVeterinario);
+                    eventPublisher.publishEvent(new VeterinarioChangedEvent(updatedVeterinario.getId(), updatedVeterinario.getStatus()));
                     return convertToDto(updatedVeterinario);
                 });
     }
 
     // CHANGED: Added safe-deletion check
+    @Transactional
     public void deleteVeterinario(Long id) {
         Veterinario veterinario = veterinarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Veterinario not found with ID: " + id));
 
-        if (!veterinario.getAnimals().isEmpty()) {
-            throw new IllegalStateException("Cannot delete vet " + veterinario.getName() + " because they are still assigned to " + veterinario.getAnimals().size() + " animal(s).");
+        // CHANGED: One count query instead of loading the whole animals collection
+        long animals = animalRepository.countByVet_Id(id);
+        if (animals > 0) {
+            throw new IllegalStateException("Cannot delete vet " + veterinario.getName() + " because they are still assigned to " + animals + " animal(s).");
         }
         
         veterinarioRepository.delete(veterinario);
+        eventPublisher.publishEvent(VeterinarioChangedEvent.deleted(id));
     }
 
-    private VeterinarioResponseDTO convertToDto(Veterinario veterinario) {
+    VeterinarioResponseDTO convertToDto(Veterinario veterinario) {
         return new VeterinarioResponseDTO(
                 veterinario.getId(),
                 veterinario.getName(),
                 veterinario.getCrmv(),
                 veterinario.getSpecialty(),
-                veterinario.getStatus()
+                veterinario.getStatus(),
+                veterinario.getVersion(),
+                veterinario.getUpdatedAt()
         );
     }
 
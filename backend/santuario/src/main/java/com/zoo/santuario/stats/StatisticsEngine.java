@@ -0,0 +1,300 @@
+package com.zoo.santuario.stats;
+
+import com.zoo.santuario.event.AnimalChangedEvent;
+import com.zoo.santuario.event.ChangesCommittedEvent;
+import com.zoo.santuario.event.CuidadorChangedEvent;
+import com.zoo.santuario.event.EntityChangedEvent;
+import com.zoo.santuario.event.HabitatChangedEvent;
+import com.zoo.santuario.event.VeterinarioChangedEvent;
+import com.zoo.santuario.repository.AnimalRepository;
+import com.zoo.santuario.repository.CuidadorRepository;
+import com.zoo.santuario.repository.EntityStatus;
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the zoo's counts in memory so that the dashboard never has to scan the {@code animal} table.
+ *
+ * --- How It Works ---
+ * 1.  Once the application is ready, the engine reads one narrow row per animal, habitat, keeper
+ *     and vet, and counts animals per species, status and sex, residents per habitat, and the
+ *     workload of every keeper and vet.
+ * 2.  The services publish an AnimalChangedEvent, HabitatChangedEvent, CuidadorChangedEvent or
+ *     VeterinarioChangedEvent for every write, and ChangeLog hands the last one of each row to the
+ *     engine in a single ChangesCommittedEvent once the transaction has committed. For each change the
+ *     engine replaces the row it holds for that id and adjusts the counts by the difference. Because
+ *     events carry the new state rather than a delta, replaying one is harmless.
+ * 3.  Once a transaction's changes are applied, the counts are copied into an immutable ZooStatistics
+ *     and published through an AtomicReference, so a bulk import builds one snapshot rather than one
+ *     per animal. Readers only ever dereference it: they take no lock and never see a
+ *     half-applied change. Writers are serialized by a lock, which is fine because writes are rare.
+ * 4.  Every {@code statistics.reconcile-interval} (default 10 minutes) the counts are rebuilt from
+ *     the database. This corrects writes made by other instances and any event that was missed, and
+ *     the drift it found is logged. Events that arrive while the database is being read are
+ *     replayed on top of the fresh counts.
+ */
+@Component
+public class StatisticsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsEngine.class);
+
+    // The columns of an animal the counts depend on.
+    private record AnimalRow(String species, String status, String sex, Long habitatId, Long keeperId, Long vetId) {
+
+        static AnimalRow of(AnimalChangedEvent.Facts facts) {
+            return new AnimalRow(facts.species(), facts.status(), facts.sex(), facts.habitatId(), facts.keeperId(), facts.vetId());
+        }
+    }
+
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private HabitatRepository habitatRepository;
+    @Autowired
+    private CuidadorRepository cuidadorRepository;
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+
+    private final AtomicReference<ZooStatistics> snapshot = new AtomicReference<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private Counts counts = new Counts();
+    // Non-null while a reconciliation is reading the database: the changes applied meanwhile.
+    private List<Consumer<Counts>> changedDuringReconcile;
+    private LocalDateTime reconciledAt;
+
+    /**
+     * The latest snapshot, or null until the first build has finished.
+     */
+    public ZooStatistics current() {
+        return snapshot.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${statistics.reconcile-interval:PT10M}", initialDelayString = "${statistics.reconcile-interval:PT10M}")
+    // One transaction, so all four tables are read from the same database snapshot. Not read-only, so that it runs on
+    // the primary: a lagging replica would make the reconcile undo changes the events have already applied.
+    @Transactional
+    public void reconcile() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            changedDuringReconcile = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Counts fresh = new Counts();
+        try {
+            // The residents are counted again from the animal rows below.
+            for (HabitatRepository.Occupancy habitat : habitatRepository.findOccupancy()) {
+                fresh.putHabitat(habitat.getId(), new HabitatChangedEvent.Facts(habitat.getName(), habitat.getStatus(), habitat.getCapacity()));
+            }
+            for (EntityStatus keeper : cuidadorRepository.findAllStatuses()) {
+                fresh.putKeeper(keeper.getId(), keeper.getStatus());
+            }
+            for (EntityStatus vet : veterinarioRepository.findAllStatuses()) {
+                fresh.putVet(vet.getId(), vet.getStatus());
+            }
+            for (AnimalRepository.StatisticsFields animal : animalRepository.findAllStatisticsFields()) {
+                fresh.putAnimal(animal.getId(), new AnimalRow(animal.getSpecies(), animal.getStatus(), animal.getSex(),
+                        animal.getHabitatId(), animal.getKeeperId(), animal.getVetId()));
+            }
+        } catch (RuntimeException e) {
+            writeLock.lock();
+            try {
+                changedDuringReconcile = null;
+            } finally {
+                writeLock.unlock();
+            }
+            throw e;
+        }
+
+        boolean drifted;
+        writeLock.lock();
+        try {
+            changedDuringReconcile.forEach(change -> change.accept(fresh));
+            changedDuringReconcile = null;
+            drifted = snapshot.get() != null && !fresh.sameCountsAs(counts);
+            counts = fresh;
+            reconciledAt = LocalDateTime.now();
+            snapshot.set(counts.toSnapshot(reconciledAt));
+        } finally {
+            writeLock.unlock();
+        }
+        if (drifted) {
+            logger.warn("Statistics had drifted from the database and were corrected");
+        }
+        logger.info("Statistics rebuilt from {} animals in {} ms", snapshot.get().animals(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onChangesCommitted(ChangesCommittedEvent event) {
+        List<EntityChangedEvent> changes = event.changes();
+        apply(counts -> changes.forEach(change -> put(counts, change)));
+    }
+
+    private static void put(Counts counts, EntityChangedEvent change) {
+        if (change instanceof AnimalChangedEvent animal) {
+            counts.putAnimal(animal.id(), animal.isDeleted() ? null : AnimalRow.of(animal.animal()));
+        } else if (change instanceof HabitatChangedEvent habitat) {
+            counts.putHabitat(habitat.id(), habitat.habitat());
+        } else if (change instanceof CuidadorChangedEvent keeper) {
+            counts.putKeeper(keeper.id(), keeper.status());
+        } else if (change instanceof VeterinarioChangedEvent vet) {
+            counts.putVet(vet.id(), vet.status());
+        }
+    }
+
+    private void apply(Consumer<Counts> change) {
+        writeLock.lock();
+        try {
+            change.accept(counts);
+            if (changedDuringReconcile != null) {
+                changedDuringReconcile.add(change);
+            }
+            if (snapshot.get() != null) {
+                snapshot.set(counts.toSnapshot(reconciledAt));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The mutable state behind the snapshots: the current row of every entity, and the counts derived from them.
+     * Only used under the write lock.
+     */
+    private static final class Counts {
+        private final Map<Long, AnimalRow> animals = new HashMap<>();
+        private final Map<Long, HabitatChangedEvent.Facts> habitats = new HashMap<>();
+        private final Map<Long, String> keepers = new HashMap<>();
+        private final Map<Long, String> vets = new HashMap<>();
+
+        private final Map<String, Long> animalsBySpecies = new HashMap<>();
+        private final Map<String, Long> animalsByStatus = new HashMap<>();
+        private final Map<String, Long> animalsBySex = new HashMap<>();
+        private final Map<Long, Long> residents = new HashMap<>();
+        private final Map<Long, Long> keeperLoad = new HashMap<>();
+        private final Map<Long, Long> vetLoad = new HashMap<>();
+
+        // A null row removes the animal.
+        void putAnimal(Long id, AnimalRow row) {
+            AnimalRow old = row != null ? animals.put(id, row) : animals.remove(id);
+            if (old != null) {
+                count(old, -1);
+            }
+            if (row != null) {
+                count(row, 1);
+            }
+        }
+
+        void putHabitat(Long id, HabitatChangedEvent.Facts habitat) {
+            if (habitat != null) {
+                habitats.put(id, habitat);
+            } else {
+                habitats.remove(id);
+            }
+        }
+
+        void putKeeper(Long id, String status) {
+            if (status != null) {
+                keepers.put(id, status);
+            } else {
+                keepers.remove(id);
+            }
+        }
+
+        void putVet(Long id, String status) {
+            if (status != null) {
+                vets.put(id, status);
+            } else {
+                vets.remove(id);
+            }
+        }
+
+        private void count(AnimalRow row, long delta) {
+            add(animalsBySpecies, row.species(), delta);
+            add(animalsByStatus, row.status(), delta);
+            add(animalsBySex, row.sex(), delta);
+            add(residents, row.habitatId(), delta);
+            add(keeperLoad, row.keeperId(), delta);
+            add(vetLoad, row.vetId(), delta);
+        }
+
+        // Keys whose count drops to zero are removed, so that equal counts always mean equal maps.
+        private static <K> void add(Map<K, Long> counts, K key, long delta) {
+            if (key != null) {
+                counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+            }
+        }
+
+        boolean sameCountsAs(Counts other) {
+            return animals.size() == other.animals.size()
+                    && animalsBySpecies.equals(other.animalsBySpecies)
+                    && animalsByStatus.equals(other.animalsByStatus)
+                    && animalsBySex.equals(other.animalsBySex)
+                    && residents.equals(other.residents)
+                    && keeperLoad.equals(other.keeperLoad)
+                    && vetLoad.equals(other.vetLoad)
+                    && habitats.equals(other.habitats)
+                    && keepers.equals(other.keepers)
+                    && vets.equals(other.vets);
+        }
+
+        ZooStatistics toSnapshot(LocalDateTime reconciledAt) {
+            List<ZooStatistics.HabitatOccupancy> habitatOccupancy = new ArrayList<>(habitats.size());
+            new TreeMap<>(habitats).forEach((id, habitat) -> habitatOccupancy.add(new ZooStatistics.HabitatOccupancy(
+                    id, habitat.name(), habitat.status(), habitat.capacity(), residents.getOrDefault(id, 0L))));
+            return new ZooStatistics(
+                    animals.size(),
+                    sorted(animalsBySpecies),
+                    sorted(animalsByStatus),
+                    sorted(animalsBySex),
+                    Collections.unmodifiableList(habitatOccupancy),
+                    countValues(habitats.values().stream().map(HabitatChangedEvent.Facts::status).toList()),
+                    workload(keepers, keeperLoad),
+                    countValues(keepers.values()),
+                    workload(vets, vetLoad),
+                    countValues(vets.values()),
+                    reconciledAt);
+        }
+
+        private static List<ZooStatistics.Workload> workload(Map<Long, String> people, Map<Long, Long> load) {
+            List<ZooStatistics.Workload> workload = new ArrayList<>(people.size());
+            new TreeMap<>(people).forEach((id, status) -> workload.add(new ZooStatistics.Workload(id, status, load.getOrDefault(id, 0L))));
+            return Collections.unmodifiableList(workload);
+        }
+
+        private static Map<String, Long> countValues(Iterable<String> values) {
+            Map<String, Long> counts = new TreeMap<>();
+            for (String value : values) {
+                counts.merge(Objects.requireNonNullElse(value, ""), 1L, Long::sum);
+            }
+            return Collections.unmodifiableMap(counts);
+        }
+
+        private static Map<String, Long> sorted(Map<String, Long> counts) {
+            return Collections.unmodifiableMap(new TreeMap<>(counts));
+        }
+    }
+}
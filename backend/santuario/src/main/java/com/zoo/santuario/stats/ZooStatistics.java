@@ -0,0 +1,29 @@
+package com.zoo.santuario.stats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the counts kept by StatisticsEngine. Maps are sorted by key and lists by id.
+ */
+public record ZooStatistics(
+        long animals,
+        Map<String, Long> animalsBySpecies,
+        Map<String, Long> animalsByStatus,
+        Map<String, Long> animalsBySex,
+        List<HabitatOccupancy> habitats,
+        Map<String, Long> habitatsByStatus,
+        List<Workload> keepers,
+        Map<String, Long> keepersByStatus,
+        List<Workload> vets,
+        Map<String, Long> vetsByStatus,
+        LocalDateTime reconciledAt) {
+
+    public record HabitatOccupancy(Long habitatId, String name, String status, int capacity, long residents) {
+    }
+
+    // Number of animals assigned to one keeper or vet.
+    public record Workload(Long id, String status, long animals) {
+    }
+}
@@ -0,0 +1,8 @@
+-- GET /api/cuidadores/{id}/animals, /api/veterinarios/{id}/animals and /api/alimentacoes/{id}/animals:
+-- the residents of one keeper, vet or feeding plan in keyset order (foreign key, then id), so a page
+-- reads only that page's index entries. /api/habitats/{id}/animals uses idx_animal_habitat_id (V2).
+-- Also used by the delete checks (countByKeeper_Id, countByVet_Id, countByFeedingPlan_Id). Each takes
+-- over the index MySQL created implicitly for the foreign key.
+create index idx_animal_keeper_id on animal (keeper_id, id);
+create index idx_animal_vet_id on animal (vet_id, id);
+create index idx_animal_feeding_plan_id on animal (feeding_plan_id, id);
@@ -0,0 +1,62 @@
+-- Baseline: the schema exactly as spring.jpa.hibernate.ddl-auto=update used to create it.
+-- Databases that already have these tables are baselined at this version (see
+-- spring.flyway.baseline-on-migrate) and only run the migrations that follow.
+
+create table alimentacao (
+    id bigint not null auto_increment,
+    plan_name varchar(255) not null,
+    food_type varchar(255) not null,
+    quantity varchar(255) not null,
+    frequency varchar(255) not null,
+    primary key (id)
+);
+
+create table cuidador (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    contact varchar(255) not null,
+    specialty varchar(255) not null,
+    status varchar(255) not null,
+    work_shift varchar(255) not null,
+    primary key (id),
+    constraint uk_cuidador_contact unique (contact)
+);
+
+create table habitat (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    type varchar(255) not null,
+    capacity integer not null,
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table veterinario (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    crmv varchar(255) not null,
+    specialty varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id),
+    constraint uk_veterinario_crmv unique (crmv)
+);
+
+create table animal (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    species varchar(255) not null,
+    age integer not null,
+    sex varchar(255) not null,
+    arrival_date varchar(255) not null,
+    status varchar(255) not null,
+    image varchar(255),
+    keeper_id bigint,
+    vet_id bigint,
+    habitat_id bigint,
+    feeding_plan_id bigint,
+    primary key (id),
+    constraint fk_animal_keeper foreign key (keeper_id) references cuidador (id),
+    constraint fk_animal_vet foreign key (vet_id) references veterinario (id),
+    constraint fk_animal_habitat foreign key (habitat_id) references habitat (id),
+    constraint fk_animal_feeding_plan foreign key (feeding_plan_id) references alimentacao (id)
+);
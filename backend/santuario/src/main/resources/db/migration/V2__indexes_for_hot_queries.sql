@@ -0,0 +1,22 @@
+-- Secondary indexes for the access paths the services use on every request.
+-- The trailing id column matches the keyset pagination order (filter column, then id).
+
+-- AnimalService.validateHabitatCapacity: countByHabitat_Id. Also takes over the index MySQL
+-- created implicitly for fk_animal_habitat.
+create index idx_animal_habitat_id on animal (habitat_id, id);
+
+-- getFilteredAnimals: species equality, optionally combined with an age range.
+create index idx_animal_species_age on animal (species, age, id);
+
+-- getFilteredAnimals: age range without species, and sort=age.
+create index idx_animal_age on animal (age, id);
+
+-- Keyset pagination with sort=name / sort=arrivalDate.
+create index idx_animal_name on animal (name, id);
+create index idx_animal_arrival_date on animal (arrival_date, id);
+
+-- findBySpecialty / findByType / findByFoodType and their Specification equivalents.
+create index idx_cuidador_specialty on cuidador (specialty, id);
+create index idx_veterinario_specialty on veterinario (specialty, id);
+create index idx_habitat_type on habitat (type, id);
+create index idx_alimentacao_food_type on alimentacao (food_type, id);
@@ -0,0 +1,13 @@
+-- Animal ids are handed out by Hibernate's pooled table generator (allocationSize = 50) so that
+-- inserts can be sent in JDBC batches. The pooled optimizer treats the stored value as the top
+-- of the next block, so the first block after this migration starts right after the highest id
+-- already in use. The auto_increment on animal.id is left in place but no longer used.
+
+create table id_generator (
+    entity varchar(64) not null,
+    next_val bigint not null,
+    primary key (entity)
+);
+
+insert into id_generator (entity, next_val)
+select 'animal', coalesce(max(id), 0) + 50 from animal;
@@ -0,0 +1,19 @@
+-- Keeper emails are written here in the same transaction as the animal change and sent by a
+-- background dispatcher, so the API no longer waits for SendGrid.
+
+create table notification_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body longtext not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    created_at datetime(6) not null,
+    next_attempt_at datetime(6) not null,
+    sent_at datetime(6),
+    last_error varchar(1000),
+    primary key (id)
+);
+
+-- The dispatcher polls for "status = 'PENDING' and next_attempt_at <= now() order by next_attempt_at".
+create index idx_notification_outbox_due on notification_outbox (status, next_attempt_at);
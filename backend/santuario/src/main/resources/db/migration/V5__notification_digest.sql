@@ -0,0 +1,7 @@
+-- Notifications are now coalesced per recipient into digest emails: the greeting is added when
+-- the digest is composed, so the keeper's name is stored next to the address.
+
+alter table notification_outbox add column recipient_name varchar(255);
+
+-- The dispatcher pulls in every waiting notification of a recipient it is about to email.
+create index idx_notification_outbox_recipient on notification_outbox (recipient, status);
@@ -0,0 +1,3 @@
+-- GET /api/dashboard/summary counts animals per status. With this index MySQL answers the
+-- group by from the index alone instead of scanning the animal table.
+create index idx_animal_status on animal (status);
@@ -0,0 +1,7 @@
+-- Each habitat keeps its number of residents in a column. AnimalService admits an animal with a
+-- single conditional update (occupancy < capacity) instead of counting the animals table, which
+-- also closes the race where two concurrent creates both saw a free place.
+
+alter table habitat add column occupancy int not null default 0;
+
+update habitat h set occupancy = (select count(*) from animal a where a.habitat_id = h.id);
@@ -0,0 +1,34 @@
+-- Delta sync: every row of the five tables gets a version (optimistic locking) and the time of its last
+-- change, and every committed create, update and delete is recorded in change_log, in the same transaction.
+-- GET /api/changes?since=<seq> reads the log, so a client that reconnects only downloads what changed.
+
+alter table animal add column version bigint not null default 0;
+alter table animal add column updated_at datetime(6);
+alter table cuidador add column version bigint not null default 0;
+alter table cuidador add column updated_at datetime(6);
+alter table veterinario add column version bigint not null default 0;
+alter table veterinario add column updated_at datetime(6);
+alter table habitat add column version bigint not null default 0;
+alter table habitat add column updated_at datetime(6);
+alter table alimentacao add column version bigint not null default 0;
+alter table alimentacao add column updated_at datetime(6);
+
+update animal set updated_at = current_timestamp(6);
+update cuidador set updated_at = current_timestamp(6);
+update veterinario set updated_at = current_timestamp(6);
+update habitat set updated_at = current_timestamp(6);
+update alimentacao set updated_at = current_timestamp(6);
+
+-- One row per changed entity per transaction; deleted = true is the tombstone of a deleted row.
+create table change_log (
+    seq bigint not null auto_increment,
+    entity varchar(32) not null,
+    entity_id bigint not null,
+    deleted boolean not null,
+    changed_at datetime(6) not null,
+    primary key (seq)
+);
+
+-- Latest change per table (e.g. for validators), and pruning by age.
+create index idx_change_log_entity_seq on change_log (entity, seq);
+create index idx_change_log_changed_at on change_log (changed_at);
@@ -0,0 +1,16 @@
+-- Conditional GET: a modification counter per table, raised once by every transaction that changes the
+-- table (see TableVersions). The ETags of the read endpoints are built from it, so a client whose copy is
+-- current gets 304 Not Modified after one primary-key lookup instead of the query and the body.
+
+create table table_version (
+    entity varchar(32) not null,
+    version bigint not null,
+    primary key (entity)
+);
+
+insert into table_version (entity, version) values
+    ('alimentacao', 0),
+    ('animal', 0),
+    ('cuidador', 0),
+    ('habitat', 0),
+    ('veterinario', 0);
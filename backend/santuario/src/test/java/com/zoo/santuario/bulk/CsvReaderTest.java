@@ -0,0 +1,39 @@
+package com.zoo.santuario.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void readsWhatTheCsvExportWrites() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("name,status\r\nSimba,Healthy\r\n\"Rei \"\"Leão\"\", o Grande\",\r\n"));
+
+        assertEquals(List.of("name", "status"), reader.next());
+        assertEquals(List.of("Simba", "Healthy"), reader.next());
+        assertEquals(List.of("Rei \"Leão\", o Grande", ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotesAndSkipsBlankLines() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("\"two\nlines\",x\n\nlast,y"));
+
+        assertEquals(List.of("two\nlines", "x"), reader.next());
+        assertEquals(List.of("last", "y"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("\"open,x\n"));
+
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
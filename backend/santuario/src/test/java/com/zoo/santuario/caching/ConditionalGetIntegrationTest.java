@@ -0,0 +1,143 @@
+package com.zoo.santuario.caching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.dto.HabitatRequestDTO;
+import com.zoo.santuario.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Revalidates habitat reads with If-None-Match while habitats change, on an in-memory H2 database
+ * migrated with the application's own Flyway scripts.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.data-source-properties.useCursorFetch=",
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=",
+        "http.cache-control.habitats=private, max-age=5",
+        "SENDGRID_API_KEY=test-key",
+        "SENDGRID_FROM_EMAIL=zoo@example.com"
+})
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:conditional;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @MockBean
+    private EmailService emailService;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unchangedReadsAreAnsweredWithNotModified() throws Exception {
+        long id = createHabitat("Savana");
+        String etag = mockMvc.perform(get("/api/habitats/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, max-age=5"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/habitats/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, max-age=5"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void writesByAnotherInstanceRefreshTheLocalCache() throws Exception {
+        long id = createHabitat("Lago");
+        mockMvc.perform(get("/api/habitats")).andExpect(status().isOk());
+
+        // Another instance renames the habitat: the shared counter moves, this instance's cache is not told.
+        jdbcTemplate.update("update habitat set name = 'Lago azul' where id = ?", id);
+        jdbcTemplate.update("update table_version set version = version + 1 where entity = 'habitat'");
+
+        String body = mockMvc.perform(get("/api/habitats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Lago azul"), body);
+    }
+
+    @Test
+    void writesChangeTheETag() throws Exception {
+        long id = createHabitat("Floresta");
+        String before = listETag();
+
+        mockMvc.perform(put("/api/habitats/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HabitatRequestDTO("Floresta tropical", "Terrestre", 10, "Operacional"))))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/habitats").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(before, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void differentPagesHaveDifferentETags() throws Exception {
+        createHabitat("Aviário");
+        String firstPage = mockMvc.perform(get("/api/habitats").param("page", "0").param("size", "1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String secondPage = mockMvc.perform(get("/api/habitats").param("page", "1").param("size", "1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(firstPage, secondPage);
+    }
+
+    @Test
+    void errorsAreNotTagged() throws Exception {
+        mockMvc.perform(get("/api/habitats/{id}", 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String listETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/habitats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals('"', etag.charAt(0));
+        return etag;
+    }
+
+    private long createHabitat(String name) throws Exception {
+        JsonNode created = objectMapper.readTree(mockMvc.perform(post("/api/habitats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HabitatRequestDTO(name, "Terrestre", 10, "Operacional"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+        return created.get("id").asLong();
+    }
+}
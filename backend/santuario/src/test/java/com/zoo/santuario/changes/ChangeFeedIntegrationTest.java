@@ -0,0 +1,184 @@
+package com.zoo.santuario.changes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.dto.HabitatRequestDTO;
+import com.zoo.santuario.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Follows GET /api/changes and the live stream while habitats are created, updated and deleted, on an
+ * in-memory H2 database migrated with the application's own Flyway scripts.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.data-source-properties.useCursorFetch=",
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=",
+        "SENDGRID_API_KEY=test-key",
+        "SENDGRID_FROM_EMAIL=zoo@example.com"
+})
+@AutoConfigureMockMvc
+class ChangeFeedIntegrationTest {
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:changes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @MockBean
+    private EmailService emailService;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createdRowsArriveWithTheirCurrentState() throws Exception {
+        String token = currentToken();
+        JsonNode created = createHabitat("Savana");
+        assertEquals(0, created.get("version").asLong());
+        assertFalse(created.get("updatedAt").isNull());
+
+        JsonNode feed = changesSince(token);
+        assertEquals(1, feed.get("changes").size());
+        JsonNode change = feed.get("changes").get(0);
+        assertEquals("habitat", change.get("entity").asText());
+        assertEquals(created.get("id").asLong(), change.get("id").asLong());
+        assertFalse(change.get("deleted").asBoolean());
+        assertEquals("Savana", change.get("data").get("name").asText());
+        assertFalse(feed.get("hasMore").asBoolean());
+
+        // Nothing changed since the token the feed handed out.
+        assertEquals(0, changesSince(feed.get("nextToken").asText()).get("changes").size());
+    }
+
+    @Test
+    void repeatedChangesToARowCollapseIntoItsLatestState() throws Exception {
+        String token = currentToken();
+        long id = createHabitat("Floresta").get("id").asLong();
+        mockMvc.perform(put("/api/habitats/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HabitatRequestDTO("Floresta Atlântica", "Terrestre", 12, "Operacional"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        JsonNode changes = changesSince(token).get("changes");
+        assertEquals(1, changes.size());
+        assertEquals("Floresta Atlântica", changes.get(0).get("data").get("name").asText());
+        assertEquals(1, changes.get(0).get("data").get("version").asLong());
+    }
+
+    @Test
+    void deletedRowsArriveAsTombstones() throws Exception {
+        long id = createHabitat("Pantanal").get("id").asLong();
+        String token = currentToken();
+        mockMvc.perform(delete("/api/habitats/" + id)).andExpect(status().isNoContent());
+
+        JsonNode changes = changesSince(token).get("changes");
+        assertEquals(1, changes.size());
+        assertEquals(id, changes.get(0).get("id").asLong());
+        assertTrue(changes.get(0).get("deleted").asBoolean());
+        assertTrue(changes.get(0).get("data").isNull());
+    }
+
+    @Test
+    void limitPagesThroughTheChanges() throws Exception {
+        String token = currentToken();
+        createHabitat("Aviário");
+        createHabitat("Aquário");
+
+        JsonNode first = objectMapper.readTree(mockMvc.perform(get("/api/changes").param("since", token).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(1, first.get("changes").size());
+        assertTrue(first.get("hasMore").asBoolean());
+        JsonNode second = changesSince(first.get("nextToken").asText());
+        assertEquals(1, second.get("changes").size());
+        assertNotEquals(first.get("changes").get(0).get("id"), second.get("changes").get(0).get("id"));
+    }
+
+    @Test
+    void invalidAndExpiredTokensAreRejectedAndTokensAheadWait() throws Exception {
+        mockMvc.perform(get("/api/changes").param("since", "abc")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/changes").param("since", "1").param("limit", "0")).andExpect(status().isBadRequest());
+
+        createHabitat("Montanha");
+        createHabitat("Caverna");
+        long newest = Long.parseLong(currentToken());
+        // A token from a primary that this database has not caught up with yet: nothing to report so far.
+        JsonNode ahead = changesSince(Long.toString(newest + 1));
+        assertEquals(0, ahead.get("changes").size());
+        assertEquals(Long.toString(newest + 1), ahead.get("nextToken").asText());
+
+        // Entries before the newest pruned: a token from before them has missed changes.
+        jdbcTemplate.update("delete from change_log where seq < ?", newest);
+        mockMvc.perform(get("/api/changes").param("since", Long.toString(newest - 2))).andExpect(status().isGone());
+        mockMvc.perform(get("/api/changes").param("since", Long.toString(newest - 1))).andExpect(status().isOk());
+    }
+
+    @Test
+    void streamPushesCommittedChanges() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        long id = createHabitat("Recinto ao vivo").get("id").asLong();
+
+        String expected = "\"entity\":\"habitat\",\"id\":" + id + ",\"deleted\":false";
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!stream.getResponse().getContentAsString().contains(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, stream.getResponse().getContentAsString());
+            Thread.sleep(20);
+        }
+        assertTrue(stream.getResponse().getContentAsString().contains("event:changes"));
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, stream.getResponse().getContentType());
+    }
+
+    private String currentToken() throws Exception {
+        JsonNode feed = objectMapper.readTree(mockMvc.perform(get("/api/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andReturn().getResponse().getContentAsString());
+        return feed.get("nextToken").asText();
+    }
+
+    private JsonNode changesSince(String token) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/changes").param("since", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode createHabitat(String name) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post("/api/habitats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HabitatRequestDTO(name, "Terrestre", 10, "Operacional"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
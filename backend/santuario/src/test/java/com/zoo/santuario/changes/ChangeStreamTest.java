@@ -0,0 +1,196 @@
+package com.zoo.santuario.changes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zoo.santuario.event.ChangesCommittedEvent;
+import com.zoo.santuario.event.EntityChangedEvent;
+import com.zoo.santuario.event.HabitatChangedEvent;
+import com.zoo.santuario.exception.StreamCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChangeStream stream = new ChangeStream();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stream, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(stream, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(stream, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(stream, "bufferSize", 2);
+        ReflectionTestUtils.setField(stream, "maxSubscribers", 3);
+        ReflectionTestUtils.setField(stream, "maxChangesPerEvent", 5);
+        ReflectionTestUtils.setField(stream, "senderThreads", 2);
+        ReflectionTestUtils.setField(stream, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(stream, "reconnectDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(stream, "heartbeatInterval", Duration.ofMinutes(1));
+        stream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    @Test
+    void committedChangesReachEverySubscriber() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        stream.subscribe(first);
+        stream.subscribe(second);
+
+        stream.onChangesCommitted(committed(HabitatChangedEvent.deleted(7L)));
+
+        for (RecordingEmitter emitter : List.of(first, second)) {
+            await(() -> emitter.sent().contains("event:changes"));
+            assertTrue(emitter.sent().contains("\"entity\":\"habitat\",\"id\":7,\"deleted\":true"), emitter.sent());
+        }
+    }
+
+    @Test
+    void largeTransactionsOnlyNameTheEntitiesToReload() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        stream.subscribe(emitter);
+
+        stream.onChangesCommitted(committed(LongStream.rangeClosed(1, 6).mapToObj(HabitatChangedEvent::deleted).toArray(EntityChangedEvent[]::new)));
+
+        await(() -> emitter.sent().contains("event:changes"));
+        assertTrue(emitter.sent().contains("{\"changes\":[],\"reload\":[\"habitat\"]}"), emitter.sent());
+    }
+
+    @Test
+    void slowSubscribersAreDisconnectedWithoutHoldingUpTheOthers() throws Exception {
+        RecordingEmitter slow = new RecordingEmitter();
+        RecordingEmitter fast = new RecordingEmitter();
+        slow.block();
+        stream.subscribe(slow);
+        stream.subscribe(fast);
+        await(slow::isBlocked);
+        await(() -> fast.sent().contains("connected"));
+
+        // The slow subscriber is stuck writing its first message; two more fill its queue, the third overflows it.
+        // The fast one gets each event before the next is published, so its own queue never fills.
+        for (long id = 1; id <= 3; id++) {
+            stream.onChangesCommitted(committed(HabitatChangedEvent.deleted(id)));
+            String delivered = "\"id\":" + id;
+            await(() -> fast.sent().contains(delivered));
+        }
+
+        assertEquals(1, stream.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("changes.stream.evictions").count());
+
+        slow.unblock();
+        await(slow::isCompleted);
+        assertFalse(slow.sent().contains("event:changes"));
+    }
+
+    @Test
+    void heartbeatsRemoveSubscribersThatHaveGoneAway() {
+        RecordingEmitter gone = new RecordingEmitter();
+        stream.subscribe(gone);
+        await(() -> gone.sent().contains("connected"));
+
+        gone.disconnect();
+        stream.heartbeat();
+
+        await(() -> stream.subscriberCount() == 0);
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreTurnedAway() {
+        for (int i = 0; i < 3; i++) {
+            stream.subscribe(new RecordingEmitter());
+        }
+        assertThrows(StreamCapacityExceededException.class, () -> stream.subscribe(new RecordingEmitter()));
+    }
+
+    private static ChangesCommittedEvent committed(EntityChangedEvent... changes) {
+        return new ChangesCommittedEvent(List.of(changes), LocalDateTime.of(2024, 5, 1, 12, 0));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the stream");
+            Thread.onSpinWait();
+        }
+    }
+
+    // Records what would have been written to the response, optionally blocking like a client that stopped reading.
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean blocked;
+        private volatile boolean disconnected;
+        private volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            blocked = true;
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            blocked = false;
+            sent.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String sent() {
+            return String.join("", sent);
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void unblock() {
+            gate.countDown();
+        }
+
+        boolean isBlocked() {
+            return blocked;
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        void disconnect() {
+            disconnected = true;
+        }
+    }
+}
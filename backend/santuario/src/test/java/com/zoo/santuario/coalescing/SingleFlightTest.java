@@ -0,0 +1,121 @@
+package com.zoo.santuario.coalescing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 20;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsForTheSameKeyShareOneRun() throws Exception {
+        SingleFlight<String, List<String>> singleFlight = new SingleFlight<>(Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<String>>> results = submitAll(() -> singleFlight.execute("animals?species=Leão", () -> {
+            queries.incrementAndGet();
+            await(release);
+            return List.of("Simba");
+        }));
+        // Give every caller time to arrive while the first run is still blocked.
+        waitUntil(() -> singleFlight.getShared() == CALLERS - 1);
+        release.countDown();
+
+        List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1, singleFlight.getExecuted());
+    }
+
+    @Test
+    void finishedRunIsNotReusedWithoutTtl() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ZERO);
+
+        singleFlight.execute("habitats", queries::incrementAndGet);
+        singleFlight.execute("habitats", queries::incrementAndGet);
+        singleFlight.execute("cuidadores", queries::incrementAndGet);
+
+        assertEquals(3, queries.get());
+    }
+
+    @Test
+    void resultIsReusedWithinTheTtlAndThenExpires() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(Duration.ofMillis(200));
+
+        assertEquals(1, singleFlight.execute("habitats", queries::incrementAndGet));
+        assertEquals(1, singleFlight.execute("habitats", queries::incrementAndGet));
+        Thread.sleep(400);
+        assertEquals(2, singleFlight.execute("habitats", queries::incrementAndGet));
+    }
+
+    @Test
+    void failureReachesEveryWaitingCallerAndIsNotKept() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMinutes(1));
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> singleFlight.execute("veterinarios", () -> {
+            queries.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        waitUntil(() -> singleFlight.getShared() == CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("database unavailable", e.getCause().getMessage());
+        }
+        assertEquals("ok", singleFlight.execute("veterinarios", () -> "ok"));
+        assertEquals(1, queries.get());
+    }
+
+    private <T> List<Future<T>> submitAll(Callable<T> call) {
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(call));
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
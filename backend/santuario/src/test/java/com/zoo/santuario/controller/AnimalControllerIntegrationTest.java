@@ -1,8 +1,13 @@
 package com.zoo.santuario.controller;
 
 import com.zoo.santuario.SantuarioApplication;
+import com.zoo.santuario.dto.AlimentacaoRequestDTO;
 import com.zoo.santuario.dto.AnimalRequestDTO;
 import com.zoo.santuario.dto.CuidadorRequestDTO; // Import CuidadorRequestDTO
+import com.zoo.santuario.dto.HabitatRequestDTO;
+import com.zoo.santuario.dto.VeterinarioRequestDTO;
+import com.zoo.santuario.metrics.QueryCount;
+import com.zoo.santuario.repository.AlimentacaoRepository;
 import com.zoo.santuario.repository.AnimalRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +26,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zoo.santuario.service.EmailService;
 import com.zoo.santuario.repository.CuidadorRepository; // Import CuidadorRepository
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,6 +52,15 @@ public class AnimalControllerIntegrationTest {
     @Autowired
     private CuidadorRepository cuidadorRepository;
 
+    @Autowired
+    private HabitatRepository habitatRepository;
+
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+
+    @Autowired
+    private AlimentacaoRepository alimentacaoRepository;
+
     @MockBean
     private EmailService emailService;
 
@@ -57,15 +75,21 @@ public class AnimalControllerIntegrationTest {
         registry.add("spring.datasource.url", mysql::getJdbcUrl);
         registry.add("spring.datasource.username", mysql::getUsername);
         registry.add("spring.datasource.password", mysql::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop"); // Ensure schema is created for each test run
+        // The schema is created by the Flyway migrations on the fresh container, just like in production.
     }
 
     private Long caretakerId; // To store the ID of the created caretaker
+    private Long vetId;
+    private Long habitatId;
+    private Long feedingPlanId;
 
     @BeforeEach
     void setUp() throws Exception {
         animalRepository.deleteAll(); // Clean up animal data before each test
         cuidadorRepository.deleteAll(); // Clean up cuidador data before each test
+        veterinarioRepository.deleteAll();
+        habitatRepository.deleteAll();
+        alimentacaoRepository.deleteAll();
 
         // Create a caretaker first
         CuidadorRequestDTO cuidadorRequestDTO = new CuidadorRequestDTO(
@@ -76,31 +100,62 @@ public class AnimalControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(cuidadorRequestDTO)))
                 .andExpect(status().isCreated())
+                // The unique-contact check, the insert, its change log entry and the table version
+                .andExpect(QueryCount.statements(4))
                 .andReturn().getResponse().getContentAsString();
 
         // Extract the ID of the created caretaker
         caretakerId = objectMapper.readTree(responseString).get("id").asLong();
+
+        // An animal also needs a vet, a habitat and a feeding plan
+        vetId = createAndGetId("/api/veterinarios", new VeterinarioRequestDTO("Dr. Rafiki", "CRMV-1234", "Felinos", "Ativo"));
+        habitatId = createAndGetId("/api/habitats", new HabitatRequestDTO("Savana", "Terrestre", 10, "Operacional"));
+        feedingPlanId = createAndGetId("/api/alimentacoes", new AlimentacaoRequestDTO("Carnívoros", "Carne", "5kg", "Diária"));
+    }
+
+    private Long createAndGetId(String path, Object requestDTO) throws Exception {
+        String responseString = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                // The insert, its change log entry and the table version
+                .andExpect(QueryCount.statements(3))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(responseString).get("id").asLong();
     }
 
     @Test
     void testCreateAnimal() throws Exception {
         AnimalRequestDTO animalRequestDTO = new AnimalRequestDTO(
-                "Simba", "Lion", 5, "Male", "2020-01-01", "Healthy", null, caretakerId, null, null, null
+                "Simba", "Lion", 5, "Male", "2020-01-01", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId
         );
 
+        // Habitat admission, keeper, vet and feeding plan lookups, the insert, the keeper's notification, the change
+        // log entry and the table version; the first insert of every 50 also reserves the next block of ids (a select
+        // and an update on id_generator).
         mockMvc.perform(post("/api/animals")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(animalRequestDTO)))
                 .andExpect(status().isCreated())
+                .andExpect(QueryCount.atMostStatements(10))
                 .andExpect(jsonPath("$.name", is("Simba")))
                 .andExpect(jsonPath("$.species", is("Lion")));
+
+        // The keeper, vet and feeding plan now come from the second-level cache
+        animalRequestDTO.setName("Mufasa");
+        mockMvc.perform(post("/api/animals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(animalRequestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(QueryCount.statements(5))
+                .andExpect(jsonPath("$.name", is("Mufasa")));
     }
 
     @Test
     void testGetAllAnimals() throws Exception {
         // Create an animal first
         AnimalRequestDTO animalRequestDTO = new AnimalRequestDTO(
-                "Simba", "Lion", 5, "Male", "2020-01-01", "Healthy", null, caretakerId, null, null, null
+                "Simba", "Lion", 5, "Male", "2020-01-01", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId
         );
         mockMvc.perform(post("/api/animals")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -109,6 +164,8 @@ public class AnimalControllerIntegrationTest {
         mockMvc.perform(get("/api/animals")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                // The table version for the ETag and one projection query, however many animals there are
+                .andExpect(QueryCount.statements(2))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].name", is("Simba")));
     }
@@ -117,7 +174,7 @@ public class AnimalControllerIntegrationTest {
     void testGetAnimalById() throws Exception {
         // Create an animal first
         AnimalRequestDTO animalRequestDTO = new AnimalRequestDTO(
-                "Nala", "Lion", 3, "Female", "2021-03-15", "Healthy", null, caretakerId, null, null, null
+                "Nala", "Lion", 3, "Female", "2021-03-15", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId
         );
         String responseString = mockMvc.perform(post("/api/animals")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -130,15 +187,78 @@ public class AnimalControllerIntegrationTest {
         mockMvc.perform(get("/api/animals/{id}", animalId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                // The table version for the ETag and the animal
+                .andExpect(QueryCount.statements(2))
                 .andExpect(jsonPath("$.name", is("Nala")))
                 .andExpect(jsonPath("$.species", is("Lion")));
     }
 
+    @Test
+    void testGetAnimalsWithExpandedRelations() throws Exception {
+        for (String name : List.of("Timon", "Pumbaa")) {
+            mockMvc.perform(post("/api/animals")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new AnimalRequestDTO(
+                                    name, "Meerkat", 4, "Male", "2021-06-01", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/animals").param("expand", "keeper,vet,habitat,feedingPlan")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                // The table versions for the ETag and one query joining all four relations, however many animals there are
+                .andExpect(QueryCount.statements(2))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].keeper.name", everyItem(is("John Doe"))))
+                .andExpect(jsonPath("$[*].vet.name", everyItem(is("Dr. Rafiki"))))
+                .andExpect(jsonPath("$[*].habitat.name", everyItem(is("Savana"))))
+                .andExpect(jsonPath("$[*].feedingPlan.planName", everyItem(is("Carnívoros"))));
+
+        // Without expand the relations are only ids
+        mockMvc.perform(get("/api/animals").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].keeperId", is(caretakerId.intValue())))
+                .andExpect(jsonPath("$[0].keeper").doesNotExist());
+
+        mockMvc.perform(get("/api/animals").param("expand", "animals"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAnimalsOfRelatedResources() throws Exception {
+        for (String name : List.of("Rafiki", "Zazu", "Sarabi")) {
+            mockMvc.perform(post("/api/animals")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new AnimalRequestDTO(
+                                    name, "Mandrill", 9, "Male", "2019-02-01", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId))))
+                    .andExpect(status().isCreated());
+        }
+
+        for (String path : List.of("/api/cuidadores/{id}/animals", "/api/veterinarios/{id}/animals")) {
+            Long relatedId = path.startsWith("/api/cuidadores") ? caretakerId : vetId;
+            mockMvc.perform(get(path, relatedId).param("limit", "2"))
+                    .andExpect(status().isOk())
+                    // The table versions for the ETag and one projection query on the foreign key index
+                    .andExpect(QueryCount.statements(2))
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(header().exists("X-Next-Cursor"));
+        }
+        mockMvc.perform(get("/api/habitats/{id}/animals", habitatId).param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(QueryCount.statements(2))
+                .andExpect(jsonPath("$[*].name", contains("Rafiki", "Sarabi", "Zazu")));
+
+        // An empty page is only then checked against the feeding plans
+        mockMvc.perform(get("/api/alimentacoes/{id}/animals", feedingPlanId + 1000))
+                .andExpect(status().isNotFound())
+                .andExpect(QueryCount.statements(3));
+    }
+
     @Test
     void testUpdateAnimal() throws Exception {
         // Create an animal first
         AnimalRequestDTO animalRequestDTO = new AnimalRequestDTO(
-                "Zazu", "Hornbill", 2, "Male", "2022-01-01", "Healthy", null, caretakerId, null, null, null
+                "Zazu", "Hornbill", 2, "Male", "2022-01-01", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId
         );
         String responseString = mockMvc.perform(post("/api/animals")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -150,13 +270,16 @@ public class AnimalControllerIntegrationTest {
 
         // Update the animal
         AnimalRequestDTO updatedAnimalRequestDTO = new AnimalRequestDTO(
-                "Zazu Updated", "Hornbill", 3, "Male", "2022-01-01", "Injured", null, caretakerId, null, null, null
+                "Zazu Updated", "Hornbill", 3, "Male", "2022-01-01", "Injured", null, caretakerId, vetId, habitatId, feedingPlanId
         );
 
         mockMvc.perform(put("/api/animals/{id}", animalId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatedAnimalRequestDTO)))
                 .andExpect(status().isOk())
+                // Load the animal, queue the keeper's notification, update, log the change, bump the table version; the
+                // relations come from the cache
+                .andExpect(QueryCount.statements(5))
                 .andExpect(jsonPath("$.name", is("Zazu Updated")))
                 .andExpect(jsonPath("$.status", is("Injured")));
 
@@ -172,7 +295,7 @@ public class AnimalControllerIntegrationTest {
     void testDeleteAnimal() throws Exception {
         // Create an animal first
         AnimalRequestDTO animalRequestDTO = new AnimalRequestDTO(
-                "Timon", "Meerkat", 4, "Male", "2019-05-20", "Healthy", null, caretakerId, null, null, null
+                "Timon", "Meerkat", 4, "Male", "2019-05-20", "Healthy", null, caretakerId, vetId, habitatId, feedingPlanId
         );
         String responseString = mockMvc.perform(post("/api/animals")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -185,11 +308,15 @@ public class AnimalControllerIntegrationTest {
         // Delete the animal
         mockMvc.perform(delete("/api/animals/{id}", animalId)
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isNoContent())
+                // Load the animal, free its habitat place, queue the keeper's notification, delete, log the changes, bump
+                // the table versions
+                .andExpect(QueryCount.statements(6));
 
         // Verify deletion by trying to get the animal
         mockMvc.perform(get("/api/animals/{id}", animalId)
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(QueryCount.statements(2));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.zoo.santuario.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportWriterTest {
+
+    private static final List<ExportColumn<String[]>> COLUMNS = List.of(
+            ExportColumn.of("name", row -> row[0]),
+            ExportColumn.of("status", row -> row[1])
+    );
+
+    @Test
+    void csvQuotesFieldsThatNeedIt() throws Exception {
+        StringWriter out = new StringWriter();
+        ExportWriter<String[]> writer = ExportWriter.create(ExportFormat.CSV, COLUMNS, out, new ObjectMapper());
+
+        writer.writeHeader();
+        writer.writeRow(new String[]{"Simba", "Healthy"});
+        writer.writeRow(new String[]{"Rei \"Leão\", o Grande", null});
+        writer.flush();
+
+        assertEquals("name,status\r\nSimba,Healthy\r\n\"Rei \"\"Leão\"\", o Grande\",\r\n", out.toString());
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        StringWriter out = new StringWriter();
+        ExportWriter<String[]> writer = ExportWriter.create(ExportFormat.NDJSON, COLUMNS, out, new ObjectMapper());
+
+        writer.writeHeader();
+        writer.writeRow(new String[]{"Simba", "Healthy"});
+        writer.writeRow(new String[]{"Nala", null});
+        writer.flush();
+
+        assertEquals("{\"name\":\"Simba\",\"status\":\"Healthy\"}\n{\"name\":\"Nala\",\"status\":null}\n", out.toString());
+    }
+}
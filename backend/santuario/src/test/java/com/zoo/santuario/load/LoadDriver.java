@@ -0,0 +1,242 @@
+package com.zoo.santuario.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread and virtual-thread modes.
+ *
+ * --- How It Works ---
+ *
+ * 1.  `--concurrency` client threads each send one GET at a time, cycling through `--paths`
+ * (by default the five list requests and the summary the dashboard makes when it opens), so the
+ * server always has exactly that many requests in flight.
+ *
+ * 2.  Nothing is recorded during `--warmup`. During `--duration` every completed request's latency is
+ * kept, and the run ends with one line: requests per second, p50/p90/p99/max latency in milliseconds
+ * and the number of errors (non-2xx responses and I/O failures).
+ *
+ * 3.  It only uses the JDK, so it runs straight from the test classes against any running instance:
+ * `java -cp target/test-classes com.zoo.santuario.load.LoadDriver --base-url http://localhost:8080 --concurrency 800`
+ *
+ * 4.  {@link #drive} is the same loop for any {@link Workload}; {@link LoadTestHarness} uses it to run a
+ * mix of reads and writes and gets the results per operation.
+ */
+public class LoadDriver {
+
+    static final List<String> DASHBOARD_PATHS = List.of(
+            "/api/animals", "/api/habitats", "/api/cuidadores", "/api/veterinarios", "/api/alimentacoes",
+            "/api/dashboard/summary");
+
+    public record Result(String label, int concurrency, long requests, long errors, double throughput,
+                         double p50, double p90, double p99, double max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-16s concurrency=%-5d requests=%-8d throughput=%8.1f req/s  p50=%7.1f ms  p90=%7.1f ms  p99=%7.1f ms  max=%7.1f ms  errors=%d",
+                    label, concurrency, requests, throughput, p50, p90, p99, max, errors);
+        }
+    }
+
+    /**
+     * What one client thread does in a loop until the run is over; each call is one unit of work,
+     * which may make several (timed) requests.
+     */
+    @FunctionalInterface
+    public interface Workload {
+        void next(int client, Timings timings) throws InterruptedException;
+    }
+
+    @FunctionalInterface
+    public interface Call {
+        /** Makes the request and returns its HTTP status. */
+        int send() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Records the calls of one client thread under a name of the caller's choosing. Calls that start
+     * before the warmup is over or end after the run has finished are not recorded. Calls running in
+     * parallel for the same client may record concurrently.
+     */
+    public static final class Timings {
+
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<String, Recorder> recorders = new HashMap<>();
+
+        private Timings(long measureFrom, long measureUntil) {
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        /**
+         * Times the call under {@code name}; non-2xx statuses and I/O failures count as errors.
+         * Returns the status, or -1 when the call failed with an I/O error.
+         */
+        public int time(String name, Call call) throws InterruptedException {
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = call.send();
+            } catch (IOException e) {
+                status = -1;
+            }
+            record(name, start, System.nanoTime(), status / 100 == 2);
+            return status;
+        }
+
+        /**
+         * Records a unit of work that was timed by the caller, e.g. several requests made in parallel.
+         */
+        public synchronized void record(String name, long start, long end, boolean ok) {
+            if (start >= measureFrom && end <= measureUntil) {
+                recorders.computeIfAbsent(name, n -> new Recorder()).add(end - start, ok);
+            }
+        }
+
+        /**
+         * True once the run is over; long units of work can stop early, nothing more is recorded.
+         */
+        public boolean isOver() {
+            return System.nanoTime() >= measureUntil;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        List<String> paths = options.containsKey("paths") ? List.of(options.get("paths").split(",")) : DASHBOARD_PATHS;
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        String label = options.getOrDefault("label", "run");
+
+        System.out.println(run(label, baseUrl, paths, concurrency, warmup, duration));
+    }
+
+    public static Result run(String label, String baseUrl, List<String> paths, int concurrency,
+                             Duration warmup, Duration duration) throws InterruptedException {
+        HttpClient client = newClient();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build())
+                .toList();
+
+        int[] next = new int[concurrency];
+        Map<String, Result> results = drive(label, concurrency, warmup, duration, (worker, timings) -> {
+            HttpRequest request = requests.get((worker + next[worker]++) % requests.size());
+            timings.time("GET", () -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        });
+        return results.getOrDefault("GET", new Result(label, concurrency, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    /**
+     * Runs the workload on {@code concurrency} client threads and returns the results per name the
+     * workload recorded under, in name order.
+     */
+    public static Map<String, Result> drive(String label, int concurrency, Duration warmup, Duration duration,
+                                            Workload workload) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        // Per-client recorders; the latch makes them visible to this thread once every client is done.
+        Timings[] timings = new Timings[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            Timings clientTimings = timings[i] = new Timings(measureFrom, measureUntil);
+            int client = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    while (!clientTimings.isOver()) {
+                        workload.next(client, clientTimings);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Map<String, List<Recorder>> byName = new TreeMap<>();
+        for (Timings clientTimings : timings) {
+            synchronized (clientTimings) {
+                clientTimings.recorders.forEach((name, recorder) -> byName.computeIfAbsent(name, n -> new ArrayList<>()).add(recorder));
+            }
+        }
+        Map<String, Result> results = new LinkedHashMap<>();
+        byName.forEach((name, recorders) -> results.put(name, summarize(label, concurrency, duration, recorders)));
+        return results;
+    }
+
+    static HttpClient newClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    private static Result summarize(String label, int concurrency, Duration duration, List<Recorder> recorders) {
+        int total = recorders.stream().mapToInt(recorder -> recorder.count).sum();
+        long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+        double seconds = duration.toNanos() / 1e9;
+        return new Result(label, concurrency, total, errors, total / seconds,
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                total == 0 ? 0 : all[total - 1] / 1e6);
+    }
+
+    private static final class Recorder {
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+
+        void add(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
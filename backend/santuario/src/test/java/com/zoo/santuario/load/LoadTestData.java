@@ -0,0 +1,136 @@
+package com.zoo.santuario.load;
+
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates the schema of an empty database with the Flyway migrations and fills it with generated rows,
+ * before the application starts, so that the search index and the statistics engine are built from
+ * the seeded data just as they would be from a production database.
+ *
+ * --- How It Works ---
+ *
+ * 1.  Rows are inserted over plain JDBC in batches of {@value #BATCH_SIZE}, without ids, so each table's
+ * ids run from 1 to its volume; the workload relies on that to pick existing rows.
+ *
+ * 2.  Every animal gets a random keeper, vet, habitat and feeding plan. Each habitat's occupancy is the
+ * number of animals put in it and its capacity leaves {@value #FREE_PLACES} free places for the
+ * animals the workload creates.
+ *
+ * 3.  Like the V3 migration, the animal id generator is moved past the highest animal id.
+ */
+class LoadTestData {
+
+    static final int BATCH_SIZE = 1000;
+    static final int FREE_PLACES = 20;
+
+    static final List<String> SPECIES = List.of("Leão", "Tigre", "Elefante", "Girafa", "Zebra", "Macaco-prego",
+            "Arara-azul", "Jacaré", "Tartaruga", "Lobo-guará", "Onça-pintada", "Capivara");
+    static final List<String> HABITAT_TYPES = List.of("Savana", "Floresta", "Aquático", "Montanha", "Pantanal", "Aviário");
+    static final List<String> SPECIALTIES = List.of("Mamíferos", "Aves", "Répteis", "Primatas", "Felinos", "Anfíbios");
+    static final List<String> FOOD_TYPES = List.of("Carne", "Frutas", "Vegetais", "Peixe", "Ração", "Sementes");
+    static final List<String> ANIMAL_STATUSES = List.of("Saudável", "Saudável", "Saudável", "Em Observação", "Em Tratamento");
+
+    record Volumes(int animals, int habitats, int keepers, int vets, int feedingPlans) {
+    }
+
+    private LoadTestData() {
+    }
+
+    static void seed(String url, String username, String password, Volumes volumes, long seed) throws SQLException {
+        Flyway.configure().dataSource(url, username, password).load().migrate();
+
+        Random random = new Random(seed);
+        int[] keepers = new int[volumes.animals()];
+        int[] vets = new int[volumes.animals()];
+        int[] habitats = new int[volumes.animals()];
+        int[] feedingPlans = new int[volumes.animals()];
+        int[] occupancy = new int[volumes.habitats()];
+        for (int i = 0; i < volumes.animals(); i++) {
+            keepers[i] = random.nextInt(volumes.keepers());
+            vets[i] = random.nextInt(volumes.vets());
+            habitats[i] = random.nextInt(volumes.habitats());
+            feedingPlans[i] = random.nextInt(volumes.feedingPlans());
+            occupancy[habitats[i]]++;
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+            insert(connection, "insert into cuidador (name, contact, specialty, status, work_shift) values (?, ?, ?, ?, ?)",
+                    volumes.keepers(), (statement, i) -> {
+                        statement.setString(1, "Cuidador " + (i + 1));
+                        statement.setString(2, "cuidador" + (i + 1) + "@santuario.org");
+                        statement.setString(3, SPECIALTIES.get(i % SPECIALTIES.size()));
+                        statement.setString(4, i % 10 == 0 ? "Férias" : "Ativo");
+                        statement.setString(5, List.of("Manhã", "Tarde", "Noite").get(i % 3));
+                    });
+            insert(connection, "insert into veterinario (name, crmv, specialty, status) values (?, ?, ?, ?)",
+                    volumes.vets(), (statement, i) -> {
+                        statement.setString(1, "Dr(a). Veterinário " + (i + 1));
+                        statement.setString(2, "CRMV-SP " + (10000 + i));
+                        statement.setString(3, SPECIALTIES.get(i % SPECIALTIES.size()));
+                        statement.setString(4, "Ativo");
+                    });
+            insert(connection, "insert into habitat (name, type, capacity, status, occupancy) values (?, ?, ?, ?, ?)",
+                    volumes.habitats(), (statement, i) -> {
+                        statement.setString(1, "Recinto " + (i + 1));
+                        statement.setString(2, HABITAT_TYPES.get(i % HABITAT_TYPES.size()));
+                        statement.setInt(3, occupancy[i] + FREE_PLACES);
+                        statement.setString(4, i % 25 == 0 ? "Em Manutenção" : "Operacional");
+                        statement.setInt(5, occupancy[i]);
+                    });
+            insert(connection, "insert into alimentacao (plan_name, food_type, quantity, frequency) values (?, ?, ?, ?)",
+                    volumes.feedingPlans(), (statement, i) -> {
+                        statement.setString(1, "Plano " + (i + 1));
+                        statement.setString(2, FOOD_TYPES.get(i % FOOD_TYPES.size()));
+                        statement.setString(3, (1 + i % 20) + "kg");
+                        statement.setString(4, i % 2 == 0 ? "Diária" : "Duas vezes ao dia");
+                    });
+            LocalDate firstArrival = LocalDate.of(2010, 1, 1);
+            insert(connection, "insert into animal (name, species, age, sex, arrival_date, status, keeper_id, vet_id, habitat_id, feeding_plan_id) "
+                            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    volumes.animals(), (statement, i) -> {
+                        statement.setString(1, "Animal " + (i + 1));
+                        statement.setString(2, SPECIES.get(i % SPECIES.size()));
+                        statement.setInt(3, i % 30);
+                        statement.setString(4, i % 2 == 0 ? "Macho" : "Fêmea");
+                        statement.setString(5, firstArrival.plusDays(i % 5000).toString());
+                        statement.setString(6, ANIMAL_STATUSES.get(i % ANIMAL_STATUSES.size()));
+                        statement.setLong(7, keepers[i] + 1L);
+                        statement.setLong(8, vets[i] + 1L);
+                        statement.setLong(9, habitats[i] + 1L);
+                        statement.setLong(10, feedingPlans[i] + 1L);
+                    });
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update id_generator set next_val = (select coalesce(max(id), 0) + 50 from animal) where entity = 'animal'")) {
+                statement.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Row {
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+
+    private static void insert(Connection connection, String sql, int count, Row row) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < count; i++) {
+                row.bind(statement, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.zoo.santuario.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zoo.santuario.SantuarioApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts the whole application against an in-memory database seeded with a
+ * configurable number of rows and a local SendGrid stub, drives a mix of the frontend's traffic through
+ * all five controllers and writes throughput, latency percentiles and error rates to a JSON report.
+ *
+ * --- How It Works ---
+ *
+ * 1.  {@link LoadTestData} migrates and seeds an H2 database in MySQL mode (`--animals 100000
+ * --habitats 2000 --keepers 500 --vets 100 --feeding-plans 200` by default), then the application
+ * starts on a free port with that database and its SendGrid URL pointing at a {@link SendGridStub}
+ * that answers after `--sendgrid-latency`.
+ *
+ * 2.  {@link LoadDriver#drive} runs a {@link MixedWorkload} on `--concurrency` client threads for
+ * `--duration` after `--warmup`. `--mix` sets the weights of its operations
+ * (default `dashboard=5,filter=25,detail=40,crud=30`).
+ *
+ * 3.  The report (`--output`, default `target/load-test/<label>.json`) has the configuration, the
+ * volumes, the totals over all HTTP requests, the results of each operation and of each endpoint
+ * (count, errors, error rate, throughput, p50/p90/p99/max latency in milliseconds) and what the SendGrid
+ * stub received. A summary is printed as well.
+ *
+ * 4.  Any other `--name value` option is passed to the application as a property, e.g.
+ * `--spring.profiles.active virtual-threads` or `--reads.coalescing.enabled false`.
+ *
+ * Run it with the `load-test` profile:
+ * `mvn -Pload-test test-compile exec:exec -Dload.args="--concurrency 100 --duration PT2M --label baseline"`
+ */
+public class LoadTestHarness {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadDriver.parse(args);
+        LoadTestData.Volumes volumes = new LoadTestData.Volumes(
+                Integer.parseInt(take(options, "animals", "100000")),
+                Integer.parseInt(take(options, "habitats", "2000")),
+                Integer.parseInt(take(options, "keepers", "500")),
+                Integer.parseInt(take(options, "vets", "100")),
+                Integer.parseInt(take(options, "feeding-plans", "200")));
+        int concurrency = Integer.parseInt(take(options, "concurrency", "50"));
+        Duration warmup = Duration.parse(take(options, "warmup", "PT30S"));
+        Duration duration = Duration.parse(take(options, "duration", "PT60S"));
+        String mixOption = take(options, "mix", null);
+        Map<String, Integer> mix = mixOption == null ? MixedWorkload.DEFAULT_MIX : MixedWorkload.parseMix(mixOption);
+        Duration sendGridLatency = Duration.parse(take(options, "sendgrid-latency", "PT0.1S"));
+        long seed = Long.parseLong(take(options, "seed", "42"));
+        String label = take(options, "label", "run");
+        Path output = Path.of(take(options, "output", "target/load-test/" + label + ".json"));
+
+        Instant startedAt = Instant.now();
+        long seedingStart = System.nanoTime();
+        LoadTestData.seed(DATABASE_URL, "sa", "", volumes, seed);
+        Duration seeding = Duration.ofNanos(System.nanoTime() - seedingStart);
+        System.out.printf("Seeded %s in %.1f s%n", volumes, seeding.toMillis() / 1000.0);
+
+        try (SendGridStub sendGrid = new SendGridStub(sendGridLatency);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SantuarioApplication.class)
+                     .run(applicationArguments(sendGrid, options))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            MixedWorkload workload = new MixedWorkload("http://localhost:" + port, volumes, mix);
+            System.out.printf("Running %s on %d clients for %s after a %s warmup%n", mix, concurrency, duration, warmup);
+            Map<String, LoadDriver.Result> results = LoadDriver.drive(label, concurrency, warmup, duration, workload);
+
+            Map<String, Object> operations = new LinkedHashMap<>();
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            results.forEach((name, result) -> {
+                if (workload.operations().contains(name)) {
+                    operations.put(name, stats(result));
+                } else if (!name.equals(MixedWorkload.ALL_REQUESTS)) {
+                    endpoints.put(name, stats(result));
+                }
+            });
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("concurrency", concurrency);
+            config.put("warmup", warmup.toString());
+            config.put("duration", duration.toString());
+            config.put("mix", mix);
+            config.put("seed", seed);
+            config.put("sendGridLatency", sendGridLatency.toString());
+            config.put("applicationProperties", options);
+            config.put("javaVersion", Runtime.version().toString());
+            config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("label", label);
+            report.put("startedAt", startedAt.toString());
+            report.put("config", config);
+            report.put("volumes", volumes);
+            report.put("seedingSeconds", seeding.toMillis() / 1000.0);
+            report.put("totals", stats(results.getOrDefault(MixedWorkload.ALL_REQUESTS,
+                    new LoadDriver.Result(label, concurrency, 0, 0, 0, 0, 0, 0, 0))));
+            report.put("operations", operations);
+            report.put("endpoints", endpoints);
+            report.put("sendGrid", Map.of("requests", sendGrid.requests(), "emails", sendGrid.emails()));
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+
+            System.out.println();
+            results.forEach((name, result) -> System.out.printf("%-40s %8d req %8.1f/s  p50=%8.1f ms  p90=%8.1f ms  p99=%8.1f ms  max=%8.1f ms  errors=%d%n",
+                    name, result.requests(), result.throughput(), result.p50(), result.p90(), result.p99(), result.max(), result.errors()));
+            System.out.printf("SendGrid stub: %d requests, %d emails%n", sendGrid.requests(), sendGrid.emails());
+            System.out.println("Report written to " + output.toAbsolutePath());
+        }
+    }
+
+    /**
+     * The in-memory database and the SendGrid stub, then whatever the command line adds or overrides.
+     */
+    private static String[] applicationArguments(SendGridStub sendGrid, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", DATABASE_URL);
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        // MySQL Connector/J properties that H2 does not know
+        properties.put("spring.datasource.hikari.data-source-properties.useCursorFetch", "");
+        properties.put("spring.datasource.hikari.data-source-properties.rewriteBatchedStatements", "");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("sendgrid.api-url", sendGrid.url());
+        properties.put("SENDGRID_API_KEY", "load-test");
+        properties.put("SENDGRID_FROM_EMAIL", "santuario@example.org");
+        properties.putAll(overrides);
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static Map<String, Object> stats(LoadDriver.Result result) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", result.requests());
+        stats.put("errors", result.errors());
+        stats.put("errorRate", result.requests() == 0 ? 0.0 : (double) result.errors() / result.requests());
+        stats.put("throughputPerSecond", result.throughput());
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", result.p50());
+        latency.put("p90", result.p90());
+        latency.put("p99", result.p99());
+        latency.put("max", result.max());
+        stats.put("latencyMs", latency);
+        return stats;
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
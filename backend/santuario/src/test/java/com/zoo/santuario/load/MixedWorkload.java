@@ -0,0 +1,336 @@
+package com.zoo.santuario.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The traffic of people using the frontend, as a {@link LoadDriver.Workload}: each call picks one
+ * operation at random, in proportion to the weights of the mix, and performs it the way the frontend does.
+ *
+ * --- How It Works ---
+ *
+ * 1.  `dashboard`: what opening the dashboard sends, all at once: the summary and the five lists, each
+ * followed page by page through `X-Next-Cursor` like `fetchAllPages` in `services/api.ts`.
+ *
+ * 2.  `filter`: one of the list filters of the five pages (species, name, age range, habitat type,
+ * specialty, food type), also followed through every page.
+ *
+ * 3.  `detail`: one seeded row, by id, from one of the five controllers.
+ *
+ * 4.  `crud`: creates a row through one of the five controllers, reads it back, updates it and deletes
+ * it. Animals are put with seeded keepers, vets, habitats and feeding plans, so their notifications go
+ * out to the SendGrid stub.
+ *
+ * 5.  Each HTTP request is recorded under its method and URI pattern, and under {@link #ALL_REQUESTS};
+ * each operation is recorded as a whole under its name, and only succeeds if all of its requests do.
+ */
+class MixedWorkload implements LoadDriver.Workload {
+
+    static final String ALL_REQUESTS = "all requests";
+    static final Map<String, Integer> DEFAULT_MIX = parseMix("dashboard=5,filter=25,detail=40,crud=30");
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private static final List<String> DASHBOARD_LISTS = List.of(
+            "/api/animals", "/api/cuidadores", "/api/veterinarios", "/api/habitats", "/api/alimentacoes");
+
+    // The parameters keep their order, so that each filter is always recorded under the same name.
+    private record Filter(String path, Function<ThreadLocalRandom, Map<String, Object>> parameters) {
+    }
+
+    private static final List<Filter> FILTERS = List.of(
+            new Filter("/api/animals", random -> parameters("species", pick(random, LoadTestData.SPECIES))),
+            new Filter("/api/animals", random -> parameters("name", "Animal " + random.nextInt(100, 1000))),
+            new Filter("/api/animals", random -> {
+                int ageMin = random.nextInt(30);
+                return parameters("ageMin", ageMin, "ageMax", ageMin + 2);
+            }),
+            new Filter("/api/animals", random -> {
+                int ageMin = random.nextInt(30);
+                return parameters("species", pick(random, LoadTestData.SPECIES), "ageMin", ageMin, "ageMax", ageMin + 5);
+            }),
+            new Filter("/api/habitats", random -> parameters("type", pick(random, LoadTestData.HABITAT_TYPES))),
+            new Filter("/api/cuidadores", random -> parameters("specialty", pick(random, LoadTestData.SPECIALTIES))),
+            new Filter("/api/veterinarios", random -> parameters("specialty", pick(random, LoadTestData.SPECIALTIES))),
+            new Filter("/api/alimentacoes", random -> parameters("foodType", pick(random, LoadTestData.FOOD_TYPES))));
+
+    private final String baseUrl;
+    private final LoadTestData.Volumes volumes;
+    private final List<String> operations;
+    private final int[] cumulativeWeights;
+    private final HttpClient client = LoadDriver.newClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+    // Runs the dashboard's parallel requests; the client threads only wait for them.
+    private final ExecutorService dashboardFetches = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "load-dashboard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    MixedWorkload(String baseUrl, LoadTestData.Volumes volumes, Map<String, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.volumes = volumes;
+        this.operations = new ArrayList<>(mix.keySet());
+        this.cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += mix.get(operations.get(i));
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight.");
+        }
+    }
+
+    /**
+     * Parses {@code dashboard=5,filter=25,...}; operations left out are not run.
+     */
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            String operation = parts[0].trim();
+            if (parts.length != 2 || !List.of("dashboard", "filter", "detail", "crud").contains(operation)) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "': expected dashboard|filter|detail|crud=<weight>.");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "': weights cannot be negative.");
+            }
+            weights.put(operation, weight);
+        }
+        return weights;
+    }
+
+    List<String> operations() {
+        return operations;
+    }
+
+    @Override
+    public void next(int client, LoadDriver.Timings timings) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (ticket >= cumulativeWeights[index]) {
+            index++;
+        }
+        String operation = operations.get(index);
+
+        long start = System.nanoTime();
+        boolean ok = switch (operation) {
+            case "dashboard" -> dashboard(timings);
+            case "filter" -> filter(timings, random);
+            case "detail" -> detail(timings, random);
+            default -> crud(timings, random);
+        };
+        timings.record(operation, start, System.nanoTime(), ok);
+    }
+
+    private boolean dashboard(LoadDriver.Timings timings) throws InterruptedException {
+        List<Callable<Boolean>> fetches = new ArrayList<>();
+        fetches.add(() -> send(timings, "GET /api/dashboard/summary", get("/api/dashboard/summary")) != null);
+        for (String path : DASHBOARD_LISTS) {
+            fetches.add(() -> fetchAllPages(timings, "GET " + path, path));
+        }
+        boolean ok = true;
+        for (Future<Boolean> fetch : dashboardFetches.invokeAll(fetches)) {
+            try {
+                ok &= fetch.get();
+            } catch (ExecutionException e) {
+                ok = false;
+            }
+        }
+        return ok;
+    }
+
+    private boolean filter(LoadDriver.Timings timings, ThreadLocalRandom random) throws InterruptedException {
+        Filter filter = pick(random, FILTERS);
+        Map<String, Object> parameters = filter.parameters().apply(random);
+        StringBuilder query = new StringBuilder();
+        parameters.forEach((name, value) -> query.append(query.isEmpty() ? "?" : "&")
+                .append(name).append('=').append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        String name = "GET " + filter.path() + "?" + String.join("&", parameters.keySet());
+        return fetchAllPages(timings, name, filter.path() + query);
+    }
+
+    private boolean detail(LoadDriver.Timings timings, ThreadLocalRandom random) throws InterruptedException {
+        String path = pick(random, DASHBOARD_LISTS);
+        return send(timings, "GET " + path + "/{id}", get(path + "/" + random.nextInt(1, seeded(path) + 1))) != null;
+    }
+
+    private int seeded(String path) {
+        return switch (path) {
+            case "/api/animals" -> volumes.animals();
+            case "/api/cuidadores" -> volumes.keepers();
+            case "/api/veterinarios" -> volumes.vets();
+            case "/api/habitats" -> volumes.habitats();
+            default -> volumes.feedingPlans();
+        };
+    }
+
+    private boolean crud(LoadDriver.Timings timings, ThreadLocalRandom random) throws InterruptedException {
+        long n = sequence.incrementAndGet();
+        String path;
+        Map<String, Object> created = new LinkedHashMap<>();
+        Map<String, Object> updated;
+        switch (random.nextInt(5)) {
+            case 0 -> {
+                path = "/api/animals";
+                created.put("name", "Carga " + n);
+                created.put("species", pick(random, LoadTestData.SPECIES));
+                created.put("age", random.nextInt(30));
+                created.put("sex", random.nextBoolean() ? "Macho" : "Fêmea");
+                created.put("arrivalDate", "2024-06-01");
+                created.put("status", "Saudável");
+                created.put("keeperId", random.nextInt(1, volumes.keepers() + 1));
+                created.put("vetId", random.nextInt(1, volumes.vets() + 1));
+                created.put("habitatId", random.nextInt(1, volumes.habitats() + 1));
+                created.put("feedingPlanId", random.nextInt(1, volumes.feedingPlans() + 1));
+                updated = new LinkedHashMap<>(created);
+                updated.put("status", "Em Observação");
+            }
+            case 1 -> {
+                path = "/api/cuidadores";
+                created.put("name", "Cuidador Carga " + n);
+                created.put("contact", "carga" + n + "@santuario.org");
+                created.put("specialty", pick(random, LoadTestData.SPECIALTIES));
+                created.put("status", "Ativo");
+                created.put("workShift", "Manhã");
+                updated = new LinkedHashMap<>(created);
+                updated.put("workShift", "Noite");
+            }
+            case 2 -> {
+                path = "/api/veterinarios";
+                created.put("name", "Veterinário Carga " + n);
+                created.put("crmv", "CRMV-CARGA " + n);
+                created.put("specialty", pick(random, LoadTestData.SPECIALTIES));
+                created.put("status", "Ativo");
+                updated = new LinkedHashMap<>(created);
+                updated.put("status", "Férias");
+            }
+            case 3 -> {
+                path = "/api/habitats";
+                created.put("name", "Recinto Carga " + n);
+                created.put("type", pick(random, LoadTestData.HABITAT_TYPES));
+                created.put("capacity", 10);
+                created.put("status", "Operacional");
+                updated = new LinkedHashMap<>(created);
+                updated.put("status", "Em Manutenção");
+            }
+            default -> {
+                path = "/api/alimentacoes";
+                created.put("planName", "Plano Carga " + n);
+                created.put("foodType", pick(random, LoadTestData.FOOD_TYPES));
+                created.put("quantity", "2kg");
+                created.put("frequency", "Diária");
+                updated = new LinkedHashMap<>(created);
+                updated.put("quantity", "3kg");
+            }
+        }
+
+        HttpResponse<String> response = send(timings, "POST " + path, write("POST", path, created));
+        if (response == null) {
+            return false;
+        }
+        String item = path + "/" + id(response);
+        boolean ok = send(timings, "GET " + path + "/{id}", get(item)) != null;
+        ok &= send(timings, "PUT " + path + "/{id}", write("PUT", item, updated)) != null;
+        ok &= send(timings, "DELETE " + path + "/{id}", HttpRequest.newBuilder(URI.create(baseUrl + item)).timeout(TIMEOUT).DELETE().build()) != null;
+        return ok;
+    }
+
+    private boolean fetchAllPages(LoadDriver.Timings timings, String name, String url) throws InterruptedException {
+        String cursor = null;
+        do {
+            // Following every page of a large table can take longer than the rest of the run
+            if (timings.isOver()) {
+                return false;
+            }
+            String pageUrl = cursor == null ? url
+                    : url + (url.contains("?") ? "&" : "?") + "cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+            HttpResponse<String> response = send(timings, name, get(pageUrl));
+            if (response == null) {
+                return false;
+            }
+            cursor = response.headers().firstValue(NEXT_CURSOR_HEADER).orElse(null);
+        } while (cursor != null);
+        return true;
+    }
+
+    /**
+     * Sends the request and records it; returns null when it failed or the status was not 2xx.
+     */
+    private HttpResponse<String> send(LoadDriver.Timings timings, String name, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        }
+        long end = System.nanoTime();
+        boolean ok = response != null && response.statusCode() / 100 == 2;
+        timings.record(name, start, end, ok);
+        timings.record(ALL_REQUESTS, start, end, ok);
+        return ok ? response : null;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest write(String method, String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long id(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response body: " + response.body(), e);
+        }
+    }
+
+    private static Map<String, Object> parameters(Object... namesAndValues) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            parameters.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return parameters;
+    }
+
+    private static <T> T pick(ThreadLocalRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.zoo.santuario.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for the SendGrid v3 mail send endpoint during a load test, so that the notifications the
+ * CRUD traffic queues are really sent over HTTP without leaving the machine.
+ *
+ * --- How It Works ---
+ *
+ * 1.  A JDK {@link HttpServer} on a free local port answers every `POST /v3/mail/send` with 202 Accepted
+ * after `latency`, roughly what the real API takes.
+ *
+ * 2.  It counts the requests and the personalizations (one per email) in their bodies, which the
+ * harness adds to its report.
+ */
+class SendGridStub implements AutoCloseable {
+
+    static final String PATH = "/v3/mail/send";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder emails = new LongAdder();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sendgrid-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    SendGridStub(Duration latency) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(PATH, exchange -> handle(exchange, latency));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long emails() {
+        return emails.sum();
+    }
+
+    private void handle(HttpExchange exchange, Duration latency) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            JsonNode request = objectMapper.readTree(body);
+            requests.increment();
+            emails.add(request.path("personalizations").size());
+            Thread.sleep(latency.toMillis());
+            exchange.sendResponseHeaders(202, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,42 @@
+package com.zoo.santuario.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers on the SQL a request ran, as counted by {@link RequestQueryStatisticsFilter}:
+ * `mockMvc.perform(get("/api/animals")).andExpect(QueryCount.statements(1))`. Pinning the exact count
+ * makes a new lazy load or a query per row fail the test that covers the endpoint.
+ */
+public final class QueryCount {
+
+    private QueryCount() {
+    }
+
+    public static ResultMatcher statements(long expected) {
+        return result -> assertEquals(expected, counts(result).statements(),
+                () -> "SQL statements executed by " + describe(result));
+    }
+
+    public static ResultMatcher atMostStatements(long max) {
+        return result -> {
+            long actual = counts(result).statements();
+            assertTrue(actual <= max, () -> "Expected at most " + max + " SQL statements for " + describe(result) + " but was " + actual);
+        };
+    }
+
+    private static RequestQueryStatistics.Counts counts(MvcResult result) {
+        RequestQueryStatistics.Counts counts =
+                (RequestQueryStatistics.Counts) result.getRequest().getAttribute(RequestQueryStatistics.REQUEST_ATTRIBUTE);
+        assertNotNull(counts, "No SQL statistics on the request; is RequestQueryStatisticsFilter registered?");
+        return counts;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
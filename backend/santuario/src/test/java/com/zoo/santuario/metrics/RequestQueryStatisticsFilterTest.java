@@ -0,0 +1,83 @@
+package com.zoo.santuario.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestQueryStatisticsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestQueryStatisticsFilter filter = new RequestQueryStatisticsFilter();
+    private final SqlBudget sqlBudget = new SqlBudget();
+
+    RequestQueryStatisticsFilterTest() {
+        ReflectionTestUtils.setField(sqlBudget, "maxStatements", 2L);
+        ReflectionTestUtils.setField(sqlBudget, "maxStatementTime", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "sqlBudget", sqlBudget);
+    }
+
+    @Test
+    void recordsTheStatementsOfEachRequestUnderItsUriPattern() throws Exception {
+        perform("/api/animals/{id}", 3);
+        perform("/api/animals/{id}", 1);
+        perform("/api/habitats", 2);
+
+        DistributionSummary byId = summary("/api/animals/{id}");
+        assertEquals(2, byId.count());
+        assertEquals(4, byId.totalAmount());
+        assertEquals(3, byId.max());
+        assertEquals(2, summary("/api/habitats").totalAmount());
+    }
+
+    @Test
+    void statementsOutsideARequestAreNotCounted() throws Exception {
+        execute(new RequestQueryStatistics.SessionListener());
+        perform("/api/habitats", 0);
+        execute(new RequestQueryStatistics.SessionListener());
+
+        assertEquals(0, summary("/api/habitats").totalAmount());
+    }
+
+    @Test
+    void leavesTheCountsOnTheRequestAndComparesThemToTheBudget() throws Exception {
+        RequestQueryStatistics.Counts withinBudget = perform("/api/habitats", 2);
+        RequestQueryStatistics.Counts overBudget = perform("/api/habitats", 3);
+
+        assertEquals(2, withinBudget.statements());
+        assertFalse(sqlBudget.isExceeded(withinBudget));
+        assertTrue(sqlBudget.isExceeded(overBudget));
+    }
+
+    private RequestQueryStatistics.Counts perform(String pattern, int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            // What DispatcherServlet and Hibernate do while the request is handled.
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            RequestQueryStatistics.SessionListener session = new RequestQueryStatistics.SessionListener();
+            for (int i = 0; i < statements; i++) {
+                execute(session);
+            }
+        });
+        return (RequestQueryStatistics.Counts) request.getAttribute(RequestQueryStatistics.REQUEST_ATTRIBUTE);
+    }
+
+    private static void execute(RequestQueryStatistics.SessionListener session) {
+        session.jdbcExecuteStatementStart();
+        session.jdbcExecuteStatementEnd();
+    }
+
+    private DistributionSummary summary(String uri) {
+        return meterRegistry.get("hibernate.request.statements").tag("method", "GET").tag("uri", uri).summary();
+    }
+}
@@ -0,0 +1,55 @@
+package com.zoo.santuario.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPageRequestTest {
+
+    private static final Set<String> SORT_KEYS = Set.of("id", "name", "age", "arrivalDate");
+
+    @Test
+    void defaultsToAscendingIdWithDefaultLimit() {
+        KeysetPageRequest page = KeysetPageRequest.of(null, null, null, null, SORT_KEYS);
+
+        assertEquals("id", page.getSortKey());
+        assertEquals(Sort.Direction.ASC, page.getDirection());
+        assertEquals(KeysetPageRequest.DEFAULT_LIMIT, page.getLimit());
+        assertNull(page.getCursor());
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), page.toSort());
+    }
+
+    @Test
+    void cursorRoundTripKeepsSortAndPosition() {
+        // Values may contain the separator, so the name below must survive encoding untouched.
+        String token = new KeysetCursor("name", Sort.Direction.DESC, 42L, "Leão: o rei").encode();
+
+        KeysetPageRequest page = KeysetPageRequest.of(null, null, 10, token, SORT_KEYS);
+
+        assertEquals("name", page.getSortKey());
+        assertEquals(Sort.Direction.DESC, page.getDirection());
+        assertEquals(42L, page.getCursor().getLastId());
+        assertEquals("Leão: o rei", page.getCursor().getLastValue());
+        assertEquals(Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id")), page.toSort());
+    }
+
+    @Test
+    void rejectsCursorFromDifferentSortOrder() {
+        String token = new KeysetCursor("age", Sort.Direction.ASC, 7L, "3").encode();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of("name", null, null, token, SORT_KEYS));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of("age", "desc", null, token, SORT_KEYS));
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of("status", null, null, null, SORT_KEYS));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of(null, "sideways", null, null, SORT_KEYS));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of(null, null, 0, null, SORT_KEYS));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of(null, null, KeysetPageRequest.MAX_LIMIT + 1, null, SORT_KEYS));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPageRequest.of(null, null, null, "not-a-cursor!", SORT_KEYS));
+    }
+}
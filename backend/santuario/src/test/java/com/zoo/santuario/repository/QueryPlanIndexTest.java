@@ -0,0 +1,96 @@
+package com.zoo.santuario.repository;
+
+import com.zoo.santuario.service.EmailService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the hot queries are served by the indexes created in V2__indexes_for_hot_queries.sql.
+ * The statements mirror the SQL Hibernate generates for the repository methods and Specifications.
+ */
+@SpringBootTest
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIndexTest {
+
+    @MockBean
+    private EmailService emailService;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0.26"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // Enough rows with enough distinct values that the optimizer prefers an index over a scan.
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("insert into habitat (name, type, capacity, status) values (?, ?, 100, 'Operacional')", "H" + i, "Type" + (i % 5));
+            jdbcTemplate.update("insert into cuidador (name, contact, specialty, status, work_shift) values (?, ?, ?, 'Ativo', 'Manhã')", "C" + i, "c" + i + "@zoo.com", "Spec" + (i % 5));
+            jdbcTemplate.update("insert into veterinario (name, crmv, specialty, status) values (?, ?, ?, 'Ativo')", "V" + i, "CRMV" + i, "Spec" + (i % 5));
+            jdbcTemplate.update("insert into alimentacao (plan_name, food_type, quantity, frequency) values (?, ?, '1kg', 'Diária')", "P" + i, "Food" + (i % 5));
+        }
+        List<Object[]> animals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            animals.add(new Object[]{"Animal" + i, "Species" + (i % 50), i % 30, "2020-01-" + (10 + i % 20), (long) (i % 20) + 1});
+        }
+        jdbcTemplate.batchUpdate("insert into animal (name, species, age, sex, arrival_date, status, habitat_id) values (?, ?, ?, 'M', ?, 'Saudável', ?)", animals);
+        jdbcTemplate.execute("analyze table animal, habitat, cuidador, veterinario, alimentacao");
+    }
+
+    @Test
+    void animalsByHabitatUseHabitatIndex() {
+        assertIndex("select a.id from animal a where a.habitat_id = 3 order by a.id limit 101", "idx_animal_habitat_id");
+    }
+
+    @Test
+    void speciesAndAgeFilterUsesCompositeIndex() {
+        assertIndex("select a.id from animal a where a.species = 'Species7' and a.age >= 2 and a.age <= 10 order by a.id limit 101", "idx_animal_species_age");
+    }
+
+    @Test
+    void ageOnlyFilterUsesAgeIndex() {
+        assertIndex("select a.id from animal a where a.age >= 28 order by a.age, a.id limit 101", "idx_animal_age");
+    }
+
+    @Test
+    void specialtyTypeAndFoodTypeLookupsUseIndexes() {
+        assertIndex("select c.id from cuidador c where c.specialty = 'Spec1' order by c.id limit 101", "idx_cuidador_specialty");
+        assertIndex("select v.id from veterinario v where v.specialty = 'Spec1' order by v.id limit 101", "idx_veterinario_specialty");
+        assertIndex("select h.id from habitat h where h.type = 'Type1' order by h.id limit 101", "idx_habitat_type");
+        assertIndex("select f.id from alimentacao f where f.food_type = 'Food1' order by f.id limit 101", "idx_alimentacao_food_type");
+    }
+
+    private void assertIndex(String sql, String expectedIndex) {
+        Map<String, Object> plan = jdbcTemplate.queryForList("explain " + sql).get(0);
+        assertEquals(expectedIndex, plan.get("key"), () -> "Unexpected plan for: " + sql + " -> " + plan);
+    }
+}
@@ -0,0 +1,121 @@
+package com.zoo.santuario.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.dto.HabitatRequestDTO;
+import com.zoo.santuario.service.EmailService;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application against two separate in-memory H2 databases standing in for the primary and
+ * the replica. Nothing replicates between them, so each row shows which one a request was served from.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.data-source-properties.useCursorFetch=",
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=",
+        "spring.datasource.replica.hikari.data-source-properties.useCursorFetch=",
+        // The second-level and query caches would answer repeated reads without asking either database.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "SENDGRID_API_KEY=test-key",
+        "SENDGRID_FROM_EMAIL=zoo@example.com"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        // The application only migrates the primary; the replica gets the same schema here.
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        registry.add("spring.datasource.url", () -> PRIMARY_URL);
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.replica.url", () -> REPLICA_URL);
+    }
+
+    @MockBean
+    private EmailService emailService;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        for (JdbcTemplate database : new JdbcTemplate[]{primary, replica}) {
+            database.update("delete from habitat");
+        }
+        primary.update("insert into habitat (name, type, capacity, status) values ('Somente no primário', 'Terrestre', 5, 'Operacional')");
+        replica.update("insert into habitat (name, type, capacity, status) values ('Somente na réplica', 'Terrestre', 5, 'Operacional')");
+    }
+
+    @Test
+    void readsAreServedByTheReplica() throws Exception {
+        mockMvc.perform(get("/api/habitats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("Somente na réplica")))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Somente no primário"))));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndTheWriterReadsThemBack() throws Exception {
+        Cookie readPrimaryUntil = mockMvc.perform(post("/api/habitats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HabitatRequestDTO("Savana", "Terrestre", 10, "Operacional"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertEquals(1, count(primary, "Savana"));
+        assertEquals(0, count(replica, "Savana"));
+        assertNotNull(readPrimaryUntil);
+
+        // The client that wrote reads from the primary while its cookie is valid...
+        mockMvc.perform(get("/api/habitats").cookie(readPrimaryUntil))
+                .andExpect(jsonPath("$[*].name", hasItem("Savana")))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Somente na réplica"))));
+        // ...while everyone else still reads from the replica.
+        mockMvc.perform(get("/api/habitats"))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Savana"))));
+    }
+
+    @Test
+    void expiredWindowReadsFromTheReplicaAgain() throws Exception {
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1));
+
+        mockMvc.perform(get("/api/habitats").cookie(expired))
+                .andExpect(jsonPath("$[*].name", hasItem("Somente na réplica")));
+    }
+
+    private static int count(JdbcTemplate database, String name) {
+        return database.queryForObject("select count(*) from habitat where name = ?", Integer.class, name);
+    }
+}
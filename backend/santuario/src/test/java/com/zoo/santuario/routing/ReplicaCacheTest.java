@@ -0,0 +1,90 @@
+package com.zoo.santuario.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoo.santuario.dto.HabitatRequestDTO;
+import com.zoo.santuario.service.EmailService;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Like ReadWriteRoutingTest, but with the second-level and query caches on: the replica never receives the
+ * primary's writes, so it behaves like a replica that is lagging behind.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.data-source-properties.useCursorFetch=",
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=",
+        "spring.datasource.replica.hikari.data-source-properties.useCursorFetch=",
+        // The cache manager is shared by every context in the JVM; keep this one's regions apart.
+        "spring.jpa.properties.hibernate.cache.region_prefix=replica-cache-test",
+        "SENDGRID_API_KEY=test-key",
+        "SENDGRID_FROM_EMAIL=zoo@example.com"
+})
+@AutoConfigureMockMvc
+class ReplicaCacheTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:cache-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:cache-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        registry.add("spring.datasource.url", () -> PRIMARY_URL);
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.replica.url", () -> REPLICA_URL);
+    }
+
+    @MockBean
+    private EmailService emailService;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.update("delete from habitat");
+        replica.update("insert into habitat (name, type, capacity, status) values ('Somente na réplica', 'Terrestre', 5, 'Operacional')");
+    }
+
+    @Test
+    void lateReplicaReadsDoNotHideTheWriterItsOwnWrites() throws Exception {
+        Cookie readPrimaryUntil = mockMvc.perform(post("/api/habitats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new HabitatRequestDTO("Pantanal", "Aquático", 10, "Operacional"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        // Starts after the commit but reads the replica, which has not caught up.
+        mockMvc.perform(get("/api/habitats"))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Pantanal"))));
+
+        // Had that result been cached, the writer would get it back from the cache instead of the primary.
+        mockMvc.perform(get("/api/habitats").cookie(readPrimaryUntil))
+                .andExpect(jsonPath("$[*].name", hasItem("Pantanal")))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Somente na réplica"))));
+    }
+}
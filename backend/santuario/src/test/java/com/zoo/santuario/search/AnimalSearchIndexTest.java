@@ -0,0 +1,84 @@
+package com.zoo.santuario.search;
+
+import com.zoo.santuario.repository.AnimalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnimalSearchIndexTest {
+
+    private AnimalSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AnimalSearchIndex();
+        index.index(1L, "Leão Dourado", "Panthera leo");
+        index.index(2L, "Leopardo", "Felino");
+        index.index(3L, "Zé", "Ave");
+    }
+
+    @Test
+    void matchesSubstringsIgnoringAccentsAndCase() {
+        assertEquals(Set.of(1L), index.search("leao", null));
+        assertEquals(Set.of(1L), index.search("DOURADO", null));
+        assertEquals(Set.of(2L), index.search("leo", null));
+        assertEquals(Set.of(), index.search("tigre", null));
+    }
+
+    @Test
+    void shortQueriesAreAnsweredByScan() {
+        assertEquals(Set.of(3L), index.search("ze", null));
+        assertEquals(Set.of(1L, 2L), index.search("le", null));
+    }
+
+    @Test
+    void speciesKeepsEqualitySemantics() {
+        assertEquals(Set.of(1L), index.search(null, "panthera leo"));
+        assertEquals(Set.of(), index.search(null, "panthera"));
+        assertEquals(Set.of(2L), index.search("leo", "FELINO"));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.index(1L, "Simba", "Panthera leo");
+        assertEquals(Set.of(), index.search("leao", null));
+        assertEquals(Set.of(1L), index.search("simba", null));
+
+        index.remove(2L);
+        assertEquals(Set.of(), index.search("leopardo", null));
+    }
+
+    @Test
+    void rebuildKeepsServingTheOldIndexUntilItSwaps() {
+        AnimalRepository repository = mock(AnimalRepository.class);
+        ReflectionTestUtils.setField(index, "animalRepository", repository);
+        when(repository.findAllSearchFields()).thenAnswer(invocation -> {
+            // A search and a write racing with the rebuild's read.
+            assertEquals(Set.of(1L), index.search("leao", null));
+            index.index(4L, "Tigre", "Panthera tigris");
+            return List.of(row(1L, "Leão Dourado", "Panthera leo"), row(5L, "Flamingo", "Ave"));
+        });
+
+        index.rebuild();
+
+        assertEquals(Set.of(1L), index.search("leao", null));
+        assertEquals(Set.of(4L), index.search("tigre", null));
+        assertEquals(Set.of(5L), index.search("flamingo", null));
+        assertEquals(Set.of(), index.search("leopardo", null));
+    }
+
+    private static AnimalRepository.SearchFields row(Long id, String name, String species) {
+        AnimalRepository.SearchFields row = mock(AnimalRepository.SearchFields.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getName()).thenReturn(name);
+        when(row.getSpecies()).thenReturn(species);
+        return row;
+    }
+}
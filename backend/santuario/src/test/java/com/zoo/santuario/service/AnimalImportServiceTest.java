@@ -0,0 +1,93 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AnimalBatchResultDTO;
+import com.zoo.santuario.dto.AnimalRequestDTO;
+import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.model.Veterinario;
+import com.zoo.santuario.repository.AlimentacaoRepository;
+import com.zoo.santuario.repository.AnimalRepository;
+import com.zoo.santuario.repository.CuidadorRepository;
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AnimalImportServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private AnimalRepository animalRepository;
+    @Mock
+    private CuidadorRepository cuidadorRepository;
+    @Mock
+    private HabitatRepository habitatRepository;
+    @Mock
+    private VeterinarioRepository veterinarioRepository;
+    @Mock
+    private AlimentacaoRepository alimentacaoRepository;
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private AnimalImportService importService;
+
+    @Test
+    void rowsWithoutHabitatAreRejectedOneByOne() {
+        Cuidador keeper = new Cuidador();
+        keeper.setId(1L);
+        Veterinario vet = new Veterinario();
+        vet.setId(2L);
+        Alimentacao feedingPlan = new Alimentacao();
+        feedingPlan.setId(3L);
+        when(cuidadorRepository.findAllById(any())).thenReturn(List.of(keeper));
+        when(veterinarioRepository.findAllById(any())).thenReturn(List.of(vet));
+        when(alimentacaoRepository.findAllById(any())).thenReturn(List.of(feedingPlan));
+
+        AnimalBatchResultDTO result = importService.importAnimals(List.of(row("Simba"), row("Nala")));
+
+        assertEquals(2, result.getReceived());
+        assertEquals(0, result.getImported());
+        assertEquals(List.of(
+                new AnimalBatchResultDTO.RowError(1, "Habitat is required."),
+                new AnimalBatchResultDTO.RowError(2, "Habitat is required.")), result.getErrors());
+        verify(habitatRepository, never()).findAllByIdForUpdate(any());
+        verify(entityManager, never()).persist(any());
+    }
+
+    private static AnimalRequestDTO row(String name) {
+        AnimalRequestDTO dto = new AnimalRequestDTO();
+        dto.setName(name);
+        dto.setSpecies("Leão");
+        dto.setAge(3);
+        dto.setSex("Macho");
+        dto.setArrivalDate("2024-01-10");
+        dto.setStatus("Ativo");
+        dto.setKeeperId(1L);
+        dto.setVetId(2L);
+        dto.setFeedingPlanId(3L);
+        return dto;
+    }
+}
@@ -0,0 +1,108 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.pagination.KeysetPage;
+import com.zoo.santuario.pagination.KeysetPageRequest;
+import com.zoo.santuario.search.AnimalSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pages through name filters that match more animals than fit into one primary-key list
+ * ({@code search.index.max-id-predicate} is 3 here), on an in-memory H2 database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.hikari.data-source-properties.useCursorFetch=",
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=",
+        "search.index.max-id-predicate=3",
+        "SENDGRID_API_KEY=test-key",
+        "SENDGRID_FROM_EMAIL=zoo@example.com"
+})
+class AnimalSearchPagingTest {
+
+    private static final Set<String> SORT_KEYS = Set.of("id", "name", "age");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:search-paging;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @MockBean
+    private EmailService emailService;
+
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private AnimalSearchIndex animalSearchIndex;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from animal");
+        // Ids deliberately out of name and age order.
+        insert(5, "Leão 3", 7);
+        insert(1, "Leão 6", 2);
+        insert(9, "Leão 1", 4);
+        insert(3, "Zebra", 4);
+        insert(7, "Leão 5", 7);
+        insert(2, "Leão 2", 9);
+        insert(8, "Girafa", 3);
+        insert(4, "Leão 4", 4);
+        insert(6, "Leão 7", 1);
+        animalSearchIndex.rebuild();
+    }
+
+    @Test
+    void idOrderIsSlicedFromTheCursor() {
+        // "leao" only matches "Leão" through the index, so a SQL fallback would find nothing.
+        assertEquals(List.of(1L, 2L, 4L, 5L, 6L, 7L, 9L), ids(readAll("leao", null, "id", "asc")));
+        assertEquals(List.of(9L, 7L, 6L, 5L, 4L, 2L, 1L), ids(readAll("leao", null, "id", "desc")));
+        assertEquals(List.of(2L, 4L, 5L, 7L, 9L), ids(readAll("leao", 4, "id", "asc")));
+    }
+
+    @Test
+    void otherSortKeysAreMergedInDatabaseOrder() {
+        assertEquals(List.of("Leão 1", "Leão 2", "Leão 3", "Leão 4", "Leão 5", "Leão 6", "Leão 7"),
+                readAll("leao", null, "name", "asc").stream().map(AnimalResponseDTO::getName).toList());
+        // Ties on age continue by id, in the same direction, across slices and pages.
+        assertEquals(List.of(2L, 7L, 5L, 9L, 4L, 1L, 6L), ids(readAll("leao", null, "age", "desc")));
+        assertEquals(List.of(4L, 9L, 5L, 7L, 2L), ids(readAll("leao", 4, "age", "asc")));
+    }
+
+    private List<AnimalResponseDTO> readAll(String name, Integer ageMin, String sort, String direction) {
+        List<AnimalResponseDTO> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPageRequest page = KeysetPageRequest.of(sort, direction, 2, cursor, SORT_KEYS);
+            KeysetPage<AnimalResponseDTO> result = animalService.getFilteredAnimals(null, ageMin, null, name, page, Set.of());
+            all.addAll(result.getItems());
+            cursor = result.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    private static List<Long> ids(List<AnimalResponseDTO> animals) {
+        return animals.stream().map(AnimalResponseDTO::getId).toList();
+    }
+
+    private void insert(long id, String name, int age) {
+        jdbcTemplate.update("insert into animal (id, name, species, age, sex, arrival_date, status) values (?, ?, 'Panthera leo', ?, 'Macho', '2024-01-10', 'Ativo')",
+                id, name, age);
+    }
+}
@@ -2,20 +2,32 @@ package com.zoo.santuario.service;
 
 import com.zoo.santuario.dto.AnimalRequestDTO;
 import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.event.AnimalChangedEvent;
+import com.zoo.santuario.model.Alimentacao;
 import com.zoo.santuario.model.Animal;
+import com.zoo.santuario.model.Cuidador;
 import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.model.Veterinario;
+import com.zoo.santuario.repository.AlimentacaoRepository;
 import com.zoo.santuario.repository.AnimalRepository;
 import com.zoo.santuario.repository.CuidadorRepository;
 import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import com.zoo.santuario.search.AnimalSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,7 +44,19 @@ class AnimalServiceTest {
     private CuidadorRepository cuidadorRepository;
 
     @Mock
-    private EmailService emailService;
+    private VeterinarioRepository veterinarioRepository;
+
+    @Mock
+    private AlimentacaoRepository alimentacaoRepository;
+
+    @Mock
+    private NotificationOutboxService notificationOutboxService;
+
+    @Mock
+    private AnimalSearchIndex animalSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AnimalService animalService;
@@ -42,8 +66,16 @@ class AnimalServiceTest {
         // Arrange
         AnimalRequestDTO requestDTO = new AnimalRequestDTO();
         requestDTO.setName("Simba");
+        requestDTO.setSpecies("Lion");
         requestDTO.setKeeperId(1L);
         requestDTO.setHabitatId(1L);
+        requestDTO.setVetId(1L);
+        requestDTO.setFeedingPlanId(1L);
+
+        Cuidador keeper = new Cuidador();
+        keeper.setId(1L);
+        keeper.setName("John Doe");
+        keeper.setContact("john.doe@example.com");
 
         Habitat habitat = new Habitat();
         habitat.setId(1L);
@@ -54,8 +86,11 @@ class AnimalServiceTest {
         animal.setId(1L);
         animal.setName("Simba");
 
-        when(habitatRepository.findById(1L)).thenReturn(Optional.of(habitat));
-        when(animalRepository.countByHabitat_Id(1L)).thenReturn(5L);
+        when(habitatRepository.tryAdmit(1L)).thenReturn(1);
+        when(habitatRepository.getReferenceById(1L)).thenReturn(habitat);
+        when(cuidadorRepository.findById(1L)).thenReturn(Optional.of(keeper));
+        when(veterinarioRepository.findById(1L)).thenReturn(Optional.of(new Veterinario()));
+        when(alimentacaoRepository.findById(1L)).thenReturn(Optional.of(new Alimentacao()));
         when(animalRepository.save(any(Animal.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -64,5 +99,12 @@ class AnimalServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("Simba", response.getName());
+        verify(notificationOutboxService).enqueue(eq("john.doe@example.com"), eq("John Doe"), eq("Novo Animal Atribuído: Simba"), anyString());
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        AnimalChangedEvent changed = assertInstanceOf(AnimalChangedEvent.class, event.getValue());
+        assertEquals("Simba", changed.animal().name());
+        assertEquals(1L, changed.animal().habitatId());
     }
 }
@@ -0,0 +1,181 @@
+package com.zoo.santuario.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.zoo.santuario.config.SendGridClientConfig;
+import com.zoo.santuario.exception.EmailDeliveryException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EmailService, wired the way SendGridClientConfig wires it, against a local fake SendGrid
+ * whose latency and status code each test chooses.
+ */
+class EmailServiceResilienceTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long latencyMillis = 0;
+    private volatile int status = 202;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SendGridClientConfig config = new SendGridClientConfig();
+    private HttpServer fakeSendGrid;
+    private ExecutorService fakeSendGridThreads;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeSendGridThreads = Executors.newCachedThreadPool();
+        fakeSendGrid = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        fakeSendGrid.setExecutor(fakeSendGridThreads);
+        fakeSendGrid.createContext("/v3/mail/send", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        fakeSendGrid.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        fakeSendGrid.stop(0);
+        fakeSendGridThreads.shutdownNow();
+    }
+
+    @Test
+    void stalledResponseIsCutOffAtTheResponseTimeout() {
+        latencyMillis = 3000;
+        EmailService emailService = emailService(Duration.ofMillis(300), 10, 8);
+
+        long start = System.nanoTime();
+        EmailDeliveryException e = assertThrows(EmailDeliveryException.class, () -> send(emailService));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(e.isRetryable());
+        assertTrue(elapsedMillis < 2000, "call took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedFailuresAndThenFailsFast() {
+        status = 503;
+        EmailService emailService = emailService(Duration.ofSeconds(5), 4, 8);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(EmailDeliveryException.class, () -> send(emailService));
+        }
+        assertFalse(emailService.isAvailable());
+
+        EmailDeliveryException e = assertThrows(EmailDeliveryException.class, () -> send(emailService));
+        assertTrue(e.isRetryable());
+        assertTrue(e.getMessage().contains("circuit breaker is open"));
+        assertEquals(4, requests.get(), "an open circuit must not reach SendGrid");
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", SendGridClientConfig.NAME).tag("state", "open").gauge().value());
+    }
+
+    @Test
+    void rejectedRequestsDoNotOpenTheCircuit() {
+        status = 400;
+        EmailService emailService = emailService(Duration.ofSeconds(5), 4, 8);
+
+        for (int i = 0; i < 8; i++) {
+            EmailDeliveryException e = assertThrows(EmailDeliveryException.class, () -> send(emailService));
+            assertFalse(e.isRetryable());
+        }
+        assertTrue(emailService.isAvailable());
+        assertEquals(8, requests.get());
+    }
+
+    @Test
+    void bulkheadTurnsAwayCallsBeyondTheLimit() throws Exception {
+        latencyMillis = 1000;
+        EmailService emailService = emailService(Duration.ofSeconds(5), 10, 2);
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        Callable<Boolean> caller = () -> {
+            start.await();
+            try {
+                send(emailService);
+                return true;
+            } catch (EmailDeliveryException e) {
+                assertTrue(e.isRetryable());
+                return false;
+            }
+        };
+        for (int i = 0; i < 4; i++) {
+            outcomes.add(callers.submit(caller));
+        }
+        start.countDown();
+
+        int sent = 0;
+        for (Future<Boolean> outcome : outcomes) {
+            sent += outcome.get() ? 1 : 0;
+        }
+        callers.shutdown();
+
+        assertEquals(2, sent);
+        assertEquals(2, requests.get());
+        assertTrue(emailService.isAvailable(), "calls turned away by the bulkhead are not SendGrid failures");
+        assertEquals(2.0, meterRegistry.get("resilience4j.bulkhead.max.allowed.concurrent.calls")
+                .tag("name", SendGridClientConfig.NAME).gauge().value());
+    }
+
+    private static void send(EmailService emailService) {
+        emailService.sendAnimalNotificationEmail("ana@example.com", "Animal atualizado", "O animal foi atualizado.");
+    }
+
+    private EmailService emailService(Duration responseTimeout, int circuitBreakerWindow, int maxConcurrentCalls) {
+        PoolingHttpClientConnectionManager connectionManager = config.sendGridConnectionManager(
+                10, Duration.ofSeconds(1), responseTimeout, Duration.ofMinutes(5));
+        config.sendGridConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+        httpClient = config.sendGridHttpClient(connectionManager, Duration.ofSeconds(1), responseTimeout, Duration.ofSeconds(30));
+        CircuitBreaker circuitBreaker = config.sendGridCircuitBreaker(meterRegistry,
+                circuitBreakerWindow, circuitBreakerWindow, 50, Duration.ofSeconds(5), 100, Duration.ofMinutes(1), 1);
+        Bulkhead bulkhead = config.sendGridBulkhead(meterRegistry, maxConcurrentCalls, Duration.ZERO);
+
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "restTemplate", config.sendGridRestTemplate(new RestTemplateBuilder(), httpClient));
+        ReflectionTestUtils.setField(emailService, "sendGridCircuitBreaker", circuitBreaker);
+        ReflectionTestUtils.setField(emailService, "sendGridBulkhead", bulkhead);
+        ReflectionTestUtils.setField(emailService, "sendGridApiKey", "test-key");
+        ReflectionTestUtils.setField(emailService, "fromEmail", "zoo@example.com");
+        ReflectionTestUtils.setField(emailService, "sendGridApiUrl",
+                "http://127.0.0.1:" + fakeSendGrid.getAddress().getPort() + "/v3/mail/send");
+        return emailService;
+    }
+}
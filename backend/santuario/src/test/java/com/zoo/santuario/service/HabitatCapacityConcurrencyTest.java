@@ -0,0 +1,181 @@
+package com.zoo.santuario.service;
+
+import com.zoo.santuario.dto.AnimalRequestDTO;
+import com.zoo.santuario.dto.AnimalResponseDTO;
+import com.zoo.santuario.exception.HabitatCapacityExceededException;
+import com.zoo.santuario.model.Alimentacao;
+import com.zoo.santuario.model.Cuidador;
+import com.zoo.santuario.model.Habitat;
+import com.zoo.santuario.model.Veterinario;
+import com.zoo.santuario.repository.AlimentacaoRepository;
+import com.zoo.santuario.repository.AnimalRepository;
+import com.zoo.santuario.repository.CuidadorRepository;
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Hammers a single habitat with concurrent creates, moves and deletes and checks that it is never
+ * overfilled and that its occupancy column always matches the animals actually in it.
+ */
+@SpringBootTest
+@Testcontainers
+class HabitatCapacityConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CAPACITY = 10;
+
+    @MockBean
+    private EmailService emailService;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0.26"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+    }
+
+    @Autowired
+    private AnimalService animalService;
+    @Autowired
+    private AnimalRepository animalRepository;
+    @Autowired
+    private HabitatRepository habitatRepository;
+    @Autowired
+    private CuidadorRepository cuidadorRepository;
+    @Autowired
+    private VeterinarioRepository veterinarioRepository;
+    @Autowired
+    private AlimentacaoRepository alimentacaoRepository;
+
+    private Long keeperId;
+    private Long vetId;
+    private Long feedingPlanId;
+
+    @BeforeEach
+    void setUp() {
+        keeperId = cuidadorRepository.save(new Cuidador(null, "Ana", "ana" + System.nanoTime() + "@zoo.com", "Felinos", "Ativo", "Manhã", null)).getId();
+        vetId = veterinarioRepository.save(new Veterinario(null, "Dr. Vet", "CRMV" + System.nanoTime(), "Geral", "Ativo", null)).getId();
+        feedingPlanId = alimentacaoRepository.save(new Alimentacao(null, "Plano", "Carne", "1kg", "Diária", null)).getId();
+    }
+
+    @Test
+    void concurrentCreatesNeverOverfillAHabitat() throws Exception {
+        Long habitatId = habitat("Savana");
+
+        List<Callable<AnimalResponseDTO>> creates = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            int n = i;
+            creates.add(() -> animalService.createAnimal(animal("Leão " + n, habitatId)));
+        }
+        List<Future<AnimalResponseDTO>> outcomes = runAll(creates);
+
+        int admitted = 0;
+        for (Future<AnimalResponseDTO> outcome : outcomes) {
+            try {
+                outcome.get();
+                admitted++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(HabitatCapacityExceededException.class, e.getCause());
+            }
+        }
+
+        assertEquals(CAPACITY, admitted);
+        assertOccupancy(habitatId, CAPACITY);
+    }
+
+    @Test
+    void concurrentMovesAndDeletesKeepOccupancyExact() throws Exception {
+        Long first = habitat("Savana");
+        Long second = habitat("Floresta");
+        List<Long> animals = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            animals.add(animalService.createAnimal(animal("Zebra " + i, i % 2 == 0 ? first : second)).getId());
+        }
+
+        // Animals swap habitats in both directions while others are deleted and new ones try to get in.
+        List<Callable<Object>> work = new ArrayList<>();
+        for (int i = 0; i < animals.size(); i++) {
+            Long id = animals.get(i);
+            Long target = i % 2 == 0 ? second : first;
+            work.add(i % 3 == 0
+                    ? () -> { animalService.deleteAnimal(id); return null; }
+                    : () -> animalService.updateAnimal(id, animal("Zebra", target)));
+        }
+        for (int i = 0; i < THREADS; i++) {
+            int n = i;
+            work.add(() -> animalService.createAnimal(animal("Girafa " + n, n % 2 == 0 ? first : second)));
+        }
+        for (Future<Object> outcome : runAll(work)) {
+            try {
+                outcome.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(HabitatCapacityExceededException.class, e.getCause());
+            }
+        }
+
+        assertOccupancy(first, animalRepository.countByHabitat_Id(first));
+        assertOccupancy(second, animalRepository.countByHabitat_Id(second));
+    }
+
+    private <T> List<Future<T>> runAll(List<Callable<T>> tasks) throws InterruptedException {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> outcomes = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            outcomes.add(threads.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        threads.shutdown();
+        threads.awaitTermination(1, TimeUnit.MINUTES);
+        return outcomes;
+    }
+
+    private void assertOccupancy(Long habitatId, long expected) {
+        Habitat habitat = habitatRepository.findById(habitatId).orElseThrow();
+        assertEquals(expected, animalRepository.countByHabitat_Id(habitatId), "animals in " + habitat.getName());
+        assertEquals(expected, habitat.getOccupancy(), "occupancy column of " + habitat.getName());
+    }
+
+    private Long habitat(String name) {
+        return habitatRepository.save(new Habitat(null, name, "Terrestre", CAPACITY, "Operacional", 0, null)).getId();
+    }
+
+    private AnimalRequestDTO animal(String name, Long habitatId) {
+        return new AnimalRequestDTO(name, "Espécie", 3, "Macho", "2024-01-01", "Ativo", null,
+                keeperId, vetId, habitatId, feedingPlanId);
+    }
+}
@@ -0,0 +1,129 @@
+package com.zoo.santuario.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.zoo.santuario.model.NotificationOutbox;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the dispatcher against a local fake SendGrid that records every request it receives.
+ */
+class NotificationDigestTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private HttpServer fakeSendGrid;
+    // Shared requests (more than one personalization) are answered with this status.
+    private volatile int sharedRequestStatus = 202;
+
+    private NotificationOutboxService notificationOutboxService;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fakeSendGrid = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        fakeSendGrid.createContext("/v3/mail/send", exchange -> {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            requests.add(request);
+            int status = request.get("personalizations").size() > 1 ? sharedRequestStatus : 202;
+            byte[] response = (status == 202 ? "" : "{\"errors\":[{\"message\":\"invalid email\"}]}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length == 0 ? -1 : response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        fakeSendGrid.start();
+
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "restTemplate", new RestTemplate());
+        ReflectionTestUtils.setField(emailService, "sendGridCircuitBreaker", CircuitBreaker.ofDefaults("sendgrid"));
+        ReflectionTestUtils.setField(emailService, "sendGridBulkhead", Bulkhead.ofDefaults("sendgrid"));
+        ReflectionTestUtils.setField(emailService, "sendGridApiKey", "test-key");
+        ReflectionTestUtils.setField(emailService, "fromEmail", "zoo@example.com");
+        ReflectionTestUtils.setField(emailService, "sendGridApiUrl",
+                "http://127.0.0.1:" + fakeSendGrid.getAddress().getPort() + "/v3/mail/send");
+
+        notificationOutboxService = mock(NotificationOutboxService.class);
+        dispatcher = new NotificationDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "notificationOutboxService", notificationOutboxService);
+        ReflectionTestUtils.setField(dispatcher, "emailService", emailService);
+        ReflectionTestUtils.setField(dispatcher, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "concurrency", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxRecipientsPerRequest", 100);
+        dispatcher.startExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stopExecutor();
+        fakeSendGrid.stop(0);
+    }
+
+    @Test
+    void habitatReorganizationIsSentAsOneRequestWithOneDigestPerKeeper() {
+        // 20 changes for one keeper and 10 for another used to be 30 SendGrid calls.
+        List<NotificationOutbox> claimed = new ArrayList<>();
+        LongStream.rangeClosed(1, 20).forEach(id -> claimed.add(notification(id, "ana@example.com", "Ana")));
+        LongStream.rangeClosed(21, 30).forEach(id -> claimed.add(notification(id, "bruno@example.com", "Bruno")));
+        when(notificationOutboxService.claimDue(anyInt())).thenReturn(claimed, List.of());
+
+        dispatcher.dispatch();
+
+        assertEquals(1, requests.size());
+        JsonNode personalizations = requests.get(0).get("personalizations");
+        assertEquals(2, personalizations.size());
+        assertEquals("ana@example.com", personalizations.get(0).get("to").get(0).get("email").asText());
+        assertEquals("Resumo de Atualizações: 20 notificações", personalizations.get(0).get("subject").asText());
+        assertEquals("Resumo de Atualizações: 10 notificações", personalizations.get(1).get("subject").asText());
+        assertTrue(personalizations.get(1).get("substitutions").get("-body-").asText().startsWith("Prezado(a) Bruno,"));
+        verify(notificationOutboxService).markSent(LongStream.rangeClosed(1, 30).boxed().toList());
+    }
+
+    @Test
+    void rejectedSharedRequestIsRetriedPerRecipient() {
+        sharedRequestStatus = 400;
+        when(notificationOutboxService.claimDue(anyInt())).thenReturn(
+                List.of(notification(1L, "ana@example.com", "Ana"), notification(2L, "bruno@example.com", "Bruno")), List.of());
+
+        dispatcher.dispatch();
+
+        assertEquals(3, requests.size());
+        verify(notificationOutboxService).markSent(List.of(1L));
+        verify(notificationOutboxService).markSent(List.of(2L));
+    }
+
+    private static NotificationOutbox notification(long id, String recipient, String recipientName) {
+        NotificationOutbox notification = new NotificationOutbox();
+        notification.setId(id);
+        notification.setRecipient(recipient);
+        notification.setRecipientName(recipientName);
+        notification.setSubject("Animal " + id);
+        notification.setBody("O animal <b>" + id + "</b> foi atualizado.");
+        notification.setStatus(NotificationOutbox.Status.PENDING);
+        notification.setAttempts(1);
+        return notification;
+    }
+}
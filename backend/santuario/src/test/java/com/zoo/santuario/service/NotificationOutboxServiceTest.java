@@ -0,0 +1,26 @@
+package com.zoo.santuario.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationOutboxServiceTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(30);
+    private static final Duration MAX = Duration.ofHours(1);
+
+    @Test
+    void backoffDoublesPerAttempt() {
+        assertEquals(Duration.ofSeconds(30), NotificationOutboxService.backoff(1, INITIAL, MAX));
+        assertEquals(Duration.ofSeconds(60), NotificationOutboxService.backoff(2, INITIAL, MAX));
+        assertEquals(Duration.ofSeconds(240), NotificationOutboxService.backoff(4, INITIAL, MAX));
+    }
+
+    @Test
+    void backoffIsCappedAndNeverOverflows() {
+        assertEquals(MAX, NotificationOutboxService.backoff(8, INITIAL, MAX));
+        assertEquals(MAX, NotificationOutboxService.backoff(1000, INITIAL, MAX));
+    }
+}
@@ -0,0 +1,168 @@
+package com.zoo.santuario.stats;
+
+import com.zoo.santuario.event.AlimentacaoChangedEvent;
+import com.zoo.santuario.event.AnimalChangedEvent;
+import com.zoo.santuario.event.ChangesCommittedEvent;
+import com.zoo.santuario.event.CuidadorChangedEvent;
+import com.zoo.santuario.event.EntityChangedEvent;
+import com.zoo.santuario.repository.AnimalRepository;
+import com.zoo.santuario.repository.CuidadorRepository;
+import com.zoo.santuario.repository.EntityStatus;
+import com.zoo.santuario.repository.HabitatRepository;
+import com.zoo.santuario.repository.VeterinarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsEngineTest {
+
+    @Mock
+    private AnimalRepository animalRepository;
+    @Mock
+    private HabitatRepository habitatRepository;
+    @Mock
+    private CuidadorRepository cuidadorRepository;
+    @Mock
+    private VeterinarioRepository veterinarioRepository;
+
+    @InjectMocks
+    private StatisticsEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        List<HabitatRepository.Occupancy> habitats = List.of(habitat(1L, "Savana", 10), habitat(2L, "Lago", 5));
+        List<EntityStatus> keepers = List.of(status(7L, "Ativo"), status(8L, "Férias"));
+        List<EntityStatus> vets = List.of(status(9L, "Ativo"));
+        List<AnimalRepository.StatisticsFields> animals = List.of(
+                animal(1L, "Leão", "Ativo", "Macho", 1L, 7L, 9L),
+                animal(2L, "Leão", "Em Observação", "Fêmea", 1L, 7L, 9L),
+                animal(3L, "Flamingo", "Ativo", "Fêmea", 2L, 8L, 9L));
+        when(habitatRepository.findOccupancy()).thenReturn(habitats);
+        when(cuidadorRepository.findAllStatuses()).thenReturn(keepers);
+        when(veterinarioRepository.findAllStatuses()).thenReturn(vets);
+        when(animalRepository.findAllStatisticsFields()).thenReturn(animals);
+    }
+
+    @Test
+    void buildsCountsFromTheDatabase() {
+        assertNull(engine.current());
+
+        engine.reconcile();
+
+        ZooStatistics statistics = engine.current();
+        assertEquals(3, statistics.animals());
+        assertEquals(Map.of("Flamingo", 1L, "Leão", 2L), statistics.animalsBySpecies());
+        assertEquals(Map.of("Ativo", 2L, "Em Observação", 1L), statistics.animalsByStatus());
+        assertEquals(Map.of("Fêmea", 2L, "Macho", 1L), statistics.animalsBySex());
+        assertEquals(List.of(new ZooStatistics.HabitatOccupancy(1L, "Savana", "Operacional", 10, 2),
+                new ZooStatistics.HabitatOccupancy(2L, "Lago", "Operacional", 5, 1)), statistics.habitats());
+        assertEquals(List.of(new ZooStatistics.Workload(7L, "Ativo", 2), new ZooStatistics.Workload(8L, "Férias", 1)), statistics.keepers());
+        assertEquals(Map.of("Ativo", 1L, "Férias", 1L), statistics.keepersByStatus());
+        assertEquals(List.of(new ZooStatistics.Workload(9L, "Ativo", 3)), statistics.vets());
+    }
+
+    @Test
+    void appliesChangesAndIgnoresReplays() {
+        engine.reconcile();
+        ZooStatistics before = engine.current();
+
+        AnimalChangedEvent moved = new AnimalChangedEvent(3L, new AnimalChangedEvent.Facts("Rosa", "Flamingo", "Ativo", "Fêmea", 1L, 7L, 9L));
+        engine.onChangesCommitted(committed(moved));
+        engine.onChangesCommitted(committed(moved));
+
+        ZooStatistics after = engine.current();
+        assertEquals(3, after.animals());
+        assertEquals(3, after.habitats().get(0).residents());
+        assertEquals(0, after.habitats().get(1).residents());
+        assertEquals(List.of(new ZooStatistics.Workload(7L, "Ativo", 3), new ZooStatistics.Workload(8L, "Férias", 0)), after.keepers());
+        // Snapshots already handed out never change.
+        assertEquals(2, before.habitats().get(0).residents());
+
+        engine.onChangesCommitted(committed(AnimalChangedEvent.deleted(1L), new CuidadorChangedEvent(8L, "Ativo")));
+
+        assertEquals(2, engine.current().animals());
+        assertEquals(Map.of("Flamingo", 1L, "Leão", 1L), engine.current().animalsBySpecies());
+        assertEquals(Map.of("Fêmea", 2L), engine.current().animalsBySex());
+        assertEquals(Map.of("Ativo", 2L), engine.current().keepersByStatus());
+    }
+
+    @Test
+    void reconciliationCorrectsDrift() {
+        engine.reconcile();
+        // An animal written by another instance never reaches this one as an event.
+        engine.onChangesCommitted(committed(AnimalChangedEvent.deleted(2L)));
+        assertEquals(2, engine.current().animals());
+
+        engine.reconcile();
+
+        assertEquals(3, engine.current().animals());
+        assertEquals(Map.of("Ativo", 2L, "Em Observação", 1L), engine.current().animalsByStatus());
+    }
+
+    @Test
+    void publishesOneSnapshotPerTransaction() {
+        engine.reconcile();
+        ZooStatistics before = engine.current();
+
+        // Changes that are not counted, such as a feeding plan, leave the counts alone.
+        engine.onChangesCommitted(committed(AlimentacaoChangedEvent.saved(5L)));
+        assertEquals(before.animalsBySpecies(), engine.current().animalsBySpecies());
+
+        engine.onChangesCommitted(committed(
+                new AnimalChangedEvent(4L, new AnimalChangedEvent.Facts("Nilo", "Hipopótamo", "Ativo", "Macho", 2L, 8L, 9L)),
+                new AnimalChangedEvent(5L, new AnimalChangedEvent.Facts("Juba", "Leão", "Ativo", "Macho", 1L, 7L, 9L)),
+                AnimalChangedEvent.deleted(3L)));
+
+        ZooStatistics after = engine.current();
+        assertEquals(4, after.animals());
+        assertEquals(Map.of("Hipopótamo", 1L, "Leão", 3L), after.animalsBySpecies());
+        assertEquals(List.of(new ZooStatistics.Workload(9L, "Ativo", 4)), after.vets());
+    }
+
+    private static ChangesCommittedEvent committed(EntityChangedEvent... changes) {
+        return new ChangesCommittedEvent(List.of(changes), LocalDateTime.now());
+    }
+
+    private static HabitatRepository.Occupancy habitat(Long id, String name, int capacity) {
+        HabitatRepository.Occupancy habitat = mock(HabitatRepository.Occupancy.class);
+        lenient().when(habitat.getId()).thenReturn(id);
+        lenient().when(habitat.getName()).thenReturn(name);
+        lenient().when(habitat.getStatus()).thenReturn("Operacional");
+        lenient().when(habitat.getCapacity()).thenReturn(capacity);
+        return habitat;
+    }
+
+    private static EntityStatus status(Long id, String status) {
+        EntityStatus row = mock(EntityStatus.class);
+        lenient().when(row.getId()).thenReturn(id);
+        lenient().when(row.getStatus()).thenReturn(status);
+        return row;
+    }
+
+    private static AnimalRepository.StatisticsFields animal(Long id, String species, String status, String sex,
+                                                            Long habitatId, Long keeperId, Long vetId) {
+        AnimalRepository.StatisticsFields animal = mock(AnimalRepository.StatisticsFields.class);
+        lenient().when(animal.getId()).thenReturn(id);
+        lenient().when(animal.getSpecies()).thenReturn(species);
+        lenient().when(animal.getStatus()).thenReturn(status);
+        lenient().when(animal.getSex()).thenReturn(sex);
+        lenient().when(animal.getHabitatId()).thenReturn(habitatId);
+        lenient().when(animal.getKeeperId()).thenReturn(keeperId);
+        lenient().when(animal.getVetId()).thenReturn(vetId);
+        return animal;
+    }
+}
@@ -1,7 +1,7 @@
 import React from 'react';
-import { AnimalDashboard, Cuidador, Veterinario, Habitat, PlanoAlimentar } from '../types/dashboard';
+import { AnimalDashboard } from '../types/dashboard';
 import ImageSelectionModal from './ImageSelectionModal'; // New import
-import { updateAnimal } from '../services/api'; // New import
+import { getAnimalById, updateAnimal } from '../services/api'; // New import
 import { AnimalResponseDTO } from '../types/types'; // New import
 
 type PageName = 'dashboard' | 'animals' | 'animalDetails' | 'animalForm' | 'keepers' | 'keeperDetails' | 'keeperForm' | 'vets' | 'vetDetails' | 'vetForm' | 'habitats' | 'habitatDetails' | 'habitatForm' | 'feeding' | 'feedingPlanDetails' | 'feedingPlanForm';
@@ -14,10 +14,6 @@ interface ViewState {
 interface AnimalDetailsPageProps {
   animalId: number;
   animals: AnimalDashboard[];
-  keepers: Cuidador[];
-  vets: Veterinario[];
-  habitats: Habitat[];
-  feedingPlans: PlanoAlimentar[];
   onNavigateBack: () => void;
   onNavigateTo: (view: ViewState) => void;
   onDeleteRequest: (animal: AnimalDashboard) => void;
@@ -34,10 +30,6 @@ const InfoCard: React.FC<{ title: string, children: React.ReactNode }> = ({ titl
 const AnimalDetailsPage: React.FC<AnimalDetailsPageProps> = ({
     animalId,
     animals,
-    keepers,
-    vets,
-    habitats,
-    feedingPlans,
     onNavigateBack,
     onNavigateTo,
     onDeleteRequest,
@@ -46,6 +38,16 @@ const AnimalDetailsPage: React.FC<AnimalDetailsPageProps> = ({
   const animal = animals.find(a => a.id === animalId);
 
   const [isImageModalOpen, setIsImageModalOpen] = React.useState(false); // New state
+  const [expanded, setExpanded] = React.useState<AnimalResponseDTO | null>(null);
+
+  // The keeper, vet, habitat and feeding plan come with the animal (?expand=), in one request
+  React.useEffect(() => {
+    let cancelled = false;
+    getAnimalById(animalId, ['keeper', 'vet', 'habitat', 'feedingPlan'])
+      .then(result => { if (!cancelled) setExpanded(result); })
+      .catch(error => console.error('Error loading animal relations:', error));
+    return () => { cancelled = true; };
+  }, [animalId, animal?.keeperId, animal?.vetId, animal?.habitatId, animal?.feedingPlanId]);
 
   if (!animal) {
     return (
@@ -59,11 +61,11 @@ const AnimalDetailsPage: React.FC<AnimalDetailsPageProps> = ({
     );
   }
 
-  // Look up related data
-  const keeper = keepers.find(k => k.id === animal.keeperId);
-  const vet = vets.find(v => v.id === animal.vetId);
-  const habitat = habitats.find(h => h.id === animal.habitatId);
-  const feedingPlan = feedingPlans.find(p => p.id === animal.feedingPlanId);
+  // Related data, from the expanded animal
+  const keeper = expanded?.keeper;
+  const vet = expanded?.vet;
+  const habitat = expanded?.habitat;
+  const feedingPlan = expanded?.feedingPlan;
 
   // Fallback data for the details view
   const displayAnimal = {
@@ -1,5 +1,6 @@
 import React from 'react';
 import { PlanoAlimentar, AnimalDashboard } from '../types/dashboard';
+import { useRelatedAnimals } from '../utils/useRelatedAnimals';
 
 interface ViewState {
     page: string;
@@ -16,7 +17,8 @@ interface FeedingPlanDetailsPageProps {
 
 const FeedingPlanDetailsPage: React.FC<FeedingPlanDetailsPageProps> = ({ planId, plans, animals, onNavigateBack, onNavigateTo }) => {
   const plan = plans.find(p => p.id === planId);
-  const assignedAnimals = animals.filter(a => a.feedingPlanId === planId);
+  // Fetched again whenever the dashboard's animal list changes
+  const assignedAnimals = useRelatedAnimals('alimentacoes', planId, animals);
 
   if (!plan) {
     return (
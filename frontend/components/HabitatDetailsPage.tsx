@@ -1,5 +1,6 @@
 import React from 'react';
 import { Habitat, AnimalDashboard } from '../types/dashboard';
+import { useRelatedAnimals } from '../utils/useRelatedAnimals';
 
 interface ViewState {
     page: string;
@@ -16,7 +17,8 @@ interface HabitatDetailsPageProps {
 
 const HabitatDetailsPage: React.FC<HabitatDetailsPageProps> = ({ habitatId, habitats, animals, onNavigateBack, onNavigateTo }) => {
   const habitat = habitats.find(h => h.id === habitatId);
-  const residentAnimals = animals.filter(a => a.habitatId === habitatId);
+  // Fetched again whenever the dashboard's animal list changes
+  const residentAnimals = useRelatedAnimals('habitats', habitatId, animals);
 
   if (!habitat) {
     return (
@@ -1,5 +1,6 @@
 import React from 'react';
 import { Cuidador, AnimalDashboard } from '../types/dashboard';
+import { useRelatedAnimals } from '../utils/useRelatedAnimals';
 
 interface ViewState {
     page: string;
@@ -16,7 +17,8 @@ interface KeeperDetailsPageProps {
 
 const KeeperDetailsPage: React.FC<KeeperDetailsPageProps> = ({ keeperId, keepers, animals, onNavigateBack, onNavigateTo }) => {
   const keeper = keepers.find(k => k.id === keeperId);
-  const assignedAnimals = animals.filter(a => a.keeperId === keeperId);
+  // Fetched again whenever the dashboard's animal list changes
+  const assignedAnimals = useRelatedAnimals('cuidadores', keeperId, animals);
 
   if (!keeper) {
     return (
@@ -1,5 +1,6 @@
 import React from 'react';
 import { Veterinario, AnimalDashboard } from '../types/dashboard';
+import { useRelatedAnimals } from '../utils/useRelatedAnimals';
 
 interface ViewState {
     page: string;
@@ -16,7 +17,8 @@ interface VetDetailsPageProps {
 
 const VetDetailsPage: React.FC<VetDetailsPageProps> = ({ vetId, vets, animals, onNavigateBack, onNavigateTo }) => {
   const vet = vets.find(v => v.id === vetId);
-  const assignedAnimals = animals.filter(a => a.vetId === vetId);
+  // Fetched again whenever the dashboard's animal list changes
+  const assignedAnimals = useRelatedAnimals('veterinarios', vetId, animals);
 
   if (!vet) {
     return (
@@ -18,12 +18,13 @@ import HabitatFormPage from '../components/HabitatFormPage';
 import FeedingPlanDetailsPage from '../components/FeedingPlanDetailsPage';
 import FeedingPlanFormPage from '../components/FeedingPlanFormPage';
 
-import { AnimalDashboard, Cuidador, Veterinario, Habitat, PlanoAlimentar } from '../types/dashboard';
+import { AnimalDashboard, Cuidador, Veterinario, Habitat, PlanoAlimentar, DashboardSummary } from '../types/dashboard';
 import { 
-    getAnimals, getCuidadores, getVeterinarios, getHabitats, getAlimentacoes, 
+    getDashboardSummary, getAnimals, getCuidadores, getVeterinarios, getHabitats, getAlimentacoes, 
     deleteAnimal, deleteCuidador, deleteVeterinario, deleteHabitat, deleteAlimentacao,
     createAnimal, updateAnimal, createCuidador, updateCuidador, createVeterinario, updateVeterinario,
-    createHabitat, updateHabitat, createAlimentacao, updateAlimentacao
+    createHabitat, updateHabitat, createAlimentacao, updateAlimentacao,
+    getAnimalById, getCuidadorById, getVeterinarioById, getHabitatById, getAlimentacaoById, subscribeToChanges
 } from '../services/api';
 import { ApiError } from '../utils/apiError';
 import { BackendError } from '../types/types';
@@ -93,20 +94,32 @@ const FEEDING_COLUMNS = [
 const DashboardOverview: React.FC<{
     animals: AnimalDashboard[],
     keepers: Cuidador[],
-    habitats: Habitat[],
     navigateTo: (view: ViewState) => void;
-}> = ({ animals, keepers, habitats, navigateTo }) => {
+}> = ({ animals, keepers, navigateTo }) => {
+    // Counts, occupancy and recent arrivals are aggregated by the backend (GET /api/dashboard/summary),
+    // refreshed every time the overview is shown.
+    const [summary, setSummary] = React.useState<DashboardSummary | null>(null);
+
+    React.useEffect(() => {
+        getDashboardSummary()
+            .then(setSummary)
+            .catch(error => console.error("Failed to fetch dashboard summary", error));
+    }, []);
+
+    const statusCount = (counts: DashboardSummary['animals'] | undefined, status: string) => counts?.byStatus[status] ?? 0;
+
     // Data processing for dashboard widgets
-    const maintenanceHabitats = habitats.filter(h => h.status === 'Em Manutenção');
+    const habitatOccupancy = summary?.habitatOccupancy ?? [];
+    const maintenanceHabitats = habitatOccupancy.filter(h => h.status === 'Em Manutenção');
     const animalsInObservation = animals.filter(a => a.status === 'Em Observação');
     const activeKeepers = keepers.filter(k => k.status === 'Ativo');
-    const recentAnimals = [...animals].sort((a, b) => new Date(b.arrivalDate).getTime() - new Date(a.arrivalDate).getTime()).slice(0, 5);
+    const recentAnimals = summary?.recentArrivals ?? [];
 
     const stats = [
-        { title: 'Total de Animais', value: animals.length, icon: AnimalIcon },
-        { title: 'Habitats Ativos', value: habitats.filter(h => h.status === 'Operacional').length, icon: HabitatIcon },
-        { title: 'Cuidadores em Turno', value: activeKeepers.length, icon: VetKeeperIcon },
-        { title: 'Alertas Pendentes', value: maintenanceHabitats.length + animalsInObservation.length, icon: AlertIcon },
+        { title: 'Total de Animais', value: summary?.animals.total ?? 0, icon: AnimalIcon },
+        { title: 'Habitats Ativos', value: statusCount(summary?.habitats, 'Operacional'), icon: HabitatIcon },
+        { title: 'Cuidadores em Turno', value: statusCount(summary?.cuidadores, 'Ativo'), icon: VetKeeperIcon },
+        { title: 'Alertas Pendentes', value: statusCount(summary?.habitats, 'Em Manutenção') + statusCount(summary?.animals, 'Em Observação'), icon: AlertIcon },
     ];
 
     return (
@@ -136,10 +149,10 @@ const DashboardOverview: React.FC<{
                         <h2 className="font-serif text-2xl font-bold text-white mb-4">Alertas e Tarefas Rápidas</h2>
                         <ul className="space-y-3">
                             {maintenanceHabitats.map(habitat => (
-                                <li key={`h-alert-${habitat.id}`} className="flex items-center p-3 bg-dark-bg/40 rounded-md">
+                                <li key={`h-alert-${habitat.habitatId}`} className="flex items-center p-3 bg-dark-bg/40 rounded-md">
                                     <AlertIcon className="w-6 h-6 mr-4 text-brand-amber flex-shrink-0" />
                                     <p className="text-white font-semibold flex-grow">Habitat "{habitat.name}" requer manutenção.</p>
-                                    <button onClick={() => navigateTo({ page: 'habitatDetails', params: { id: habitat.id }})} className="text-sm bg-brand-amber/80 text-dark-bg font-bold py-1 px-3 rounded-md hover:bg-brand-amber transition-colors">
+                                    <button onClick={() => navigateTo({ page: 'habitatDetails', params: { id: habitat.habitatId }})} className="text-sm bg-brand-amber/80 text-dark-bg font-bold py-1 px-3 rounded-md hover:bg-brand-amber transition-colors">
                                         Ver
                                     </button>
                                 </li>
@@ -178,12 +191,12 @@ const DashboardOverview: React.FC<{
                 <div className="bg-brand-brown p-6 rounded-lg shadow-lg overflow-hidden border border-brand-gold/20">
                      <h2 className="font-serif text-2xl font-bold text-white mb-4">Ocupação dos Habitats</h2>
                      <div className="space-y-4">
-                        {habitats.filter(h => h.status === 'Operacional').map(habitat => {
-                            const residentCount = animals.filter(a => a.habitatId === habitat.id).length;
+                        {habitatOccupancy.filter(h => h.status === 'Operacional').map(habitat => {
+                            const residentCount = habitat.residents;
                             const occupancy = (residentCount / habitat.capacity) * 100;
                             const barColor = occupancy > 80 ? 'bg-red-500' : occupancy > 60 ? 'bg-amber-500' : 'bg-green-500';
                             return (
-                                <div key={habitat.id}>
+                                <div key={habitat.habitatId}>
                                     <div className="flex justify-between items-end mb-1 text-sm">
                                         <p className="font-semibold text-white">{habitat.name}</p>
                                         <p className="text-light-cream/80">{residentCount} / {habitat.capacity}</p>
@@ -243,6 +256,12 @@ const typeToNameMap: { [key: string]: string } = {
     feedingPlan: 'Plano de Alimentação',
 };
 
+// Replaces the row with the same id, or adds it at the end.
+const upsert = (setter: React.Dispatch<React.SetStateAction<any[]>>, saved: any) =>
+    setter(prev => prev.some(item => item.id === saved.id)
+        ? prev.map(item => item.id === saved.id ? saved : item)
+        : [...prev, saved]);
+
 const DashboardPage: React.FC<DashboardPageProps> = ({ setPage, showToast }) => {
     // State for all data
     const [animals, setAnimals] = React.useState<AnimalDashboard[]>([]);
@@ -283,6 +302,35 @@ const DashboardPage: React.FC<DashboardPageProps> = ({ setPage, showToast }) =>
         fetchData();
     }, []);
 
+    // Changes made by other users arrive over the live stream: deleted rows are removed, changed rows are
+    // fetched again by id and lists changed in bulk are reloaded.
+    React.useEffect(() => {
+        const sources: { [entity: string]: { setter: React.Dispatch<React.SetStateAction<any[]>>; getById: (id: number) => Promise<any>; getAll: () => Promise<any[]> } } = {
+            animal: { setter: setAnimals, getById: getAnimalById, getAll: () => getAnimals() },
+            cuidador: { setter: setKeepers, getById: getCuidadorById, getAll: () => getCuidadores() },
+            veterinario: { setter: setVets, getById: getVeterinarioById, getAll: () => getVeterinarios() },
+            habitat: { setter: setHabitats, getById: getHabitatById, getAll: () => getHabitats() },
+            alimentacao: { setter: setFeedingPlans, getById: getAlimentacaoById, getAll: () => getAlimentacoes() },
+        };
+        return subscribeToChanges(update => {
+            update.changes.forEach(change => {
+                const source = sources[change.entity];
+                if (change.deleted) {
+                    source.setter(prev => prev.filter(item => item.id !== change.id));
+                } else {
+                    source.getById(change.id)
+                        .then(item => upsert(source.setter, item))
+                        .catch(error => console.error(`Failed to refresh ${change.entity} ${change.id}`, error));
+                }
+            });
+            update.reload.forEach(entity => {
+                sources[entity].getAll()
+                    .then(sources[entity].setter)
+                    .catch(error => console.error(`Failed to reload ${entity}`, error));
+            });
+        });
+    }, []);
+
     // Navigation and Modal State
     const [viewStack, setViewStack] = React.useState<ViewState[]>([{ page: 'dashboard' }]);
     const [modalState, setModalState] = React.useState<{ isOpen: boolean; itemToDelete: ModalItem | null }>({ isOpen: false, itemToDelete: null });
@@ -331,16 +379,11 @@ const DashboardPage: React.FC<DashboardPageProps> = ({ setPage, showToast }) =>
                     throw new Error(`Unknown type: ${type}`);
             }
 
+            // The live stream may have delivered the saved row already, so it is replaced rather than added twice.
             const updateState = (
                 stateArray: any[],
                 setter: React.Dispatch<React.SetStateAction<any[]>>
-            ) => {
-                if (isEditing) {
-                    setter(prev => prev.map(item => item.id === savedItem.id ? savedItem : item));
-                } else {
-                    setter(prev => [...prev, savedItem]);
-                }
-            };
+            ) => upsert(setter, savedItem);
 
             switch (type) {
                 case 'animal': updateState(animals, setAnimals); break;
@@ -488,7 +531,7 @@ const DashboardPage: React.FC<DashboardPageProps> = ({ setPage, showToast }) =>
     // Content Rendering Logic
     const renderContent = () => {
         switch (currentView.page) {
-            case 'dashboard': return <DashboardOverview animals={animals} keepers={keepers} habitats={habitats} navigateTo={navigateTo} />;
+            case 'dashboard': return <DashboardOverview animals={animals} keepers={keepers} navigateTo={navigateTo} />;
             // Animals
             case 'animals':
                 return <AnimalManagementPage 
@@ -503,10 +546,6 @@ const DashboardPage: React.FC<DashboardPageProps> = ({ setPage, showToast }) =>
                 return <AnimalDetailsPage 
                     animalId={currentView.params?.id} 
                     animals={animals}
-                    keepers={keepers}
-                    vets={vets}
-                    habitats={habitats}
-                    feedingPlans={feedingPlans}
                     onNavigateBack={navigateBack}
                     onNavigateTo={navigateTo}
                     onDeleteRequest={(item) => handleDeleteRequest(item, 'animal')}
@@ -1,8 +1,14 @@
-import { AlimentacaoRequestDTO, AlimentacaoResponseDTO, AnimalRequestDTO, AnimalResponseDTO, CuidadorRequestDTO, CuidadorResponseDTO, HabitatRequestDTO, HabitatResponseDTO, VeterinarioRequestDTO, VeterinarioResponseDTO, BackendError } from '../types/types';
+import { AlimentacaoRequestDTO, AlimentacaoResponseDTO, AnimalExpansion, AnimalRequestDTO, AnimalResponseDTO, CuidadorRequestDTO, CuidadorResponseDTO, HabitatRequestDTO, HabitatResponseDTO, VeterinarioRequestDTO, VeterinarioResponseDTO, BackendError } from '../types/types';
+import { DashboardSummary, LiveUpdate } from '../types/dashboard';
 import { ApiError } from '../utils/apiError';
 
 const BASE_URL = 'https://zoo-production.up.railway.app/api';
 
+// Every call sends cookies, so the backend's read-your-writes cookie comes back with the next reads and
+// the user sees their own changes even when reads are served by a database replica.
+const apiFetch = (url: string, init?: RequestInit): Promise<Response> =>
+    fetch(url, { ...init, credentials: 'include' });
+
 const handleResponse = async (response: Response) => {
     if (!response.ok) {
         let errorData: BackendError = {
@@ -42,6 +48,43 @@ const handleResponse = async (response: Response) => {
     return response.json();
 };
 
+// List endpoints are keyset-paginated: each response holds one page and, when more rows exist,
+// the token for the next page comes back in the X-Next-Cursor header. This helper follows the
+// cursors until the last page so callers still receive the complete list.
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
+const fetchAllPages = async <T>(url: string): Promise<T[]> => {
+    const items: T[] = [];
+    let cursor: string | null = null;
+    do {
+        const pageUrl: string = cursor
+            ? `${url}${url.includes('?') ? '&' : '?'}cursor=${encodeURIComponent(cursor)}`
+            : url;
+        const response = await apiFetch(pageUrl);
+        const page: T[] = await handleResponse(response);
+        items.push(...page);
+        cursor = response.headers.get(NEXT_CURSOR_HEADER);
+    } while (cursor);
+    return items;
+};
+
+// Dashboard API
+// Status counts, habitat occupancy and the latest arrivals, aggregated by the backend in one small response.
+export const getDashboardSummary = async (): Promise<DashboardSummary> => {
+    const response = await apiFetch(`${BASE_URL}/dashboard/summary`);
+    return handleResponse(response);
+};
+
+// Live changes API
+// The backend pushes a `changes` event whenever a transaction commits (GET /api/changes/stream). Each event names
+// the rows that changed, or the lists to reload after a bulk change. EventSource reconnects by itself; the
+// returned function closes the stream.
+export const subscribeToChanges = (onUpdate: (update: LiveUpdate) => void): (() => void) => {
+    const source = new EventSource(`${BASE_URL}/changes/stream`, { withCredentials: true });
+    source.addEventListener('changes', event => onUpdate(JSON.parse((event as MessageEvent).data)));
+    return () => source.close();
+};
+
 // Animal API
 export const getAnimals = async (species?: string, ageMin?: number, ageMax?: number, name?: string): Promise<AnimalResponseDTO[]> => {
     const params = new URLSearchParams();
@@ -59,17 +102,25 @@ export const getAnimals = async (species?: string, ageMin?: number, ageMax?: num
     }
     const queryString = params.toString();
     const url = `${BASE_URL}/animals${queryString ? `?${queryString}` : ''}`;
-    const response = await fetch(url);
-    return handleResponse(response);
+    return fetchAllPages(url);
+};
+
+// The animals of one keeper, vet, habitat or feeding plan, read through its own paginated endpoint
+export type AnimalParent = 'cuidadores' | 'veterinarios' | 'habitats' | 'alimentacoes';
+
+export const getAnimalsOf = async (parent: AnimalParent, id: number): Promise<AnimalResponseDTO[]> => {
+    return fetchAllPages(`${BASE_URL}/${parent}/${id}/animals`);
 };
 
-export const getAnimalById = async (id: number): Promise<AnimalResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/animals/${id}`);
+// expand: relations to return as nested summaries (keeper, vet, habitat, feedingPlan)
+export const getAnimalById = async (id: number, expand: AnimalExpansion[] = []): Promise<AnimalResponseDTO> => {
+    const query = expand.length > 0 ? `?expand=${expand.join(',')}` : '';
+    const response = await apiFetch(`${BASE_URL}/animals/${id}${query}`);
     return handleResponse(response);
 };
 
 export const createAnimal = async (animal: AnimalRequestDTO): Promise<AnimalResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/animals`, {
+    const response = await apiFetch(`${BASE_URL}/animals`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(animal),
@@ -78,7 +129,7 @@ export const createAnimal = async (animal: AnimalRequestDTO): Promise<AnimalResp
 };
 
 export const updateAnimal = async (id: number, animal: AnimalRequestDTO): Promise<AnimalResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/animals/${id}`, {
+    const response = await apiFetch(`${BASE_URL}/animals/${id}`, {
         method: 'PUT',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(animal),
@@ -87,7 +138,7 @@ export const updateAnimal = async (id: number, animal: AnimalRequestDTO): Promis
 };
 
 export const deleteAnimal = async (id: number): Promise<void> => {
-    await fetch(`${BASE_URL}/animals/${id}`, {
+    await apiFetch(`${BASE_URL}/animals/${id}`, {
         method: 'DELETE',
     });
 };
@@ -100,17 +151,16 @@ export const getHabitats = async (type?: string): Promise<HabitatResponseDTO[]>
     }
     const queryString = params.toString();
     const url = `${BASE_URL}/habitats${queryString ? `?${queryString}` : ''}`;
-    const response = await fetch(url);
-    return handleResponse(response);
+    return fetchAllPages(url);
 };
 
 export const getHabitatById = async (id: number): Promise<HabitatResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/habitats/${id}`);
+    const response = await apiFetch(`${BASE_URL}/habitats/${id}`);
     return handleResponse(response);
 };
 
 export const createHabitat = async (habitat: HabitatRequestDTO): Promise<HabitatResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/habitats`, {
+    const response = await apiFetch(`${BASE_URL}/habitats`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(habitat),
@@ -119,7 +169,7 @@ export const createHabitat = async (habitat: HabitatRequestDTO): Promise<Habitat
 };
 
 export const updateHabitat = async (id: number, habitat: HabitatRequestDTO): Promise<HabitatResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/habitats/${id}`, {
+    const response = await apiFetch(`${BASE_URL}/habitats/${id}`, {
         method: 'PUT',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(habitat),
@@ -128,7 +178,7 @@ export const updateHabitat = async (id: number, habitat: HabitatRequestDTO): Pro
 };
 
 export const deleteHabitat = async (id: number): Promise<void> => {
-    await fetch(`${BASE_URL}/habitats/${id}`, {
+    await apiFetch(`${BASE_URL}/habitats/${id}`, {
         method: 'DELETE',
     });
 };
@@ -141,17 +191,16 @@ export const getCuidadores = async (specialty?: string): Promise<CuidadorRespons
     }
     const queryString = params.toString();
     const url = `${BASE_URL}/cuidadores${queryString ? `?${queryString}` : ''}`;
-    const response = await fetch(url);
-    return handleResponse(response);
+    return fetchAllPages(url);
 };
 
 export const getCuidadorById = async (id: number): Promise<CuidadorResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/cuidadores/${id}`);
+    const response = await apiFetch(`${BASE_URL}/cuidadores/${id}`);
     return handleResponse(response);
 };
 
 export const createCuidador = async (cuidador: CuidadorRequestDTO): Promise<CuidadorResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/cuidadores`, {
+    const response = await apiFetch(`${BASE_URL}/cuidadores`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(cuidador),
@@ -160,7 +209,7 @@ export const createCuidador = async (cuidador: CuidadorRequestDTO): Promise<Cuid
 };
 
 export const updateCuidador = async (id: number, cuidador: CuidadorRequestDTO): Promise<CuidadorResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/cuidadores/${id}`, {
+    const response = await apiFetch(`${BASE_URL}/cuidadores/${id}`, {
         method: 'PUT',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(cuidador),
@@ -169,7 +218,7 @@ export const updateCuidador = async (id: number, cuidador: CuidadorRequestDTO):
 };
 
 export const deleteCuidador = async (id: number): Promise<void> => {
-    await fetch(`${BASE_URL}/cuidadores/${id}`, {
+    await apiFetch(`${BASE_URL}/cuidadores/${id}`, {
         method: 'DELETE',
     });
 };
@@ -182,17 +231,16 @@ export const getVeterinarios = async (specialty?: string): Promise<VeterinarioRe
     }
     const queryString = params.toString();
     const url = `${BASE_URL}/veterinarios${queryString ? `?${queryString}` : ''}`;
-    const response = await fetch(url);
-    return handleResponse(response);
+    return fetchAllPages(url);
 };
 
 export const getVeterinarioById = async (id: number): Promise<VeterinarioResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/veterinarios/${id}`);
+    const response = await apiFetch(`${BASE_URL}/veterinarios/${id}`);
     return handleResponse(response);
 };
 
 export const createVeterinario = async (veterinario: VeterinarioRequestDTO): Promise<VeterinarioResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/veterinarios`, {
+    const response = await apiFetch(`${BASE_URL}/veterinarios`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(veterinario),
@@ -201,7 +249,7 @@ export const createVeterinario = async (veterinario: VeterinarioRequestDTO): Pro
 };
 
 export const updateVeterinario = async (id: number, veterinario: VeterinarioRequestDTO): Promise<VeterinarioResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/veterinarios/${id}`, {
+    const response = await apiFetch(`${BASE_URL}/veterinarios/${id}`, {
         method: 'PUT',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(veterinario),
@@ -210,7 +258,7 @@ export const updateVeterinario = async (id: number, veterinario: VeterinarioRequ
 };
 
 export const deleteVeterinario = async (id: number): Promise<void> => {
-    await fetch(`${BASE_URL}/veterinarios/${id}`, {
+    await apiFetch(`${BASE_URL}/veterinarios/${id}`, {
         method: 'DELETE',
     });
 };
@@ -226,17 +274,16 @@ export const getAlimentacoes = async (foodType?: string, animalId?: number): Pro
     }
     const queryString = params.toString();
     const url = `${BASE_URL}/alimentacoes${queryString ? `?${queryString}` : ''}`;
-    const response = await fetch(url);
-    return handleResponse(response);
+    return fetchAllPages(url);
 };
 
 export const getAlimentacaoById = async (id: number): Promise<AlimentacaoResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/alimentacoes/${id}`);
+    const response = await apiFetch(`${BASE_URL}/alimentacoes/${id}`);
     return handleResponse(response);
 };
 
 export const createAlimentacao = async (alimentacao: AlimentacaoRequestDTO): Promise<AlimentacaoResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/alimentacoes`, {
+    const response = await apiFetch(`${BASE_URL}/alimentacoes`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(alimentacao),
@@ -245,7 +292,7 @@ export const createAlimentacao = async (alimentacao: AlimentacaoRequestDTO): Pro
 };
 
 export const updateAlimentacao = async (id: number, alimentacao: AlimentacaoRequestDTO): Promise<AlimentacaoResponseDTO> => {
-    const response = await fetch(`${BASE_URL}/alimentacoes/${id}`, {
+    const response = await apiFetch(`${BASE_URL}/alimentacoes/${id}`, {
         method: 'PUT',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(alimentacao),
@@ -254,7 +301,7 @@ export const updateAlimentacao = async (id: number, alimentacao: AlimentacaoRequ
 };
 
 export const deleteAlimentacao = async (id: number): Promise<void> => {
-    await fetch(`${BASE_URL}/alimentacoes/${id}`, {
+    await apiFetch(`${BASE_URL}/alimentacoes/${id}`, {
         method: 'DELETE',
     });
 };
\ No newline at end of file
@@ -71,6 +71,34 @@ export interface AnimalResponseDTO {
   vetId?: number; // Optional, using number for Long
   habitatId?: number; // Optional, using number for Long
   feedingPlanId?: number; // Optional, using number for Long
+  // Present only when requested with ?expand=
+  keeper?: StaffSummaryDTO;
+  vet?: StaffSummaryDTO;
+  habitat?: HabitatSummaryDTO;
+  feedingPlan?: FeedingPlanSummaryDTO;
+}
+
+export type AnimalExpansion = 'keeper' | 'vet' | 'habitat' | 'feedingPlan';
+
+export interface StaffSummaryDTO {
+  id: number;
+  name: string;
+  specialty: string;
+}
+
+export interface HabitatSummaryDTO {
+  id: number;
+  name: string;
+  type: string;
+  status: string;
+}
+
+export interface FeedingPlanSummaryDTO {
+  id: number;
+  planName: string;
+  foodType: string;
+  quantity: string;
+  frequency: string;
 }
 
 
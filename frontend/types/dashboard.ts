@@ -52,3 +52,40 @@ export interface AnimalDashboard {
   habitatId: number;
   feedingPlanId: number;
 }
+
+// Resposta de GET /api/dashboard/summary: contagens calculadas no backend para a página inicial do painel.
+export interface StatusCounts {
+  total: number;
+  byStatus: { [status: string]: number };
+}
+
+export interface HabitatOccupancy {
+  habitatId: number;
+  name: string;
+  status: Habitat['status'];
+  capacity: number;
+  residents: number;
+}
+
+export interface DashboardSummary {
+  animals: StatusCounts;
+  cuidadores: StatusCounts;
+  veterinarios: StatusCounts;
+  habitats: StatusCounts;
+  alimentacoes: number;
+  habitatOccupancy: HabitatOccupancy[];
+  recentArrivals: AnimalDashboard[];
+}
+
+// Evento `changes` de GET /api/changes/stream: as linhas alteradas por uma transação confirmada no backend.
+export interface LiveChange {
+  entity: 'animal' | 'cuidador' | 'veterinario' | 'habitat' | 'alimentacao';
+  id: number;
+  deleted: boolean;
+  changedAt: string;
+}
+
+export interface LiveUpdate {
+  changes: LiveChange[];
+  reload: LiveChange['entity'][]; // Entidades alteradas em massa: recarregar a lista inteira
+}
@@ -0,0 +1,18 @@
+import React from 'react';
+import { AnimalParent, getAnimalsOf } from '../services/api';
+import { AnimalResponseDTO } from '../types/types';
+
+// The animals of one keeper, vet, habitat or feeding plan, from its /{id}/animals endpoint. `version` is any value
+// that changes when those animals may have changed (the dashboard's live-updated list); the animals are then fetched
+// again, which the browser revalidates with the ETag, so an unchanged list costs a 304.
+export const useRelatedAnimals = (parent: AnimalParent, id: number, version: unknown): AnimalResponseDTO[] => {
+    const [animals, setAnimals] = React.useState<AnimalResponseDTO[]>([]);
+    React.useEffect(() => {
+        let cancelled = false;
+        getAnimalsOf(parent, id)
+            .then(result => { if (!cancelled) setAnimals(result); })
+            .catch(error => console.error(`Error loading the animals of ${parent}/${id}:`, error));
+        return () => { cancelled = true; };
+    }, [parent, id, version]);
+    return animals;
+};